@@ -55,6 +55,7 @@ import org.apache.jackrabbit.webdav.MultiStatusResponse;
 import org.apache.jackrabbit.webdav.client.methods.BaseDavRequest;
 import org.apache.jackrabbit.webdav.client.methods.HttpCheckin;
 import org.apache.jackrabbit.webdav.client.methods.HttpCheckout;
+import org.apache.jackrabbit.webdav.client.methods.HttpCopy;
 import org.apache.jackrabbit.webdav.client.methods.HttpDelete;
 import org.apache.jackrabbit.webdav.client.methods.HttpMkcol;
 import org.apache.jackrabbit.webdav.client.methods.HttpMove;
@@ -234,6 +235,18 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         this.builder = builder;
     }
 
+    /**
+     * Copies a file of the same server with a COPY request, the content is not transferred through the client.
+     */
+    @Override
+    protected void doCopyFrom(final FileObject srcFile) throws Exception {
+        final String url = URIUtils.encodePath(toUrlString((GenericURLFileName) srcFile.getName()));
+        final String dest = toUrlString((GenericURLFileName) getName(), false);
+        final HttpCopy request = new HttpCopy(url, dest, true, true);
+        setupRequest(request);
+        executeRequest(request);
+    }
+
     /**
      * Creates this file as a folder.
      */
@@ -153,5 +153,13 @@ public enum Capability {
      *
      * @since 2.0
      */
-    DIRECTORY_READ_CONTENT
+    DIRECTORY_READ_CONTENT,
+
+    /**
+     * Files can be copied within the file system without reading their content through the client, for example with
+     * a server side copy.
+     *
+     * @since 2.8.0
+     */
+    COPY
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Receives the progress of a concurrent copy started with
+ * {@link FileObject#copyFrom(FileObject, FileSelector, Executor, int, FileCopyListener)}.
+ * <p>
+ * The methods are called from the threads copying the files, so implementations must be thread-safe.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+public interface FileCopyListener {
+
+    /**
+     * Called after a file or folder has been copied.
+     *
+     * @param srcFile The copied file.
+     * @param destFile The file it was copied to.
+     * @param copiedFiles The number of files and folders copied so far, including this one.
+     * @param totalFiles The number of files and folders to copy.
+     * @param copiedBytes The number of content bytes copied so far.
+     */
+    void fileCopied(FileObject srcFile, FileObject destFile, long copiedFiles, long totalFiles, long copiedBytes);
+
+    /**
+     * Called when a file or folder could not be copied. The copy goes on with the other files.
+     * <p>
+     * This implementation does nothing.
+     * </p>
+     *
+     * @param srcFile The file which could not be copied.
+     * @param destFile The file it was copied to.
+     * @param exception The error.
+     */
+    default void copyFailed(final FileObject srcFile, final FileObject destFile, final FileSystemException exception) {
+        // noop
+    }
+}
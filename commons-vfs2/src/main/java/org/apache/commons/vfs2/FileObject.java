@@ -22,6 +22,8 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import org.apache.commons.vfs2.operations.FileOperations;
 
@@ -134,6 +136,37 @@ public interface FileObject extends Comparable<FileObject>, Iterable<FileObject>
      */
     void copyFrom(FileObject srcFile, FileSelector selector) throws FileSystemException;
 
+    /**
+     * Copies another file, and all its descendants, to this file, copying up to {@code parallelism} files at the same
+     * time with the given executor.
+     * <p>
+     * The selected folders are created first, then the files are copied concurrently. Each file is copied as by
+     * {@link #copyFrom(FileObject, FileSelector)} with {@link Selectors#SELECT_SELF}. A file which cannot be copied
+     * does not stop the copy of the others, the errors are reported together once all the files have been processed.
+     * </p>
+     * <p>
+     * This method is not transactional. If it fails and throws an exception, this file will potentially only be
+     * partially copied.
+     * </p>
+     *
+     * @param srcFile The source file to copy.
+     * @param selector The selector to use to select which files to copy, only called from the calling thread.
+     * @param executor The executor copying the files. If it rejects a task, the task runs on the calling thread.
+     * @param parallelism The maximum number of files copied at the same time, must be positive.
+     * @param listener The listener notified of the progress, may be null.
+     * @throws FileSystemException If the source file does not exist, or if some files could not be copied, with the
+     *             first error as the cause and the others suppressed.
+     * @see #copyFrom(FileObject, FileSelector)
+     * @since 2.8.0
+     */
+    default void copyFrom(final FileObject srcFile, final FileSelector selector, final Executor executor,
+            final int parallelism, final FileCopyListener listener) throws FileSystemException {
+        if (!srcFile.exists()) {
+            throw new FileSystemException("vfs.provider/copy-missing-file.error", srcFile);
+        }
+        FileTreeCopier.copy(this, srcFile, selector, executor, parallelism, listener);
+    }
+
     /**
      * Creates this file, if it does not exist. Also creates any ancestor folders which do not exist. This method does
      * nothing if the file already exists and is a file.
@@ -474,4 +507,44 @@ public interface FileObject extends Comparable<FileObject>, Iterable<FileObject>
      * @since 2.1
      */
     boolean setWritable(boolean writable, boolean ownerOnly) throws FileSystemException;
+
+    /**
+     * Lazily streams the matching descendants of this file, each folder before its descendants.
+     * <p>
+     * Unlike {@link #findFiles(FileSelector)}, the result is never collected in memory and folders pruned by
+     * {@link FileSelector#traverseDescendents} are never listed. {@link FileSelector#includeFile} is called for a
+     * folder before its descendants are visited.
+     * </p>
+     *
+     * @param selector The selector used to determine if a file should be selected.
+     * @return a sequential stream of the matching files, empty if this file does not exist. Errors are thrown as
+     *         {@link IllegalStateException} wrapping a {@link FileSystemException}.
+     * @throws FileSystemException if an error occurs.
+     * @since 2.8.0
+     */
+    default Stream<FileObject> streamFiles(final FileSelector selector) throws FileSystemException {
+        return exists() ? FileTreeIterator.stream(this, selector, null, 0) : Stream.empty();
+    }
+
+    /**
+     * Lazily streams the matching descendants of this file, each folder before its descendants, listing up to
+     * {@code parallelism} folders ahead of the current position with the given executor.
+     * <p>
+     * The selector is only called from the thread consuming the stream. Closing the stream cancels the listings in
+     * progress.
+     * </p>
+     *
+     * @param selector The selector used to determine if a file should be selected.
+     * @param executor The executor listing folders ahead.
+     * @param parallelism The maximum number of folders being listed ahead, must be positive.
+     * @return a sequential stream of the matching files, empty if this file does not exist. Errors are thrown as
+     *         {@link IllegalStateException} wrapping a {@link FileSystemException}.
+     * @throws FileSystemException if an error occurs.
+     * @see #streamFiles(FileSelector)
+     * @since 2.8.0
+     */
+    default Stream<FileObject> streamFiles(final FileSelector selector, final Executor executor,
+            final int parallelism) throws FileSystemException {
+        return exists() ? FileTreeIterator.stream(this, selector, executor, parallelism) : Stream.empty();
+    }
 }
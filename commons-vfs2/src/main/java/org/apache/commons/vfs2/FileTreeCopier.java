@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies the selected descendants of a folder, creating the folders first and then copying the files concurrently.
+ * <p>
+ * Each file is copied with {@link FileObject#copyFrom(FileObject, FileSelector)} on its destination, so providers copy
+ * it the same way as in a sequential copy. An error does not stop the copy, the errors are reported together at the
+ * end.
+ * </p>
+ */
+final class FileTreeCopier {
+
+    /**
+     * Copies a tree.
+     *
+     * @param destFolder The destination of the copy.
+     * @param srcFolder The source of the copy, must exist.
+     * @param selector The selector of the files to copy.
+     * @param executor The executor copying the files.
+     * @param parallelism The maximum number of files copied at the same time.
+     * @param listener The listener to notify, may be null.
+     * @throws FileSystemException if the files cannot be found, or some of them could not be copied.
+     */
+    static void copy(final FileObject destFolder, final FileObject srcFolder, final FileSelector selector,
+            final Executor executor, final int parallelism, final FileCopyListener listener)
+            throws FileSystemException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        new FileTreeCopier(destFolder, srcFolder, listener).copy(selector, executor, parallelism);
+    }
+
+    private final FileObject destFolder;
+    private final FileObject srcFolder;
+    private final FileCopyListener listener;
+    private final Queue<FileSystemException> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicLong copiedFiles = new AtomicLong();
+    private final AtomicLong copiedBytes = new AtomicLong();
+    private long totalFiles;
+    private volatile boolean cancelled;
+
+    private FileTreeCopier(final FileObject destFolder, final FileObject srcFolder, final FileCopyListener listener) {
+        this.destFolder = destFolder;
+        this.srcFolder = srcFolder;
+        this.listener = listener;
+    }
+
+    private void copy(final FileSelector selector, final Executor executor, final int parallelism)
+            throws FileSystemException {
+        final List<FileObject> srcFiles = new ArrayList<>();
+        srcFolder.findFiles(selector, false, srcFiles);
+        totalFiles = srcFiles.size();
+
+        // folders first, parents before children, so that the files can then be copied in any order
+        final List<FileObject> contentFiles = new ArrayList<>(srcFiles.size());
+        for (final FileObject srcFile : srcFiles) {
+            if (srcFile.getType().hasContent()) {
+                contentFiles.add(srcFile);
+            } else {
+                copyFile(srcFile);
+            }
+        }
+
+        final int workers = Math.min(parallelism, contentFiles.size());
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(workers);
+        final Runnable worker = () -> {
+            try {
+                int index;
+                while (!cancelled && (index = next.getAndIncrement()) < contentFiles.size()) {
+                    copyFile(contentFiles.get(index));
+                }
+            } finally {
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (final RejectedExecutionException e) {
+                // copy on this thread instead
+                worker.run();
+            }
+        }
+        try {
+            done.await();
+        } catch (final InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+            throw new FileSystemException(e);
+        }
+
+        if (!errors.isEmpty()) {
+            final FileSystemException first = errors.poll();
+            final FileSystemException exception = new FileSystemException("vfs.provider/copy-files.error", first,
+                    Integer.valueOf(errors.size() + 1), Long.valueOf(totalFiles), srcFolder, destFolder);
+            for (final FileSystemException error : errors) {
+                exception.addSuppressed(error);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Copies one file or folder, recording an error instead of throwing it.
+     */
+    private void copyFile(final FileObject srcFile) {
+        FileObject destFile = null;
+        try {
+            final String relPath = srcFolder.getName().getRelativeName(srcFile.getName());
+            destFile = destFolder.resolveFile(relPath, NameScope.DESCENDENT_OR_SELF);
+            destFile.copyFrom(srcFile, Selectors.SELECT_SELF);
+            final long bytes = srcFile.getType().hasContent() ? srcFile.getContent().getSize() : 0;
+            final long files = copiedFiles.incrementAndGet();
+            final long totalBytes = copiedBytes.addAndGet(bytes);
+            if (listener != null) {
+                listener.fileCopied(srcFile, destFile, files, totalFiles, totalBytes);
+            }
+        } catch (final FileSystemException e) {
+            failed(srcFile, destFile, e);
+        } catch (final RuntimeException e) {
+            failed(srcFile, destFile, new FileSystemException("vfs.provider/copy-file.error", e, srcFile, destFile));
+        }
+    }
+
+    private void failed(final FileObject srcFile, final FileObject destFile, final FileSystemException exception) {
+        errors.add(exception);
+        if (listener != null) {
+            listener.copyFailed(srcFile, destFile, exception);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks the descendants of a base folder, yielding each selected file before its descendants.
+ * <p>
+ * Only the children of the folders on the path to the current file are held in memory. When an {@link Executor} is
+ * given, the children of up to {@code parallelism} folders ahead of the current position are listed concurrently.
+ * The {@link FileSelector} is only ever called from the consuming thread, {@link FileSelector#traverseDescendents} is
+ * called for a folder before its children are listed and may be called before the preceding siblings have been
+ * visited, {@link FileSelector#includeFile} is called for a file before its descendants are visited.
+ * </p>
+ * <p>
+ * Not thread-safe, meant to back a sequential {@link Stream}.
+ * </p>
+ */
+final class FileTreeIterator implements Iterator<FileObject> {
+
+    /**
+     * A file to visit, with its cached selection state.
+     */
+    private static final class Entry implements FileSelectInfo {
+
+        private final FileObject baseFolder;
+        private final FileObject file;
+        private final int depth;
+        private boolean evaluated;
+        private boolean traverse;
+        private FutureTask<FileObject[]> children;
+
+        Entry(final FileObject baseFolder, final FileObject file, final int depth) {
+            this.baseFolder = baseFolder;
+            this.file = file;
+            this.depth = depth;
+        }
+
+        @Override
+        public FileObject getBaseFolder() {
+            return baseFolder;
+        }
+
+        @Override
+        public int getDepth() {
+            return depth;
+        }
+
+        @Override
+        public FileObject getFile() {
+            return file;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " [baseFolder=" + baseFolder + ", file=" + file + ", depth=" + depth + "]";
+        }
+    }
+
+    /**
+     * The children of a folder being visited.
+     */
+    private static final class Frame {
+
+        private final Entry[] entries;
+        private int index;
+        private int prefetched;
+
+        Frame(final Entry[] entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Creates a sequential stream of the selected descendants of a folder.
+     *
+     * @param baseFolder The folder to start from, must exist.
+     * @param selector The FileSelector.
+     * @param executor The Executor to list folders ahead with, or null to list them on the consuming thread.
+     * @param parallelism The maximum number of folders listed ahead.
+     * @return a lazy stream of FileObjects, closing it cancels the listings in progress.
+     */
+    static Stream<FileObject> stream(final FileObject baseFolder, final FileSelector selector,
+            final Executor executor, final int parallelism) {
+        final FileTreeIterator iterator = new FileTreeIterator(baseFolder, selector, executor, parallelism);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private final FileObject baseFolder;
+    private final FileSelector selector;
+    private final Executor executor;
+    private final int parallelism;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private Entry root;
+    private FileObject next;
+    private int inFlight;
+
+    private FileTreeIterator(final FileObject baseFolder, final FileSelector selector, final Executor executor,
+            final int parallelism) {
+        if (executor != null && parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.baseFolder = baseFolder;
+        this.selector = selector;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.root = new Entry(baseFolder, baseFolder, 0);
+    }
+
+    /**
+     * Finds the next selected file, or leaves {@code next} null at the end of the tree.
+     */
+    private void advance() throws Exception {
+        while (next == null) {
+            final Entry entry;
+            if (root != null) {
+                entry = root;
+                root = null;
+            } else {
+                final Frame frame = frames.peek();
+                if (frame == null) {
+                    return;
+                }
+                if (frame.index == frame.entries.length) {
+                    frames.pop();
+                    continue;
+                }
+                prefetch(frame);
+                entry = frame.entries[frame.index];
+                frame.entries[frame.index++] = null;
+            }
+            next = visit(entry);
+        }
+    }
+
+    /**
+     * Cancels the listings still in progress.
+     */
+    void close() {
+        for (final Frame frame : frames) {
+            for (int i = frame.index; i < frame.prefetched; i++) {
+                final Entry entry = frame.entries[i];
+                if (entry != null && entry.children != null) {
+                    entry.children.cancel(true);
+                }
+            }
+        }
+        frames.clear();
+        root = null;
+        next = null;
+    }
+
+    private void evaluate(final Entry entry) throws Exception {
+        if (!entry.evaluated) {
+            entry.traverse = entry.file.getType().hasChildren() && selector.traverseDescendents(entry);
+            entry.evaluated = true;
+        }
+    }
+
+    private FileObject[] getChildren(final Entry entry) throws Exception {
+        final FutureTask<FileObject[]> task = entry.children;
+        if (task == null) {
+            return entry.file.getChildren();
+        }
+        inFlight--;
+        try {
+            return task.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                advance();
+            } catch (final Exception e) {
+                close();
+                throw new IllegalStateException(
+                        new FileSystemException("vfs.provider/find-files.error", baseFolder.getName(), e));
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public FileObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final FileObject file = next;
+        next = null;
+        return file;
+    }
+
+    /**
+     * Starts listing the folders following the current position of a frame, up to the parallelism.
+     */
+    private void prefetch(final Frame frame) throws Exception {
+        if (executor == null) {
+            return;
+        }
+        if (frame.prefetched < frame.index) {
+            frame.prefetched = frame.index;
+        }
+        while (inFlight < parallelism && frame.prefetched < frame.entries.length) {
+            final Entry entry = frame.entries[frame.prefetched++];
+            evaluate(entry);
+            if (entry.traverse) {
+                final FileObject file = entry.file;
+                entry.children = new FutureTask<>(file::getChildren);
+                executor.execute(entry.children);
+                inFlight++;
+            }
+        }
+    }
+
+    /**
+     * Descends into an entry if it is to be traversed, and returns its file if selected.
+     */
+    private FileObject visit(final Entry entry) throws Exception {
+        evaluate(entry);
+        if (entry.traverse) {
+            final FileObject[] children = getChildren(entry);
+            final Entry[] entries = new Entry[children.length];
+            for (int i = 0; i < children.length; i++) {
+                entries[i] = new Entry(baseFolder, children[i], entry.depth + 1);
+            }
+            frames.push(new Frame(entries));
+        }
+        return selector.includeFile(entry) ? entry.file : null;
+    }
+}
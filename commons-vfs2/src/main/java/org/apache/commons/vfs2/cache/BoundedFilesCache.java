@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.VfsLog;
+import org.apache.commons.vfs2.util.Messages;
+
+/**
+ * A {@link org.apache.commons.vfs2.FilesCache FilesCache} holding at most a fixed number of files across all file
+ * systems.
+ * <p>
+ * Lookups only read a {@link ConcurrentHashMap} and bump a small access counter of the entry, they never lock. Adding a
+ * file takes a single eviction lock and, once the budget is exceeded, evicts entries with a CLOCK approximation of a
+ * segmented LRU: files enter on probation, every access promotes them by one step, and the clock hand demotes protected
+ * entries one step per pass while evicting probationary ones. Files whose content is open are never evicted, attached
+ * files only when no detached file is left to evict. Evicted files are closed (detached).
+ * </p>
+ * <p>
+ * A time to live can be set per URI scheme, after which a cached file is dropped on its next lookup and resolved anew.
+ * </p>
+ */
+public class BoundedFilesCache extends AbstractFilesCache {
+
+    /** The default maximum number of cached files. */
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /** The highest access count an entry is promoted to. */
+    private static final int MAX_FREQUENCY = 3;
+
+    /** The logger to use. */
+    private static final Log log = LogFactory.getLog(BoundedFilesCache.class);
+
+    /**
+     * A cached file.
+     */
+    private static final class Entry {
+        private final FileObject file;
+        private final long expiresAtNanos;
+        private volatile int frequency;
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        Entry(final FileObject file, final long expiresAtNanos) {
+            this.file = file;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(final long nowNanos) {
+            return expiresAtNanos != 0 && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    /** The FileSystem cache. Keeps one Map for each FileSystem. */
+    private final ConcurrentMap<FileSystem, ConcurrentMap<FileName, Entry>> filesystemCache = new ConcurrentHashMap<>(
+            10);
+
+    /** Time to live in nanoseconds by URI scheme. */
+    private final ConcurrentMap<String, Long> timeToLiveNanos = new ConcurrentHashMap<>();
+
+    /** The clock, may contain removed entries until the hand passes them. Guarded by evictionLock. */
+    private final Deque<Entry> clock = new ArrayDeque<>();
+
+    private final Lock evictionLock = new ReentrantLock();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /** The maximum number of cached files */
+    private final int maxEntries;
+
+    /**
+     * Default constructor. Caches up to 10000 files.
+     */
+    public BoundedFilesCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Sets the maximum number of cached files, across all file systems.
+     *
+     * @param maxEntries the maximum number of cached files, must be positive.
+     */
+    public BoundedFilesCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Sets how long files of a URI scheme stay cached, regardless of their use.
+     *
+     * @param scheme the URI scheme, for example "sftp".
+     * @param timeToLiveMillis the time to live in milliseconds, 0 or less to cache files until they are evicted.
+     */
+    public void setTimeToLive(final String scheme, final long timeToLiveMillis) {
+        if (timeToLiveMillis > 0) {
+            timeToLiveNanos.put(scheme, Long.valueOf(TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis)));
+        } else {
+            timeToLiveNanos.remove(scheme);
+        }
+    }
+
+    /**
+     * Gets how long files of a URI scheme stay cached.
+     *
+     * @param scheme the URI scheme.
+     * @return the time to live in milliseconds, 0 if files of this scheme do not expire.
+     */
+    public long getTimeToLive(final String scheme) {
+        final Long nanos = timeToLiveNanos.get(scheme);
+        return nanos == null ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos.longValue());
+    }
+
+    /**
+     * Gets the maximum number of cached files.
+     *
+     * @return the maximum number of cached files.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the number of cached files.
+     *
+     * @return the number of cached files.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the number of lookups which found a cached file.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups which did not find a cached file, or found an expired one.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of files removed to stay within the budget or because they expired.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public void putFile(final FileObject file) {
+        final Entry entry = newEntry(file);
+        final Entry old = getOrCreateFilesystemCache(file.getFileSystem()).put(file.getName(), entry);
+        if (old != null) {
+            // keep the file attached when it is put again
+            release(old, old.file != file);
+        }
+        added(entry);
+    }
+
+    @Override
+    public boolean putFileIfAbsent(final FileObject file) {
+        final ConcurrentMap<FileName, Entry> files = getOrCreateFilesystemCache(file.getFileSystem());
+        final Entry entry = newEntry(file);
+        final FileName name = file.getName();
+        while (true) {
+            final Entry old = files.putIfAbsent(name, entry);
+            if (old == null) {
+                added(entry);
+                return true;
+            }
+            if (!old.isExpired(System.nanoTime())) {
+                return false;
+            }
+            if (files.remove(name, old)) {
+                release(old);
+                evictionCount.increment();
+            }
+        }
+    }
+
+    @Override
+    public FileObject getFile(final FileSystem filesystem, final FileName name) {
+        // avoid creating filesystem entry for empty filesystem cache:
+        final ConcurrentMap<FileName, Entry> files = filesystemCache.get(filesystem);
+        final Entry entry = files == null ? null : files.get(name);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            if (files.remove(name, entry)) {
+                release(entry);
+                evictionCount.increment();
+            }
+            missCount.increment();
+            return null;
+        }
+        // racy increments are fine, this is only a hint for the eviction
+        final int frequency = entry.frequency;
+        if (frequency < MAX_FREQUENCY) {
+            entry.frequency = frequency + 1;
+        }
+        hitCount.increment();
+        return entry.file;
+    }
+
+    @Override
+    public void clear(final FileSystem filesystem) {
+        // avoid keeping a reference to the FileSystem (key) object
+        final ConcurrentMap<FileName, Entry> files = filesystemCache.remove(filesystem);
+        if (files != null) {
+            for (final Entry entry : files.values()) {
+                release(entry);
+            }
+            files.clear(); // help GC
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        for (final FileSystem filesystem : filesystemCache.keySet()) {
+            clear(filesystem);
+        }
+        evictionLock.lock();
+        try {
+            clock.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeFile(final FileSystem filesystem, final FileName name) {
+        // avoid creating filesystem entry for empty filesystem cache:
+        final ConcurrentMap<FileName, Entry> files = filesystemCache.get(filesystem);
+        if (files != null) {
+            final Entry entry = files.remove(name);
+            if (entry != null) {
+                release(entry);
+            }
+        }
+    }
+
+    @Override
+    public void touchFile(final FileObject file) {
+        getFile(file.getFileSystem(), file.getName());
+    }
+
+    private ConcurrentMap<FileName, Entry> getOrCreateFilesystemCache(final FileSystem filesystem) {
+        ConcurrentMap<FileName, Entry> files = filesystemCache.get(filesystem);
+        // we loop to make sure we never return null even when concurrent clean is called
+        while (files == null) {
+            filesystemCache.putIfAbsent(filesystem, new ConcurrentHashMap<FileName, Entry>(200, 0.75f, 8));
+            files = filesystemCache.get(filesystem);
+        }
+        return files;
+    }
+
+    private Entry newEntry(final FileObject file) {
+        final Long ttl = timeToLiveNanos.isEmpty() ? null : timeToLiveNanos.get(file.getName().getScheme());
+        // 0 means never, make sure a computed deadline is never 0
+        return new Entry(file, ttl == null ? 0 : System.nanoTime() + ttl.longValue() | 1);
+    }
+
+    /**
+     * Accounts for an entry which was added to a map, evicting others if the budget is exceeded.
+     */
+    private void added(final Entry entry) {
+        size.incrementAndGet();
+        evictionLock.lock();
+        try {
+            clock.addLast(entry);
+            if (size.get() > maxEntries) {
+                evict();
+            }
+            if (clock.size() > 2 * maxEntries) {
+                // drop removed entries the hand did not pass yet
+                clock.removeIf(e -> e.removed.get());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the clock hand until the cache is within budget. Attached files are only evicted when a full pass found
+     * nothing else to evict. Guarded by evictionLock.
+     */
+    private void evict() {
+        if (!evict(false)) {
+            evict(true);
+        }
+    }
+
+    /**
+     * Makes one full pass of the clock hand, at most.
+     *
+     * @return true if the cache is within budget.
+     */
+    private boolean evict(final boolean evictAttached) {
+        int budget = clock.size() * (MAX_FREQUENCY + 1);
+        while (size.get() > maxEntries && budget-- > 0 && !clock.isEmpty()) {
+            final Entry entry = clock.pollFirst();
+            if (entry.removed.get()) {
+                continue;
+            }
+            if (entry.frequency > 0) {
+                // protected: demote and give it another turn
+                entry.frequency--;
+                clock.addLast(entry);
+                continue;
+            }
+            final FileObject file = entry.file;
+            if (file.isContentOpen() || !evictAttached && file.isAttached()) {
+                // do not allow open files to be removed, prefer detached ones
+                clock.addLast(entry);
+                continue;
+            }
+            final ConcurrentMap<FileName, Entry> files = filesystemCache.get(file.getFileSystem());
+            if (files != null && files.remove(file.getName(), entry)) {
+                release(entry);
+                evictionCount.increment();
+            }
+        }
+        return size.get() <= maxEntries;
+    }
+
+    /**
+     * Marks an entry removed from its map and detaches its file.
+     */
+    private void release(final Entry entry) {
+        release(entry, true);
+    }
+
+    private void release(final Entry entry, final boolean closeFile) {
+        if (!entry.removed.compareAndSet(false, true)) {
+            return;
+        }
+        size.decrementAndGet();
+        final FileObject file = entry.file;
+        if (closeFile && !file.isContentOpen()) {
+            try {
+                // force detach
+                file.close();
+            } catch (final FileSystemException e) {
+                VfsLog.warn(getLogger(), log, Messages.getString("vfs.impl/BoundedFilesCache-remove-ex.warn"), e);
+            }
+        }
+    }
+}
@@ -16,9 +16,17 @@
  */
 package org.apache.commons.vfs2.impl;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -27,7 +35,9 @@ import org.apache.commons.vfs2.FileMonitor;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.UriParser;
 
 /**
  * A polling {@link FileMonitor} implementation.
@@ -53,6 +63,23 @@ import org.apache.commons.vfs2.provider.AbstractFileSystem;
  * For performance reasons, added a delay that increases as the number of files monitored increases. The default is a
  * delay of 1 second for every 1000 files processed.
  *
+ * <h2>Scheduler mode:</h2>
+ *
+ * With a {@link #setParallelism(int) parallelism} greater than 0, the files are instead checked by a pool of worker
+ * threads, each file when it is due. A file is due {@link #getDelay() delay} after its last check, this interval
+ * doubles after each check which finds no change, up to the {@link #setMaxDelay(long) maximum delay}, and goes back to
+ * the delay as soon as a change is found. This suits remote file systems, where a check costs round trips and the
+ * checks of a sequential run add up.
+ * <p>
+ * In both modes, {@link #getLastCycleMillis()} and the lag metrics tell how long changes may go undetected.
+ *
+ * <h2>Snapshot:</h2>
+ *
+ * With a {@link #setSnapshotFile(File) snapshot file}, the state of the monitored files is saved when the monitor
+ * stops. Files added later, typically after a restart, take their state from the snapshot instead of querying the
+ * file system, so that adding a large tree does not scan it, and the first check fires the events for the changes made
+ * while the monitor was not running.
+ *
  * <h2>Example usage:</h2>
  *
  * <pre>
@@ -114,11 +141,59 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
      */
     private int checksPerRun = DEFAULT_MAX_FILES;
 
+    /**
+     * The number of worker threads of the scheduler mode, 0 for a sequential run on the monitor thread.
+     */
+    private int parallelism;
+
+    /**
+     * The longest interval between checks of a file without changes, in scheduler mode.
+     */
+    private long maxDelay;
+
+    /**
+     * The workers of the scheduler mode, null otherwise.
+     */
+    private ScheduledThreadPoolExecutor scheduler;
+
     /**
      * A listener object that if set, is notified on file creation and deletion.
      */
     private final FileListener listener;
 
+    /**
+     * Cycle bookkeeping: the number of the current cycle, guarded by the agent map.
+     */
+    private long cycle;
+
+    /**
+     * The number of files not checked yet in the current cycle, guarded by the agent map.
+     */
+    private int cyclePending;
+
+    /**
+     * When the current cycle started, guarded by the agent map.
+     */
+    private long cycleStartNanos = System.nanoTime();
+
+    private volatile long lastCycleNanos;
+
+    /**
+     * Where the state of the files is saved, null if it is not. Set under the agent map lock.
+     */
+    private volatile File snapshotFile;
+
+    /**
+     * The loaded states not used yet by added files, by friendly URI. Guarded by the agent map.
+     */
+    private Map<String, FileMonitorSnapshot.Entry> snapshot;
+
+    private final LongAdder checkCount = new LongAdder();
+
+    private final LongAdder lagNanos = new LongAdder();
+
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
     public DefaultFileMonitor(final FileListener listener) {
         this.listener = listener;
     }
@@ -159,14 +234,29 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
     public void addFile(final FileObject file) {
         synchronized (this.monitorMap) {
             if (this.monitorMap.get(file.getName()) == null) {
-                this.monitorMap.put(file.getName(), new FileMonitorAgent(this, file));
+                final FileMonitorAgent agent = createAgent(file);
+                // read before the agent can be checked by a worker
+                final FileName[] savedChildren = agent.restored ? agent.getChildNames() : null;
+                this.monitorMap.put(file.getName(), agent);
+                // not part of the current cycle
+                agent.cycle = this.cycle;
+                if (this.scheduler != null) {
+                    schedule(agent, getDelay());
+                }
 
                 try {
                     if (this.listener != null) {
                         file.getFileSystem().addListener(file, this.listener);
                     }
 
-                    if (file.getType().hasChildren() && this.recursive) {
+                    if (agent.restored) {
+                        if (savedChildren != null && this.recursive) {
+                            // Traverse the saved children
+                            for (final FileName childName : savedChildren) {
+                                this.addFile(file.getFileSystem().resolveFile(childName));
+                            }
+                        }
+                    } else if (file.getType().hasChildren() && this.recursive) {
                         // Traverse the children
                         final FileObject[] children = file.getChildren();
                         for (final FileObject element : children) {
@@ -182,6 +272,80 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
         }
     }
 
+    /**
+     * Creates the agent of a file, from its saved state if there is one. Guarded by the agent map.
+     */
+    private FileMonitorAgent createAgent(final FileObject file) {
+        if (this.snapshot == null) {
+            this.snapshot = new HashMap<>();
+            if (this.snapshotFile != null) {
+                try {
+                    this.snapshot = FileMonitorSnapshot.read(this.snapshotFile);
+                } catch (final IOException e) {
+                    LOG.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+        final FileMonitorSnapshot.Entry state = this.snapshot.remove(file.getName().getFriendlyURI());
+        if (state != null) {
+            try {
+                return new FileMonitorAgent(this, file, state);
+            } catch (final FileSystemException fse) {
+                LOG.warn(fse.getLocalizedMessage(), fse);
+            }
+        }
+        return new FileMonitorAgent(this, file);
+    }
+
+    /**
+     * Gets the file the state of the monitored files is saved to.
+     *
+     * @return The snapshot file, null if the state is not saved.
+     * @since 2.8.0
+     */
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Sets the file the state of the monitored files is saved to when the monitor stops, and loaded from when files
+     * are added. Set it before adding the files. A missing or unreadable snapshot is ignored.
+     *
+     * @param snapshotFile The snapshot file, null to not save the state.
+     * @since 2.8.0
+     */
+    public void setSnapshotFile(final File snapshotFile) {
+        synchronized (this.monitorMap) {
+            this.snapshotFile = snapshotFile;
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Saves the state of the monitored files to the snapshot file now.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     * @see #setSnapshotFile(File)
+     * @since 2.8.0
+     */
+    public void saveSnapshot() throws IOException {
+        final File file;
+        final List<FileMonitorAgent> agents;
+        synchronized (this.monitorMap) {
+            file = this.snapshotFile;
+            if (file == null) {
+                return;
+            }
+            agents = new ArrayList<>(this.monitorMap.values());
+        }
+        // outside of the map lock, an agent may be in the middle of a check
+        final List<FileMonitorSnapshot.Entry> entries = new ArrayList<>(agents.size());
+        for (final FileMonitorAgent agent : agents) {
+            entries.add(agent.toSnapshotEntry());
+        }
+        FileMonitorSnapshot.write(file, entries);
+    }
+
     /**
      * Removes a file from being monitored.
      *
@@ -189,26 +353,33 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
      */
     @Override
     public void removeFile(final FileObject file) {
+        FileObject parent;
+        try {
+            parent = file.getParent();
+        } catch (final FileSystemException fse) {
+            parent = null;
+        }
+
+        FileMonitorAgent parentAgent = null;
         synchronized (this.monitorMap) {
             final FileName fn = file.getName();
             if (this.monitorMap.get(fn) != null) {
-                FileObject parent;
-                try {
-                    parent = file.getParent();
-                } catch (final FileSystemException fse) {
-                    parent = null;
+                final FileMonitorAgent agent = this.monitorMap.remove(fn);
+                if (agent.cycle < this.cycle) {
+                    // will not be checked in the current cycle
+                    checked(agent, false);
                 }
 
-                this.monitorMap.remove(fn);
-
                 if (parent != null) { // Not the root
-                    final FileMonitorAgent parentAgent = this.monitorMap.get(parent.getName());
-                    if (parentAgent != null) {
-                        parentAgent.resetChildrenList();
-                    }
+                    parentAgent = this.monitorMap.get(parent.getName());
                 }
             }
         }
+
+        if (parentAgent != null) {
+            // Lists the parent, outside of the map lock
+            parentAgent.resetChildrenList();
+        }
     }
 
     /**
@@ -260,6 +431,90 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
         this.checksPerRun = checksPerRun;
     }
 
+    /**
+     * Gets the number of worker threads of the scheduler mode.
+     *
+     * @return The number of worker threads, 0 if the files are checked one at a time by the monitor thread.
+     * @since 2.8.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of worker threads checking the files, takes effect on the next start. A value greater than 0
+     * enables the scheduler mode, where each file is checked when it is due and the checks per run are ignored.
+     *
+     * @param parallelism The number of worker threads, 0 or less to check the files one at a time.
+     * @since 2.8.0
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = Math.max(0, parallelism);
+    }
+
+    /**
+     * Gets the longest interval between the checks of a file which does not change, in scheduler mode.
+     *
+     * @return The maximum delay, never less than the delay.
+     * @since 2.8.0
+     */
+    public long getMaxDelay() {
+        return Math.max(maxDelay, getDelay());
+    }
+
+    /**
+     * Sets the longest interval between the checks of a file which does not change, in scheduler mode. The interval
+     * starts at the delay and doubles after each check which finds no change. Defaults to the delay, that is no back
+     * off.
+     *
+     * @param maxDelay The maximum delay.
+     * @since 2.8.0
+     */
+    public void setMaxDelay(final long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Gets how many checks were made.
+     *
+     * @return The number of checks.
+     * @since 2.8.0
+     */
+    public long getCheckCount() {
+        return checkCount.sum();
+    }
+
+    /**
+     * Gets how long the last complete cycle took, that is the time it took to check every file at least once.
+     *
+     * @return The duration of the last cycle in milliseconds, 0 before the first one completes.
+     * @since 2.8.0
+     */
+    public long getLastCycleMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastCycleNanos);
+    }
+
+    /**
+     * Gets the average time files waited past their due time before being checked.
+     *
+     * @return The average lag in milliseconds.
+     * @since 2.8.0
+     */
+    public long getAverageLagMillis() {
+        final long count = checkCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(lagNanos.sum() / count);
+    }
+
+    /**
+     * Gets the longest time a file waited past its due time before being checked.
+     *
+     * @return The maximum lag in milliseconds.
+     * @since 2.8.0
+     */
+    public long getMaxLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get());
+    }
+
     /**
      * Queues a file for addition to be monitored.
      *
@@ -273,6 +528,10 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
      * Starts monitoring the files that have been added.
      */
     public void start() {
+        if (this.parallelism > 0) {
+            startScheduler();
+            return;
+        }
         if (this.monitorThread == null) {
             this.monitorThread = new Thread(this);
             this.monitorThread.setDaemon(true);
@@ -282,9 +541,35 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
     }
 
     /**
-     * Stops monitoring the files that have been added.
+     * Stops monitoring the files that have been added, saving their state if there is a snapshot file.
      */
     public void stop() {
+        try {
+            stopChecking();
+        } finally {
+            try {
+                saveSnapshot();
+            } catch (final IOException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private void stopChecking() {
+        final ScheduledThreadPoolExecutor workers;
+        synchronized (this.monitorMap) {
+            workers = this.scheduler;
+            this.scheduler = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
         this.shouldRun = false;
         if (this.monitorThread != null) {
             this.monitorThread.interrupt();
@@ -315,7 +600,7 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                     agent = this.monitorMap.get(fileName);
                 }
                 if (agent != null) {
-                    agent.check();
+                    check(agent);
                 }
 
                 if (getChecksPerRun() > 0 && (iterFileNames + 1) % getChecksPerRun() == 0) {
@@ -349,8 +634,126 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
         this.shouldRun = true;
     }
 
+    /**
+     * Starts the workers of the scheduler mode, spreading the first checks over the delay.
+     */
+    private void startScheduler() {
+        synchronized (this.monitorMap) {
+            if (this.scheduler != null) {
+                return;
+            }
+            final ScheduledThreadPoolExecutor workers = new ScheduledThreadPoolExecutor(this.parallelism, runnable -> {
+                final Thread thread = new Thread(runnable, "DefaultFileMonitor");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            workers.setRemoveOnCancelPolicy(true);
+            this.scheduler = workers;
+            final List<FileMonitorAgent> agents = new ArrayList<>(this.monitorMap.values());
+            final long delayMillis = getDelay();
+            for (int i = 0; i < agents.size(); i++) {
+                schedule(agents.get(i), delayMillis * (i + 1) / agents.size());
+            }
+        }
+    }
+
+    /**
+     * Schedules the next check of a file. Guarded by the agent map.
+     */
+    private void schedule(final FileMonitorAgent agent, final long delayMillis) {
+        final ScheduledThreadPoolExecutor workers = this.scheduler;
+        agent.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        workers.schedule(() -> runScheduled(workers, agent), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks a file on a worker and schedules its next check.
+     */
+    private void runScheduled(final ScheduledThreadPoolExecutor workers, final FileMonitorAgent agent) {
+        synchronized (this.monitorMap) {
+            if (this.scheduler != workers || this.monitorMap.get(agent.fileObject.getName()) != agent) {
+                // stopped or removed
+                return;
+            }
+        }
+        final boolean changed = check(agent);
+
+        FileObject file;
+        while ((file = poll(this.addStack)) != null) {
+            this.addFile(file);
+        }
+        while ((file = poll(this.deleteStack)) != null) {
+            this.removeFile(file);
+        }
+
+        synchronized (this.monitorMap) {
+            if (this.scheduler != workers || this.monitorMap.get(agent.fileObject.getName()) != agent) {
+                return;
+            }
+            final long interval = changed ? getDelay() : Math.min(getMaxDelay(), 2 * agent.interval);
+            agent.interval = interval;
+            schedule(agent, interval);
+        }
+    }
+
+    /**
+     * Takes the last queued file, workers may drain the queues at the same time.
+     */
+    private static FileObject poll(final Stack<FileObject> stack) {
+        synchronized (stack) {
+            return stack.empty() ? null : stack.pop();
+        }
+    }
+
+    /**
+     * Checks a file, recording the metrics.
+     *
+     * @return whether a change was found.
+     */
+    private boolean check(final FileMonitorAgent agent) {
+        final long startNanos = System.nanoTime();
+        final long lag = agent.dueNanos == 0 ? 0 : Math.max(0, startNanos - agent.dueNanos);
+        lagNanos.add(lag);
+        maxLagNanos.accumulate(lag);
+        checkCount.increment();
+        final boolean changed = agent.check();
+        synchronized (this.monitorMap) {
+            checked(agent, true);
+            if (this.scheduler == null) {
+                // the sequential run checks again after the delay
+                agent.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getDelay());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Counts a file as checked in the current cycle, completing the cycle with the last one. Guarded by the agent map.
+     */
+    private void checked(final FileMonitorAgent agent, final boolean update) {
+        if (agent.cycle < this.cycle) {
+            if (update) {
+                agent.cycle = this.cycle;
+            }
+            this.cyclePending--;
+        }
+        if (this.cyclePending <= 0) {
+            final long nowNanos = System.nanoTime();
+            if (this.cycle > 0) {
+                this.lastCycleNanos = nowNanos - this.cycleStartNanos;
+            }
+            this.cycle++;
+            this.cycleStartNanos = nowNanos;
+            this.cyclePending = this.monitorMap.size();
+        }
+    }
+
     /**
      * File monitor agent.
+     * <p>
+     * The state of the file is guarded by the agent, as workers check it while other threads reset its children.
+     * </p>
      */
     private static final class FileMonitorAgent {
         private final FileObject fileObject;
@@ -360,9 +763,26 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
         private long timestamp;
         private Map<FileName, Object> children;
 
+        /** The last cycle in which this file was checked, guarded by the agent map. */
+        private long cycle;
+
+        /** When the next check is due, 0 before the first one. */
+        private volatile long dueNanos;
+
+        /** The interval before the next check in scheduler mode. */
+        private long interval;
+
+        /** The size of a file, -1 for a folder, if unknown or if the state is not saved. */
+        private long size = -1;
+
+        /** Whether the state was loaded from a snapshot. */
+        private final boolean restored;
+
         private FileMonitorAgent(final DefaultFileMonitor fm, final FileObject file) {
             this.defaultFileMonitor = fm;
             this.fileObject = file;
+            this.interval = fm.getDelay();
+            this.restored = false;
 
             this.refresh();
             this.resetChildrenList();
@@ -380,10 +800,70 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                 } catch (final FileSystemException fse) {
                     this.timestamp = -1;
                 }
+                this.size = this.getSize();
+            }
+        }
+
+        /**
+         * Creates an agent from the saved state of its file, without accessing the file.
+         */
+        private FileMonitorAgent(final DefaultFileMonitor fm, final FileObject file,
+                final FileMonitorSnapshot.Entry state) throws FileSystemException {
+            this.defaultFileMonitor = fm;
+            this.fileObject = file;
+            this.interval = fm.getDelay();
+            this.restored = true;
+            this.exists = state.exists;
+            this.timestamp = state.exists ? state.lastModified : -1;
+            this.size = state.size;
+            if (state.children != null) {
+                final FileName name = file.getName();
+                final Map<FileName, Object> savedChildren = new HashMap<>();
+                for (final String baseName : state.children) {
+                    savedChildren.put(file.getFileSystem().getFileSystemManager().resolveName(name,
+                            UriParser.encode(baseName), NameScope.CHILD), new Object());
+                }
+                this.children = savedChildren;
+            }
+        }
+
+        /**
+         * Gets the names of the known children.
+         *
+         * @return the names, or null if the children are not known.
+         */
+        private synchronized FileName[] getChildNames() {
+            return this.children == null ? null : this.children.keySet().toArray(new FileName[0]);
+        }
+
+        private synchronized FileMonitorSnapshot.Entry toSnapshotEntry() {
+            final Map<FileName, Object> currentChildren = this.children;
+            String[] baseNames = null;
+            if (currentChildren != null) {
+                baseNames = currentChildren.keySet().stream().map(FileName::getBaseName).toArray(String[]::new);
             }
+            return new FileMonitorSnapshot.Entry(this.fileObject.getName().getFriendlyURI(), this.exists,
+                    currentChildren != null, this.timestamp, this.size, baseNames);
         }
 
-        private void resetChildrenList() {
+        /**
+         * Gets the size of a file, only read when the state is saved to a snapshot file so that a check otherwise
+         * costs no more than reading the timestamp.
+         *
+         * @return the size, -1 for a folder, if it cannot be read or if the state is not saved.
+         */
+        private long getSize() {
+            if (this.defaultFileMonitor.getSnapshotFile() == null) {
+                return -1;
+            }
+            try {
+                return this.fileObject.getType().hasContent() ? this.fileObject.getContent().getSize() : -1;
+            } catch (final FileSystemException fse) {
+                return -1;
+            }
+        }
+
+        private synchronized void resetChildrenList() {
             try {
                 if (this.fileObject.getType().hasChildren()) {
                     this.children = new HashMap<>();
@@ -443,8 +923,10 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
 
         /**
          * Only checks for new children. If children are removed, they'll eventually be checked.
+         *
+         * @return whether new children were found.
          */
-        private void checkForNewChildren() {
+        private boolean checkForNewChildren() {
             try {
                 if (this.fileObject.getType().hasChildren()) {
                     final FileObject[] newChildren = this.fileObject.getChildren();
@@ -470,6 +952,7 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                                 final FileObject child = missingChildren.pop();
                                 this.fireAllCreate(child);
                             }
+                            return true;
                         }
 
                     } else if (newChildren.length > 0) {
@@ -479,15 +962,23 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                             this.children.put(element.getName(), new Object()); // null?
                             this.fireAllCreate(element);
                         }
+                        return true;
                     }
                 }
             } catch (final FileSystemException fse) {
                 LOG.error(fse.getLocalizedMessage(), fse);
             }
+            return false;
         }
 
-        private void check() {
+        /**
+         * Checks the file for changes, firing the events.
+         *
+         * @return whether a change was found.
+         */
+        private synchronized boolean check() {
             this.refresh();
+            boolean changed = false;
 
             try {
                 // If the file existed and now doesn't
@@ -506,11 +997,16 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
 
                     // Remove from map
                     this.defaultFileMonitor.queueRemoveFile(this.fileObject);
+                    changed = true;
                 } else if (this.exists && this.fileObject.exists()) {
 
-                    // Check the timestamp to see if it has been modified
-                    if (this.timestamp != this.fileObject.getContent().getLastModifiedTime()) {
+                    // Check the timestamp, and the size when both are known, to see if it has been modified
+                    final long currentSize = this.getSize();
+                    final boolean resized = this.size >= 0 && currentSize >= 0 && this.size != currentSize;
+                    this.size = currentSize;
+                    if (this.timestamp != this.fileObject.getContent().getLastModifiedTime() || resized) {
                         this.timestamp = this.fileObject.getContent().getLastModifiedTime();
+                        changed = true;
                         // Fire change event
 
                         // Don't fire if it's a folder because new file children
@@ -523,6 +1019,8 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                 } else if (!this.exists && this.fileObject.exists()) {
                     this.exists = this.fileObject.exists();
                     this.timestamp = this.fileObject.getContent().getLastModifiedTime();
+                    this.size = this.getSize();
+                    changed = true;
                     // Don't fire if it's a folder because new file children
                     // and deleted files in a folder have their own event triggered.
                     if (!this.fileObject.getType().hasChildren()) {
@@ -530,11 +1028,12 @@ public class DefaultFileMonitor implements Runnable, FileMonitor {
                     }
                 }
 
-                this.checkForNewChildren();
+                changed |= this.checkForNewChildren();
 
             } catch (final FileSystemException fse) {
                 LOG.error(fse.getLocalizedMessage(), fse);
             }
+            return changed;
         }
 
     }
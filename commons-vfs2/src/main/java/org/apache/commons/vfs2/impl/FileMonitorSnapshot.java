@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The state of the files of a {@link DefaultFileMonitor}, saved to a local file.
+ * <p>
+ * The file is a gzipped stream of records, one per monitored file: its friendly URI, whether it exists and is a folder,
+ * its last modified time and size, and the base names of its children for a folder.
+ * </p>
+ */
+final class FileMonitorSnapshot {
+
+    /**
+     * The saved state of one file.
+     */
+    static final class Entry {
+        final String uri;
+        final boolean exists;
+        final boolean folder;
+        final long lastModified;
+        final long size;
+        /** The base names of the children, null for a file. */
+        final String[] children;
+
+        Entry(final String uri, final boolean exists, final boolean folder, final long lastModified, final long size,
+                final String[] children) {
+            this.uri = uri;
+            this.exists = exists;
+            this.folder = folder;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.children = children;
+        }
+    }
+
+    private static final int MAGIC = 0x5646534D; // VFSM
+
+    private static final int VERSION = 1;
+
+    private static final int FLAG_EXISTS = 1;
+
+    private static final int FLAG_FOLDER = 2;
+
+    private FileMonitorSnapshot() {
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file The snapshot file.
+     * @return the entries by URI, empty if the file does not exist.
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    static Map<String, Entry> read(final File file) throws IOException {
+        final Map<String, Entry> entries = new HashMap<>();
+        if (!file.exists()) {
+            return entries;
+        }
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a file monitor snapshot: " + file);
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String uri = in.readUTF();
+                final int flags = in.readByte();
+                final long lastModified = in.readLong();
+                final long size = in.readLong();
+                final int childCount = in.readInt();
+                String[] children = null;
+                if (childCount >= 0) {
+                    children = new String[childCount];
+                    for (int j = 0; j < childCount; j++) {
+                        children[j] = in.readUTF();
+                    }
+                }
+                entries.put(uri, new Entry(uri, (flags & FLAG_EXISTS) != 0, (flags & FLAG_FOLDER) != 0, lastModified,
+                        size, children));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes a snapshot, replacing the file once it is complete.
+     *
+     * @param file The snapshot file.
+     * @param entries The entries.
+     * @throws IOException if the file cannot be written.
+     */
+    static void write(final File file, final Collection<Entry> entries) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp.toPath()))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (final Entry entry : entries) {
+                    out.writeUTF(entry.uri);
+                    out.writeByte((entry.exists ? FLAG_EXISTS : 0) | (entry.folder ? FLAG_FOLDER : 0));
+                    out.writeLong(entry.lastModified);
+                    out.writeLong(entry.size);
+                    if (entry.children == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(entry.children.length);
+                        for (final String child : entry.children) {
+                            out.writeUTF(child);
+                        }
+                    }
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+}
@@ -118,17 +118,20 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
     private final AbstractFileName fileName;
 
     private final AFS fileSystem;
-    private FileContent content;
-    // Cached info
-    private boolean attached;
+    private volatile FileContent content;
+    // Cached info, read without locking and only updated while holding getLock()
+    private volatile boolean attached;
 
-    private FileType type;
-    private FileObject parent;
+    private volatile FileType type;
+    private volatile FileObject parent;
 
     // Changed to hold only the name of the children and let the object
     // go into the global files cache
     // private FileObject[] children;
-    private FileName[] children;
+    private volatile FileName[] children;
+
+    // Changed each time the children are changed or dropped, guarded by getLock()
+    private int childrenGeneration;
 
     private List<Object> objects;
 
@@ -155,7 +158,10 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws FileSystemException if an error occurs.
      */
     private void attach() throws FileSystemException {
-        synchronized (fileSystem) {
+        if (attached) {
+            return;
+        }
+        synchronized (getLock()) {
             if (attached) {
                 return;
             }
@@ -178,6 +184,21 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Queries the object if the content of a file can be copied into this file with {@link #doCopyFrom(FileObject)}.
+     * <p>
+     * This implementation returns true if the file system has the {@link Capability#COPY} capability and the source
+     * file belongs to the same file system.
+     * </p>
+     *
+     * @param srcFile The file to copy from.
+     * @return true if a native copy is possible.
+     * @since 2.8.0
+     */
+    protected boolean canCopyFrom(final FileObject srcFile) {
+        return fileSystem.hasCapability(Capability.COPY) && fileSystem == srcFile.getFileSystem();
+    }
+
     /**
      * Queries the object if a simple rename to the file name of {@code newfile} is possible.
      *
@@ -199,19 +220,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
     protected void childrenChanged(final FileName childName, final FileType newType) throws Exception {
         // TODO - this may be called when not attached
 
-        if (children != null && childName != null && newType != null) {
-            // TODO - figure out if children[] can be replaced by list
-            final ArrayList<FileName> list = new ArrayList<>(Arrays.asList(children));
-            if (newType.equals(FileType.IMAGINARY)) {
-                list.remove(childName);
-            } else {
-                list.add(childName);
+        synchronized (getLock()) {
+            if (children != null && childName != null && newType != null) {
+                // TODO - figure out if children[] can be replaced by list
+                final ArrayList<FileName> list = new ArrayList<>(Arrays.asList(children));
+                if (newType.equals(FileType.IMAGINARY)) {
+                    list.remove(childName);
+                } else {
+                    list.add(childName);
+                }
+                children = list.toArray(EMPTY_FILE_NAME_ARRAY);
             }
-            children = list.toArray(EMPTY_FILE_NAME_ARRAY);
-        }
+            childrenGeneration++;
 
-        // removeChildrenCache();
-        onChildrenChanged(childName, newType);
+            // removeChildrenCache();
+            onChildrenChanged(childName, newType);
+        }
     }
 
     /**
@@ -223,7 +247,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
     public void close() throws FileSystemException {
         FileSystemException exc = null;
 
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             // Close the content
             if (content != null) {
                 try {
@@ -296,7 +320,12 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             // Copy across
             try {
                 if (srcFile.getType().hasContent()) {
-                    FileObjectUtils.writeContent(srcFile, destFile);
+                    final AbstractFileObject destObject = FileObjectUtils.getAbstractFileObject(destFile);
+                    if (destObject != null && destObject.canCopyFrom(srcFile)) {
+                        destObject.copyContentFrom(srcFile);
+                    } else {
+                        FileObjectUtils.writeContent(srcFile, destFile);
+                    }
                 } else if (srcFile.getType().hasChildren()) {
                     destFile.createFolder();
                 }
@@ -306,6 +335,31 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Copies the content of a file into this file with {@link #doCopyFrom(FileObject)}.
+     */
+    private void copyContentFrom(final FileObject srcFile) throws FileSystemException {
+        synchronized (getLock()) {
+            if (getType() == FileType.IMAGINARY) {
+                // Does not exist - make sure parent does
+                final FileObject parent = getParent();
+                if (parent != null) {
+                    parent.createFolder();
+                }
+            } else if (!isWriteable()) {
+                throw new FileSystemException("vfs.provider/write-read-only.error", fileName);
+            }
+            try {
+                doCopyFrom(srcFile);
+                endOutput();
+            } catch (final RuntimeException re) {
+                throw re;
+            } catch (final Exception exc) {
+                throw new FileSystemException("vfs.provider/copy-file.error", exc, srcFile, fileName);
+            }
+        }
+    }
+
     /**
      * Creates this file, if it does not exist.
      *
@@ -313,7 +367,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public void createFile() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             try {
                 // VFS-210: We do not want to trunc any existing file, checking for its existence is
                 // still required
@@ -340,7 +394,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public void createFolder() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             // VFS-210: we create a folder only if it does not already exist. So this check should be safe.
             if (getType().hasChildren()) {
                 // Already exists as correct type
@@ -451,7 +505,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws FileSystemException if an error occurs.
      */
     private boolean deleteSelf() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             // Its possible to delete a read-only file if you have write-execute access to the directory
 
             /*
@@ -481,7 +535,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception if an error occurs.
      */
     private void detach() throws Exception {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             if (attached) {
                 try {
                     doDetach();
@@ -526,6 +580,23 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         return new DefaultFileContent(this, getFileContentInfoFactory());
     }
 
+    /**
+     * Copies the content of a file into this file, without reading it through the client. Is only called when:
+     * <ul>
+     * <li>{@link #canCopyFrom(FileObject)} returns true.</li>
+     * <li>The source file has content.</li>
+     * <li>This file is a file or does not exist, and its parent folder exists.</li>
+     * </ul>
+     * An existing file is replaced. This implementation throws an exception.
+     *
+     * @param srcFile The file to copy from.
+     * @throws Exception if an error occurs.
+     * @since 2.8.0
+     */
+    protected void doCopyFrom(final FileObject srcFile) throws Exception {
+        throw new FileSystemException("vfs.provider/copy-not-supported.error");
+    }
+
     /**
      * Creates this file as a folder. Is only called when:
      * <ul>
@@ -1020,6 +1091,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Returns the lock guarding the cached state of this file object (attached state, type, children, content) and the
+     * provider calls made to refresh it. Reading already cached state does not take this lock.
+     * <p>
+     * By default every file object uses its own lock, so a slow call such as listing a remote folder does not block
+     * other file objects of the same file system. Providers whose file objects share state guarded by the file system
+     * monitor must return the file system instead.
+     * </p>
+     *
+     * @return The lock of this file object, never null.
+     * @since 2.8.0
+     */
+    protected Object getLock() {
+        return this;
+    }
+
     /**
      * Returns the file system this file belongs to.
      *
@@ -1059,72 +1146,87 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileObject[] getChildren() throws FileSystemException {
-        synchronized (fileSystem) {
-            // VFS-210
-            if (!fileSystem.hasCapability(Capability.LIST_CHILDREN)) {
-                throw new FileNotFolderException(fileName);
-            }
+        // VFS-210
+        if (!fileSystem.hasCapability(Capability.LIST_CHILDREN)) {
+            throw new FileNotFolderException(fileName);
+        }
 
-            /*
-             * VFS-210 if (!getType().hasChildren()) { throw new
-             * FileSystemException("vfs.provider/list-children-not-folder.error", name); }
-             */
-            attach();
+        // Use cached info, if present
+        final FileName[] cachedChildren = children;
+        if (attached && cachedChildren != null) {
+            return resolveFiles(cachedChildren);
+        }
 
-            // Use cached info, if present
-            if (children != null) {
-                return resolveFiles(children);
-            }
+        /*
+         * VFS-210 if (!getType().hasChildren()) { throw new
+         * FileSystemException("vfs.provider/list-children-not-folder.error", name); }
+         */
+        attach();
 
-            // allow the filesystem to return resolved children. e.g. prefill type for webdav
-            final FileObject[] childrenObjects;
-            try {
-                childrenObjects = doListChildrenResolved();
-                children = extractNames(childrenObjects);
-            } catch (final FileSystemException exc) {
-                // VFS-210
-                throw exc;
-            } catch (final Exception exc) {
-                throw new FileSystemException("vfs.provider/list-children.error", exc, fileName);
-            }
+        final FileName[] currentChildren;
+        final int generation;
+        synchronized (getLock()) {
+            currentChildren = children;
+            generation = childrenGeneration;
+        }
+        if (currentChildren != null) {
+            return resolveFiles(currentChildren);
+        }
 
-            if (childrenObjects != null) {
-                return childrenObjects;
-            }
+        // List outside of the lock: providers may resolve the children while listing, which refreshes them and takes
+        // their locks, while a child holding its own lock notifies this file through childrenChanged.
 
-            // List the children
-            final String[] files;
-            try {
-                files = doListChildren();
-            } catch (final FileSystemException exc) {
-                // VFS-210
-                throw exc;
-            } catch (final Exception exc) {
-                throw new FileSystemException("vfs.provider/list-children.error", exc, fileName);
-            }
+        // allow the filesystem to return resolved children. e.g. prefill type for webdav
+        final FileObject[] childrenObjects;
+        try {
+            childrenObjects = doListChildrenResolved();
+        } catch (final FileSystemException exc) {
+            // VFS-210
+            throw exc;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/list-children.error", exc, fileName);
+        }
 
-            if (files == null) {
-                // VFS-210
-                // honor the new doListChildren contract
-                // return null;
-                throw new FileNotFolderException(fileName);
-            } else if (files.length == 0) {
-                // No children
-                children = EMPTY_FILE_ARRAY;
-            } else {
-                // Create file objects for the children
-                final FileName[] cache = new FileName[files.length];
-                for (int i = 0; i < files.length; i++) {
-                    final String file = "./" + files[i]; // VFS-741: assume scheme prefix is filename only
-                    cache[i] = fileSystem.getFileSystemManager().resolveName(fileName, file, NameScope.CHILD);
-                }
-                // VFS-285: only assign the children file names after all of them have been
-                // resolved successfully to prevent an inconsistent internal state
-                children = cache;
-            }
+        if (childrenObjects != null) {
+            publishChildren(generation, extractNames(childrenObjects));
+            return childrenObjects;
+        }
+
+        // List the children
+        final String[] files;
+        try {
+            files = doListChildren();
+        } catch (final FileSystemException exc) {
+            // VFS-210
+            throw exc;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/list-children.error", exc, fileName);
+        }
 
-            return resolveFiles(children);
+        final FileName[] childrenNames;
+        if (files == null) {
+            // VFS-210
+            // honor the new doListChildren contract
+            // return null;
+            throw new FileNotFolderException(fileName);
+        } else if (files.length == 0) {
+            // No children
+            childrenNames = EMPTY_FILE_ARRAY;
+        } else {
+            // Create file objects for the children
+            final FileName[] cache = new FileName[files.length];
+            for (int i = 0; i < files.length; i++) {
+                final String file = "./" + files[i]; // VFS-741: assume scheme prefix is filename only
+                cache[i] = fileSystem.getFileSystemManager().resolveName(fileName, file, NameScope.CHILD);
+            }
+            // VFS-285: only assign the children file names after all of them have been
+            // resolved successfully to prevent an inconsistent internal state
+            childrenNames = cache;
         }
+        publishChildren(generation, childrenNames);
+
+        // Resolve outside of the lock, resolving may refresh the children which takes their own lock
+        return resolveFiles(childrenNames);
     }
 
     /**
@@ -1135,7 +1237,11 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileContent getContent() throws FileSystemException {
-        synchronized (fileSystem) {
+        final FileContent cachedContent = content;
+        if (attached && cachedContent != null) {
+            return cachedContent;
+        }
+        synchronized (getLock()) {
             attach();
             if (content == null) {
                 content = doCreateFileContent();
@@ -1298,17 +1404,17 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             return fileSystem.getParentLayer().getParent();
         }
 
-        synchronized (fileSystem) {
-            // Locate the parent of this file
-            if (parent == null) {
-                final FileName name = fileName.getParent();
-                if (name == null) {
-                    return null;
-                }
-                parent = fileSystem.resolveFile(name);
+        // Locate the parent of this file, the file system hands out the same cached parent to racing threads
+        FileObject cachedParent = parent;
+        if (cachedParent == null) {
+            final FileName name = fileName.getParent();
+            if (name == null) {
+                return null;
             }
-            return parent;
+            cachedParent = fileSystem.resolveFile(name);
+            parent = cachedParent;
         }
+        return cachedParent;
     }
 
     /**
@@ -1368,7 +1474,11 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileType getType() throws FileSystemException {
-        synchronized (fileSystem) {
+        final FileType cachedType = type;
+        if (attached && cachedType != null) {
+            return cachedType;
+        }
+        synchronized (getLock()) {
             attach();
 
             // VFS-210: get the type only if requested for
@@ -1427,7 +1537,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception if an error occurs.
      */
     protected void handleCreate(final FileType newType) throws Exception {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             if (attached) {
                 // Fix up state
                 injectType(newType);
@@ -1452,7 +1562,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception if an error occurs.
      */
     protected void handleDelete() throws Exception {
-        synchronized (fileSystem) {
+        synchronized (getLock()) {
             if (attached) {
                 // Fix up state
                 injectType(FileType.IMAGINARY);
@@ -1505,11 +1615,12 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public boolean isContentOpen() {
-        if (content == null) {
+        final FileContent cachedContent = content;
+        if (cachedContent == null) {
             return false;
         }
 
-        return content.isOpen();
+        return cachedContent.isOpen();
     }
 
     /**
@@ -1795,7 +1906,19 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Caches the listed children, unless the children changed or the file was detached while they were listed.
+     */
+    private void publishChildren(final int generation, final FileName[] childrenNames) {
+        synchronized (getLock()) {
+            if (generation == childrenGeneration && attached) {
+                children = childrenNames;
+            }
+        }
+    }
+
     private void removeChildrenCache() {
+        childrenGeneration++;
         children = null;
     }
 
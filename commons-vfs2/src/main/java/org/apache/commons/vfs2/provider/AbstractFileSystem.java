@@ -59,6 +59,11 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
 
     private static final Log LOG = LogFactory.getLog(AbstractFileSystem.class);
 
+    /**
+     * Number of lock stripes used to serialize the creation of file objects with the same name, must be a power of 2.
+     */
+    private static final int RESOLVE_LOCK_STRIPES = 64;
+
     /**
      * The "root" of the file system. This is always "/" so it isn't always the "real" root.
      */
@@ -96,6 +101,11 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
      */
     private final AtomicInteger openStreams = new AtomicInteger(0);
 
+    /**
+     * Locks guarding the creation of file objects which are not yet cached, selected by file name hash.
+     */
+    private final Object[] resolveLocks = new Object[RESOLVE_LOCK_STRIPES];
+
     protected AbstractFileSystem(final FileName rootName, final FileObject parentLayer,
             final FileSystemOptions fileSystemOptions) {
         this.parentLayer = parentLayer;
@@ -107,6 +117,9 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
             uri = rootName.getURI();
         }
         this.rootURI = uri;
+        for (int i = 0; i < resolveLocks.length; i++) {
+            resolveLocks[i] = new Object();
+        }
     }
 
     /**
@@ -303,33 +316,36 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return resolveFile(name, true);
     }
 
-    private synchronized FileObject resolveFile(final FileName name, final boolean useCache)
-            throws FileSystemException {
+    private FileObject resolveFile(final FileName name, final boolean useCache) throws FileSystemException {
         if (!rootName.getRootURI().equals(name.getRootURI())) {
             throw new FileSystemException("vfs.provider/mismatched-fs-for-name.error", name, rootName,
                     name.getRootURI());
         }
 
         // imario@apache.org ==> use getFileFromCache
-        FileObject file;
-        if (useCache) {
-            file = getFileFromCache(name);
-        } else {
-            file = null;
-        }
+        // Cache hits do not take any lock, the FilesCache implementations are thread-safe.
+        FileObject file = useCache ? getFileFromCache(name) : null;
 
         if (file == null) {
-            try {
-                file = createFile((AbstractFileName) name);
-            } catch (final Exception e) {
-                throw new FileSystemException("vfs.provider/resolve-file.error", name, e);
-            }
-
-            file = decorateFileObject(file);
-
-            // imario@apache.org ==> use putFileToCache
-            if (useCache) {
-                putFileToCache(file);
+            // Only threads missing on the same name stripe wait for each other.
+            synchronized (getResolveLock(name)) {
+                if (useCache) {
+                    file = getFileFromCache(name);
+                }
+                if (file == null) {
+                    try {
+                        file = createFile((AbstractFileName) name);
+                    } catch (final Exception e) {
+                        throw new FileSystemException("vfs.provider/resolve-file.error", name, e);
+                    }
+
+                    file = decorateFileObject(file);
+
+                    // imario@apache.org ==> use putFileToCache
+                    if (useCache) {
+                        putFileToCache(file);
+                    }
+                }
             }
         }
 
@@ -342,6 +358,11 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return file;
     }
 
+    private Object getResolveLock(final FileName name) {
+        final int hash = name.hashCode();
+        return resolveLocks[(hash ^ (hash >>> 16)) & (RESOLVE_LOCK_STRIPES - 1)];
+    }
+
     protected FileObject decorateFileObject(FileObject file) throws FileSystemException {
         if (getFileSystemManager().getCacheStrategy().equals(CacheStrategy.ON_CALL)) {
             file = new OnCallRefreshFileObject(file);
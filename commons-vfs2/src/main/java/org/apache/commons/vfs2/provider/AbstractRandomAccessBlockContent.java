@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+
+/**
+ * Implements random access reads of a remote file with range requests, keeping the most recently used blocks of the
+ * file in memory.
+ * <p>
+ * The file is read in blocks aligned on the block size, so that repeated and nearby reads are served from memory
+ * whatever the seeks in between. A read of several missing blocks fetches them with a single range. Reads which miss
+ * the block following the previous range fetch increasingly more blocks ahead, up to the number of blocks kept, so
+ * that sequential reads need few requests.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+public abstract class AbstractRandomAccessBlockContent extends AbstractRandomAccessStreamContent {
+
+    /**
+     * Reads the file from the file pointer.
+     */
+    private final class BlockInputStream extends InputStream {
+
+        @Override
+        public int available() throws IOException {
+            final byte[] block = blocks.get(Long.valueOf(filePointer / blockSize));
+            if (block == null) {
+                return 0;
+            }
+            return Math.max(0, block.length - (int) (filePointer % blockSize));
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            final long lastIndex = (filePointer + length - 1) / blockSize;
+            int count = 0;
+            while (count < length) {
+                if (fileLength >= 0 && filePointer >= fileLength) {
+                    break;
+                }
+                final byte[] block = getBlock(filePointer / blockSize, lastIndex);
+                final int blockOffset = (int) (filePointer % blockSize);
+                if (blockOffset >= block.length) {
+                    break;
+                }
+                final int n = Math.min(length - count, block.length - blockOffset);
+                System.arraycopy(block, blockOffset, buffer, offset + count, n);
+                filePointer += n;
+                count += n;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            final long skipped = Math.max(0, Math.min(n, length() - filePointer));
+            filePointer += skipped;
+            return skipped;
+        }
+    }
+
+    private static final byte[] EMPTY_BLOCK = {};
+
+    /** The file pointer. */
+    protected long filePointer;
+
+    private final int blockSize;
+    private final int maxBlocks;
+
+    /** The blocks by index, least recently used first. */
+    private final LinkedHashMap<Long, byte[]> blocks;
+
+    /** The length of the file once a read reached its end, or -1. */
+    private long fileLength = -1;
+
+    /** The index following the last fetched block, or -1. */
+    private long nextIndex = -1;
+
+    /** The number of blocks to fetch on the next sequential miss. */
+    private int readAheadBlocks = 1;
+
+    private DataInputStream dis;
+
+    /**
+     * Creates random access content.
+     *
+     * @param mode The access mode.
+     * @param blockSize The size of the blocks.
+     * @param maxBlocks The maximum number of blocks kept in memory, which is also the maximum number fetched at once.
+     */
+    protected AbstractRandomAccessBlockContent(final RandomAccessMode mode, final int blockSize, final int maxBlocks) {
+        super(mode);
+        this.blockSize = Math.max(1, blockSize);
+        // a range of maxBlocks blocks is read into one array
+        this.maxBlocks = Math.max(1, Math.min(maxBlocks, (Integer.MAX_VALUE - 8) / this.blockSize));
+        this.blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+                return size() > AbstractRandomAccessBlockContent.this.maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * Drops the blocks kept in memory.
+     */
+    @Override
+    public void close() throws IOException {
+        blocks.clear();
+        nextIndex = -1;
+        readAheadBlocks = 1;
+    }
+
+    /**
+     * Fetches the blocks from an index, unless they are kept in memory.
+     */
+    private void fetch(final long index, final long lastIndex) throws IOException {
+        long count = Math.max(lastIndex - index + 1, index == nextIndex ? readAheadBlocks : 1);
+        count = Math.min(count, maxBlocks);
+        for (long i = 1; i < count; i++) {
+            if (blocks.containsKey(Long.valueOf(index + i))) {
+                count = i;
+                break;
+            }
+        }
+        final long position = index * blockSize;
+        final byte[] buffer = new byte[(int) (count * blockSize)];
+        int read = 0;
+        try (InputStream input = openRange(position, buffer.length)) {
+            if (input != null) {
+                for (int n = 0; read < buffer.length && n >= 0; read += n) {
+                    n = input.read(buffer, read, buffer.length - read);
+                    if (n < 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (read < buffer.length) {
+            fileLength = position + read;
+        }
+        for (long i = 0; i < count; i++) {
+            final int start = (int) (i * blockSize);
+            final int end = Math.min(read, start + blockSize);
+            if (end <= start && i > 0) {
+                break;
+            }
+            final byte[] block = end <= start ? EMPTY_BLOCK : new byte[end - start];
+            System.arraycopy(buffer, start, block, 0, block.length);
+            blocks.put(Long.valueOf(index + i), block);
+        }
+        readAheadBlocks = index == nextIndex ? (int) Math.min(maxBlocks, Math.max(count, readAheadBlocks) * 2L) : 1;
+        nextIndex = index + count;
+    }
+
+    /**
+     * Gets a block, fetching it and the following missing blocks up to another index if it is not in memory.
+     */
+    private byte[] getBlock(final long index, final long lastIndex) throws IOException {
+        byte[] block = blocks.get(Long.valueOf(index));
+        if (block == null) {
+            fetch(index, lastIndex);
+            block = blocks.get(Long.valueOf(index));
+        }
+        return block;
+    }
+
+    @Override
+    protected DataInputStream getDataInputStream() throws IOException {
+        if (dis == null) {
+            dis = new DataInputStream(new BlockInputStream());
+        }
+        return dis;
+    }
+
+    @Override
+    public long getFilePointer() throws IOException {
+        return filePointer;
+    }
+
+    /**
+     * Opens a range of the file.
+     *
+     * @param position The position of the range.
+     * @param length The length of the range, the stream may end before at the end of the file.
+     * @return a stream of the range, or null if the position is at or after the end of the file.
+     * @throws IOException if the range cannot be read.
+     */
+    protected abstract InputStream openRange(long position, int length) throws IOException;
+
+    @Override
+    public void seek(final long pos) throws IOException {
+        if (pos < 0) {
+            throw new FileSystemException("vfs.provider/random-access-invalid-position.error", Long.valueOf(pos));
+        }
+        filePointer = pos;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.util.ArrayUtils;
+
+/**
+ * A compact, read-only index of the entries of an archive, from which the file objects of an archive file system can
+ * be created on demand.
+ * <p>
+ * The normalized paths of the entries are kept in a sorted array. Folders without an entry of their own are not
+ * stored, a path is a folder if it is a prefix of other paths. Looking up a path is a binary search, listing a folder
+ * skips over the descendants of each child.
+ * </p>
+ *
+ * @param <E> The type of the archive entries.
+ * @since 2.8.0
+ */
+public final class ArchiveIndex<E> {
+
+    /**
+     * Collects the entries of an archive.
+     *
+     * @param <E> The type of the archive entries.
+     */
+    public static final class Builder<E> {
+
+        private final FileSystemManager manager;
+        private final FileName rootName;
+        private final char[] reserved;
+        private final List<Node<E>> nodes = new ArrayList<>();
+
+        /**
+         * Creates a builder.
+         *
+         * @param manager The manager used to normalize entry names which are not simple paths.
+         * @param rootName The root name of the archive file system.
+         * @param reserved The characters to encode in entry names.
+         */
+        public Builder(final FileSystemManager manager, final FileName rootName, final char[] reserved) {
+            this.manager = manager;
+            this.rootName = rootName;
+            this.reserved = reserved;
+        }
+
+        /**
+         * Adds an entry. A later file entry with the same path replaces an earlier one, a later folder entry does not.
+         *
+         * @param entryName The name of the entry in the archive.
+         * @param entry The entry.
+         * @param folder Whether the entry is a folder.
+         * @return this builder.
+         * @throws FileSystemException if the entry name is invalid.
+         */
+        public Builder<E> add(final String entryName, final E entry, final boolean folder) throws FileSystemException {
+            nodes.add(new Node<>(toPath(entryName), entry, folder));
+            return this;
+        }
+
+        /**
+         * Creates the index.
+         *
+         * @return a new index.
+         */
+        @SuppressWarnings("unchecked")
+        public ArchiveIndex<E> build() {
+            // stable, so duplicates stay in archive order
+            nodes.sort(Comparator.comparing(node -> node.path));
+            final int size = nodes.size();
+            final String[] paths = new String[size];
+            final Object[] entries = new Object[size];
+            int count = 0;
+            for (final Node<E> node : nodes) {
+                if (count > 0 && paths[count - 1].equals(node.path)) {
+                    if (!node.folder) {
+                        entries[count - 1] = node.entry;
+                    }
+                    continue;
+                }
+                paths[count] = node.path;
+                entries[count] = node.entry;
+                count++;
+            }
+            nodes.clear();
+            return new ArchiveIndex<>(Arrays.copyOf(paths, count), (E[]) Arrays.copyOf(entries, count), reserved);
+        }
+
+        /**
+         * Converts an entry name to the decoded path of its file name, without the leading separator.
+         */
+        private String toPath(final String entryName) throws FileSystemException {
+            if (isSimple(entryName)) {
+                int begin = 0;
+                int end = entryName.length();
+                while (begin < end && entryName.charAt(begin) == FileName.SEPARATOR_CHAR) {
+                    begin++;
+                }
+                while (end > begin && entryName.charAt(end - 1) == FileName.SEPARATOR_CHAR) {
+                    end--;
+                }
+                return entryName.substring(begin, end);
+            }
+            final FileName name = manager.resolveName(rootName, UriParser.encode(entryName, reserved));
+            return ((AbstractFileName) name).getPathDecoded().substring(1);
+        }
+    }
+
+    /**
+     * An entry while building the index.
+     */
+    private static final class Node<E> {
+        private final String path;
+        private final E entry;
+        private final boolean folder;
+
+        Node(final String path, final E entry, final boolean folder) {
+            this.path = path;
+            this.entry = entry;
+            this.folder = folder;
+        }
+    }
+
+    /**
+     * Tests whether an entry name needs no normalization beyond removing leading and trailing separators.
+     */
+    private static boolean isSimple(final String entryName) {
+        int segmentStart = 0;
+        final int length = entryName.length();
+        for (int i = 0; i <= length; i++) {
+            final char ch = i < length ? entryName.charAt(i) : FileName.SEPARATOR_CHAR;
+            if (ch == UriParser.TRANS_SEPARATOR) {
+                return false;
+            }
+            if (ch == FileName.SEPARATOR_CHAR) {
+                final int segmentLength = i - segmentStart;
+                if (segmentLength == 0 && segmentStart > 0 && i < length) {
+                    // empty segment in the middle
+                    return false;
+                }
+                if (segmentLength == 1 && entryName.charAt(segmentStart) == '.'
+                        || segmentLength == 2 && entryName.startsWith("..", segmentStart)) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private final String[] paths;
+    private final E[] entries;
+    private final char[] reserved;
+
+    private ArchiveIndex(final String[] paths, final E[] entries, final char[] reserved) {
+        this.paths = paths;
+        this.entries = entries;
+        this.reserved = reserved;
+    }
+
+    /**
+     * Tests whether a file exists in the archive, as an entry or as the parent folder of an entry.
+     *
+     * @param name The file name.
+     * @return whether the file exists.
+     * @throws FileSystemException if the name cannot be decoded.
+     */
+    public boolean contains(final FileName name) throws FileSystemException {
+        final String path = toPath(name);
+        if (path.isEmpty() || Arrays.binarySearch(paths, path) >= 0) {
+            return true;
+        }
+        final String prefix = path + FileName.SEPARATOR_CHAR;
+        final int index = lowerBound(prefix);
+        return index < paths.length && paths[index].startsWith(prefix);
+    }
+
+    /**
+     * Lists the children of a folder.
+     *
+     * @param name The folder name.
+     * @return the encoded base names of the children.
+     * @throws FileSystemException if the name cannot be decoded.
+     */
+    public String[] getChildren(final FileName name) throws FileSystemException {
+        final String path = toPath(name);
+        final String prefix = path.isEmpty() ? "" : path + FileName.SEPARATOR_CHAR;
+        final Set<String> children = new LinkedHashSet<>();
+        int index = lowerBound(prefix);
+        while (index < paths.length && paths[index].startsWith(prefix)) {
+            final String current = paths[index];
+            final int separator = current.indexOf(FileName.SEPARATOR_CHAR, prefix.length());
+            if (separator < 0) {
+                if (current.length() > prefix.length()) {
+                    children.add(current.substring(prefix.length()));
+                }
+                index++;
+            } else {
+                final String child = current.substring(prefix.length(), separator);
+                children.add(child);
+                // '0' follows the separator, skip the descendants of the child
+                index = lowerBound(current.substring(0, separator) + '0');
+            }
+        }
+        if (children.isEmpty()) {
+            return ArrayUtils.EMPTY_STRING_ARRAY;
+        }
+        final String[] encoded = new String[children.size()];
+        int i = 0;
+        for (final String child : children) {
+            encoded[i++] = UriParser.encode(child, reserved);
+        }
+        return encoded;
+    }
+
+    /**
+     * Gets the entry of a file.
+     *
+     * @param name The file name.
+     * @return the entry, or null for a folder without an entry or a missing file.
+     * @throws FileSystemException if the name cannot be decoded.
+     */
+    public E getEntry(final FileName name) throws FileSystemException {
+        final int index = Arrays.binarySearch(paths, toPath(name));
+        return index < 0 ? null : entries[index];
+    }
+
+    /**
+     * Returns the number of distinct entries.
+     *
+     * @return the number of distinct entries.
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Finds the first path not less than a key.
+     */
+    private int lowerBound(final String key) {
+        final int index = Arrays.binarySearch(paths, key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static String toPath(final FileName name) throws FileSystemException {
+        return ((AbstractFileName) name).getPathDecoded().substring(1);
+    }
+}
@@ -0,0 +1,632 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.vfs2.FileSystemException;
+
+/**
+ * A bounded pool of the connections of one file system, such as FTP clients or SFTP channels.
+ * <p>
+ * Idle connections are reused most recently returned first, so that the least used ones reach the idle timeout and
+ * are closed. With a keep alive interval, a shared daemon thread validates the connections idle for that long and
+ * closes those which fail, otherwise idle connections are only checked when connections are borrowed or returned.
+ * Connections disconnected while borrowed free their slot on the next borrow that has to wait.
+ * </p>
+ *
+ * @param <C> The type of the connections.
+ * @since 2.8.0
+ */
+public final class ConnectionPool<C> {
+
+    /**
+     * Creates the pool of a file system.
+     *
+     * @param <C> The type of the connections.
+     */
+    public static final class Builder<C> {
+
+        private final Connector<C> connector;
+        private String exhaustedCode = "vfs.provider/connection-pool-exhausted.error";
+        private int maxTotal;
+        private int maxIdle = 1;
+        private int minIdle;
+        private Duration maxWait;
+        private Duration idleTimeout;
+        private Duration keepAliveInterval;
+        private boolean validateOnBorrow;
+
+        /**
+         * Creates a builder.
+         *
+         * @param connector Opens, checks and closes the connections.
+         */
+        public Builder(final Connector<C> connector) {
+            this.connector = Objects.requireNonNull(connector, "connector");
+        }
+
+        /**
+         * Creates the pool.
+         *
+         * @return a new pool.
+         */
+        public ConnectionPool<C> build() {
+            return new ConnectionPool<>(this);
+        }
+
+        /**
+         * Sets the message code of the exception thrown when no connection became available in time, which takes
+         * the maximum number of connections and the maximum wait in milliseconds as arguments.
+         *
+         * @param exhaustedCode The message code.
+         * @return this builder.
+         */
+        public Builder<C> setExhaustedCode(final String exhaustedCode) {
+            this.exhaustedCode = exhaustedCode;
+            return this;
+        }
+
+        /**
+         * Sets how long a connection may stay idle.
+         *
+         * @param idleTimeout The idle timeout, null or zero to keep idle connections until the pool is full.
+         * @return this builder.
+         */
+        public Builder<C> setIdleTimeout(final Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how often to validate the idle connections.
+         *
+         * @param keepAliveInterval The keep alive interval, null or zero to not validate idle connections.
+         * @return this builder.
+         */
+        public Builder<C> setKeepAliveInterval(final Duration keepAliveInterval) {
+            this.keepAliveInterval = keepAliveInterval;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of idle connections, 1 by default.
+         *
+         * @param maxIdle The maximum number of idle connections.
+         * @return this builder.
+         */
+        public Builder<C> setMaxIdle(final int maxIdle) {
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of borrowed and idle connections.
+         *
+         * @param maxTotal The maximum number of connections, 0 or less for no limit.
+         * @return this builder.
+         */
+        public Builder<C> setMaxTotal(final int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for a connection when the maximum number of connections is reached.
+         *
+         * @param maxWait The maximum wait, null or zero to wait indefinitely.
+         * @return this builder.
+         */
+        public Builder<C> setMaxWait(final Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Sets the number of idle connections kept regardless of the idle timeout.
+         *
+         * @param minIdle The minimum number of idle connections.
+         * @return this builder.
+         */
+        public Builder<C> setMinIdle(final int minIdle) {
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * Sets whether to validate an idle connection before reusing it.
+         *
+         * @param validateOnBorrow Whether to validate on borrow.
+         * @return this builder.
+         */
+        public Builder<C> setValidateOnBorrow(final boolean validateOnBorrow) {
+            this.validateOnBorrow = validateOnBorrow;
+            return this;
+        }
+    }
+
+    /**
+     * Opens, checks and closes the connections of a pool.
+     *
+     * @param <C> The type of the connections.
+     */
+    public interface Connector<C> {
+
+        /**
+         * Opens a new connection.
+         *
+         * @return a connected connection.
+         * @throws FileSystemException if the connection cannot be opened.
+         */
+        C connect() throws FileSystemException;
+
+        /**
+         * Closes a connection dropped from the pool.
+         *
+         * @param connection The connection.
+         */
+        void disconnect(C connection);
+
+        /**
+         * Tests whether a connection is still connected, without talking to the server.
+         *
+         * @param connection The connection.
+         * @return whether the connection is connected.
+         */
+        boolean isConnected(C connection);
+
+        /**
+         * Tests whether a connection still works with a round trip to the server.
+         *
+         * @param connection The connection.
+         * @return whether the server answered.
+         */
+        boolean validate(C connection);
+    }
+
+    /**
+     * An idle connection, when it was returned and when it last talked to the server.
+     */
+    private static final class IdleConnection<C> {
+        private final C connection;
+        private final long idleSinceNanos;
+        private long aliveAtNanos;
+
+        IdleConnection(final C connection, final long idleSinceNanos) {
+            this.connection = connection;
+            this.idleSinceNanos = idleSinceNanos;
+            this.aliveAtNanos = idleSinceNanos;
+        }
+    }
+
+    /**
+     * Holds the keep alive thread, started on first use.
+     */
+    private static final class KeepAliveHolder {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "VFS connection keep alive");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private static long toNanos(final Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+
+    private final Connector<C> connector;
+    private final String exhaustedCode;
+    private final int maxTotal;
+    private final int maxIdle;
+    private final int minIdle;
+    private final long maxWaitNanos;
+    private final long idleTimeoutNanos;
+    private final long keepAliveNanos;
+    private final boolean validateOnBorrow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    /** Idle connections, most recently returned first. Guarded by lock. */
+    private final Deque<IdleConnection<C>> idle = new ArrayDeque<>();
+
+    /** Borrowed connections. Guarded by lock. */
+    private final Set<C> borrowed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Connections being opened or validated by the keep alive, they count against maxTotal. Guarded by lock. */
+    private int pending;
+
+    /** The scheduled keep alive, while there are idle connections. Guarded by lock. */
+    private ScheduledFuture<?> keepAlive;
+
+    /** Incremented by each clear, so that connections validated meanwhile are not put back. Guarded by lock. */
+    private int clearCount;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final LongAdder creationCount = new LongAdder();
+
+    private ConnectionPool(final Builder<C> builder) {
+        this.connector = builder.connector;
+        this.exhaustedCode = builder.exhaustedCode;
+        this.maxTotal = builder.maxTotal;
+        this.maxIdle = builder.maxIdle;
+        this.minIdle = builder.minIdle;
+        this.maxWaitNanos = toNanos(builder.maxWait);
+        this.idleTimeoutNanos = toNanos(builder.idleTimeout);
+        this.keepAliveNanos = toNanos(builder.keepAliveInterval);
+        this.validateOnBorrow = builder.validateOnBorrow;
+    }
+
+    /**
+     * Adds a connection which is already connected, as idle.
+     *
+     * @param connection The connection.
+     */
+    public void add(final C connection) {
+        lock.lock();
+        try {
+            borrowed.add(connection);
+        } finally {
+            lock.unlock();
+        }
+        returnConnection(connection);
+    }
+
+    /**
+     * Borrows an idle connection, or opens a new one if none is idle and the pool is not full.
+     *
+     * @return A connected connection, to be returned with {@link #returnConnection(Object)}.
+     * @throws FileSystemException if a connection cannot be opened, or none became available in time.
+     */
+    public C borrowConnection() throws FileSystemException {
+        final long startNanos = System.nanoTime();
+        try {
+            while (true) {
+                final C connection = takeIdleOrReserve(startNanos);
+                if (connection == null) {
+                    return create();
+                }
+                if (connector.isConnected(connection) && (!validateOnBorrow || connector.validate(connection))) {
+                    return connection;
+                }
+                lock.lock();
+                try {
+                    borrowed.remove(connection);
+                    released.signal();
+                } finally {
+                    lock.unlock();
+                }
+                connector.disconnect(connection);
+            }
+        } finally {
+            borrowCount.increment();
+            borrowWaitNanos.add(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Closes the idle connections and stops the keep alive. Borrowed connections are closed when they are returned
+     * to a full pool.
+     */
+    public void clear() {
+        final List<C> connections = new ArrayList<>();
+        lock.lock();
+        try {
+            for (final IdleConnection<C> idleConnection : idle) {
+                connections.add(idleConnection.connection);
+            }
+            idle.clear();
+            clearCount++;
+            stopKeepAlive();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        disconnect(connections);
+    }
+
+    private C create() throws FileSystemException {
+        boolean created = false;
+        try {
+            final C connection = connector.connect();
+            lock.lock();
+            try {
+                borrowed.add(connection);
+            } finally {
+                lock.unlock();
+            }
+            created = true;
+            creationCount.increment();
+            return connection;
+        } finally {
+            lock.lock();
+            try {
+                pending--;
+                if (!created) {
+                    released.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void disconnect(final List<C> connections) {
+        for (final C connection : connections) {
+            connector.disconnect(connection);
+        }
+    }
+
+    /**
+     * Removes idle connections over the idle timeout, keeping minIdle. Guarded by lock.
+     */
+    private void evictIdle(final long nowNanos, final List<C> evicted) {
+        if (idleTimeoutNanos <= 0) {
+            return;
+        }
+        // least recently returned first, the keep alive reorders connections and there are only a few
+        for (final Iterator<IdleConnection<C>> iterator = idle.descendingIterator(); iterator.hasNext()
+                && idle.size() > minIdle;) {
+            final IdleConnection<C> idleConnection = iterator.next();
+            if (nowNanos - idleConnection.idleSinceNanos >= idleTimeoutNanos) {
+                iterator.remove();
+                evicted.add(idleConnection.connection);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of connections currently borrowed.
+     *
+     * @return the number of connections in use.
+     */
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return borrowed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of connections borrowed so far.
+     *
+     * @return the number of {@link #borrowConnection()} calls.
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * Gets the total time spent borrowing connections, including waiting for a free one and opening new ones.
+     *
+     * @return the total borrow time in nanoseconds.
+     */
+    public long getBorrowWaitNanos() {
+        return borrowWaitNanos.sum();
+    }
+
+    /**
+     * Gets the number of connections opened so far, not counting the added ones.
+     *
+     * @return the number of connections created.
+     */
+    public long getCreationCount() {
+        return creationCount.sum();
+    }
+
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return the number of idle connections.
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Validates the connections idle for the keep alive interval, closing those which fail and those over the idle
+     * timeout.
+     */
+    private void keepAlive() {
+        final List<IdleConnection<C>> checked = new ArrayList<>();
+        final List<C> evicted = new ArrayList<>();
+        final int checkedClearCount;
+        lock.lock();
+        try {
+            checkedClearCount = clearCount;
+            final long nowNanos = System.nanoTime();
+            evictIdle(nowNanos, evicted);
+            for (final Iterator<IdleConnection<C>> iterator = idle.iterator(); iterator.hasNext();) {
+                final IdleConnection<C> idleConnection = iterator.next();
+                if (nowNanos - idleConnection.aliveAtNanos >= keepAliveNanos) {
+                    // take it out so no one borrows it while talking to the server
+                    iterator.remove();
+                    checked.add(idleConnection);
+                    pending++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        disconnect(evicted);
+        for (final IdleConnection<C> idleConnection : checked) {
+            boolean keep = connector.isConnected(idleConnection.connection)
+                    && connector.validate(idleConnection.connection);
+            lock.lock();
+            try {
+                pending--;
+                // not if the pool was cleared or filled up while talking to the server
+                keep &= checkedClearCount == clearCount && idle.size() < maxIdle;
+                if (keep) {
+                    idleConnection.aliveAtNanos = System.nanoTime();
+                    // least recently returned last, even if not quite in order
+                    idle.addLast(idleConnection);
+                }
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+            if (!keep) {
+                connector.disconnect(idleConnection.connection);
+            }
+        }
+        lock.lock();
+        try {
+            if (idle.isEmpty()) {
+                stopKeepAlive();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the borrowed connections which got disconnected without being returned. Guarded by lock.
+     *
+     * @return whether a slot was freed.
+     */
+    private boolean purgeDisconnected() {
+        boolean purged = false;
+        for (final Iterator<C> iterator = borrowed.iterator(); iterator.hasNext();) {
+            if (!connector.isConnected(iterator.next())) {
+                iterator.remove();
+                purged = true;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Returns a borrowed connection, closing it if it is disconnected or the pool has enough idle connections.
+     *
+     * @param connection The borrowed connection.
+     */
+    public void returnConnection(final C connection) {
+        final List<C> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            if (!borrowed.remove(connection)) {
+                // returned twice or not from this pool
+                return;
+            }
+            final long nowNanos = System.nanoTime();
+            evictIdle(nowNanos, evicted);
+            if (connector.isConnected(connection) && idle.size() < maxIdle) {
+                idle.addFirst(new IdleConnection<>(connection, nowNanos));
+                startKeepAlive();
+            } else {
+                evicted.add(connection);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+        disconnect(evicted);
+    }
+
+    /**
+     * Schedules the keep alive if configured and not done yet. Guarded by lock.
+     */
+    private void startKeepAlive() {
+        if (keepAliveNanos > 0 && keepAlive == null) {
+            keepAlive = KeepAliveHolder.EXECUTOR.scheduleWithFixedDelay(this::keepAlive, keepAliveNanos,
+                    keepAliveNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Cancels the keep alive. Guarded by lock.
+     */
+    private void stopKeepAlive() {
+        if (keepAlive != null) {
+            keepAlive.cancel(false);
+            keepAlive = null;
+        }
+    }
+
+    /**
+     * Takes an idle connection, or reserves a slot to open one, waiting for a slot if the pool is full.
+     *
+     * @return an idle connection, already counted as borrowed, or null if a slot to open a connection was reserved.
+     */
+    private C takeIdleOrReserve(final long startNanos) throws FileSystemException {
+        final List<C> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            evictIdle(System.nanoTime(), evicted);
+            while (true) {
+                final IdleConnection<C> idleConnection = idle.pollFirst();
+                if (idleConnection != null) {
+                    borrowed.add(idleConnection.connection);
+                    return idleConnection.connection;
+                }
+                if (maxTotal <= 0 || borrowed.size() + pending < maxTotal) {
+                    pending++;
+                    return null;
+                }
+                if (purgeDisconnected()) {
+                    continue;
+                }
+                try {
+                    if (maxWaitNanos <= 0) {
+                        released.await();
+                    } else {
+                        final long remainingNanos = maxWaitNanos - (System.nanoTime() - startNanos);
+                        if (remainingNanos <= 0) {
+                            throw new FileSystemException(exhaustedCode, Integer.valueOf(maxTotal),
+                                    Long.valueOf(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)));
+                        }
+                        released.awaitNanos(remainingNanos);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FileSystemException(e);
+                }
+            }
+        } finally {
+            lock.unlock();
+            disconnect(evicted);
+        }
+    }
+}
@@ -17,9 +17,13 @@
 package org.apache.commons.vfs2.provider;
 
 import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.security.cert.Certificate;
 import java.util.Collections;
 import java.util.Map;
@@ -639,6 +643,13 @@ public final class DefaultFileContent implements FileContent {
             this.file = file;
         }
 
+        /**
+         * Gets the channel of the local file read by this stream, if nothing was read yet.
+         */
+        FileChannel getFileChannel() {
+            return in instanceof FileInputStream && getCount() == 0 ? ((FileInputStream) in).getChannel() : null;
+        }
+
         /**
          * Closes this input stream.
          */
@@ -755,6 +766,13 @@ public final class DefaultFileContent implements FileContent {
             this.file = file;
         }
 
+        /**
+         * Gets the channel of the local file written by this stream, flush this stream before writing to it.
+         */
+        FileChannel getFileChannel() {
+            return out instanceof FileOutputStream ? ((FileOutputStream) out).getChannel() : null;
+        }
+
         /**
          * Closes this output stream.
          */
@@ -842,6 +860,10 @@ public final class DefaultFileContent implements FileContent {
 
     /**
      * Writes this content to an OutputStream.
+     * <p>
+     * When both this content and the target stream are local files, the bytes are copied by the file channels, which
+     * lets the operating system copy them without going through the heap.
+     * </p>
      *
      * @param output The target OutputStream.
      * @param bufferSize The buffer size to write data chunks.
@@ -854,6 +876,13 @@ public final class DefaultFileContent implements FileContent {
         final InputStream input = this.getInputStream();
         long count = 0;
         try {
+            final FileChannel source = getFileChannel(input);
+            final FileChannel target = source == null ? null : getFileChannel(output);
+            if (target != null) {
+                // file to file, let the kernel copy
+                output.flush();
+                return transfer(source, target);
+            }
             // This read/write code from Apache Commons IO
             final byte[] buffer = new byte[bufferSize];
             int n;
@@ -866,4 +895,39 @@ public final class DefaultFileContent implements FileContent {
         }
         return count;
     }
+
+    /**
+     * Copies a whole file from one channel to another.
+     */
+    private static long transfer(final FileChannel source, final FileChannel target) throws IOException {
+        final long size = source.size();
+        long position = 0;
+        while (position < size) {
+            final long count = source.transferTo(position, size - position, target);
+            if (count <= 0) {
+                // truncated meanwhile
+                break;
+            }
+            position += count;
+        }
+        return position;
+    }
+
+    /**
+     * Gets the channel of a stream reading or writing a local file directly.
+     *
+     * @return the channel, or null if the stream does not access a local file.
+     */
+    private static FileChannel getFileChannel(final Closeable stream) {
+        if (stream instanceof FileContentInputStream) {
+            return ((FileContentInputStream) stream).getFileChannel();
+        }
+        if (stream instanceof FileContentOutputStream) {
+            return ((FileContentOutputStream) stream).getFileChannel();
+        }
+        if (stream instanceof FileOutputStream) {
+            return ((FileOutputStream) stream).getChannel();
+        }
+        return null;
+    }
 }
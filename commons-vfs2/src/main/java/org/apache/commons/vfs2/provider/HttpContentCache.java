@@ -0,0 +1,630 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A size bounded cache of the content of HTTP resources, revalidated with conditional requests.
+ * <p>
+ * The content is kept in memory up to a maximum size. The least recently used entries then move to a directory on
+ * disk if one is given, which is bounded by its own maximum size. Content larger than the memory tier goes straight to
+ * disk.
+ * </p>
+ * <p>
+ * Responses are stored unless {@code Cache-Control: no-store} forbids it. They also need a validator ({@code ETag} or
+ * {@code Last-Modified}), or a {@code max-age}. An entry is fresh for its {@code max-age} and is served without a
+ * request. After that, or with {@code no-cache}, it is revalidated with {@code If-None-Match} and
+ * {@code If-Modified-Since}. A {@code 304 Not Modified} answer then serves the stored content.
+ * </p>
+ * <p>
+ * The cache does not depend on an HTTP client, the providers pass it the response headers by name. It is thread-safe.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+public final class HttpContentCache implements Closeable {
+
+    /**
+     * A cached response.
+     */
+    public static final class Entry {
+
+        private final String uri;
+        private final Map<String, String> headers;
+        private final long length;
+        private volatile long freshUntilMillis;
+
+        /** The content in memory, or null. Guarded by the cache. */
+        private byte[] data;
+
+        /** The content on disk, or null. Guarded by the cache. */
+        private Path file;
+
+        /** Whether the content is being moved to disk. Guarded by the cache. */
+        private boolean spilling;
+
+        private Entry(final String uri, final Map<String, String> headers, final long length,
+                final long freshUntilMillis) {
+            this.uri = uri;
+            this.headers = headers;
+            this.length = length;
+            this.freshUntilMillis = freshUntilMillis;
+        }
+
+        /**
+         * Gets the {@code ETag} of the response.
+         *
+         * @return the entity tag, or null.
+         */
+        public String getETag() {
+            return headers.get(ETAG);
+        }
+
+        /**
+         * Gets a stored response header.
+         *
+         * @param name The header name, case insensitive.
+         * @return the header value, or null.
+         */
+        public String getHeader(final String name) {
+            return headers.get(name);
+        }
+
+        /**
+         * Gets the stored response headers, {@code Content-Length} included.
+         *
+         * @return the headers by name.
+         */
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Gets the {@code Last-Modified} date of the response.
+         *
+         * @return the date as sent by the server, or null.
+         */
+        public String getLastModified() {
+            return headers.get(LAST_MODIFIED);
+        }
+
+        /**
+         * Gets the length of the content.
+         *
+         * @return the length of the content.
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * Gets the URI of the resource.
+         *
+         * @return the URI of the resource.
+         */
+        public String getUri() {
+            return uri;
+        }
+
+        /**
+         * Tests whether the entry can be used without revalidating it.
+         *
+         * @return whether the entry is fresh.
+         */
+        public boolean isFresh() {
+            return System.currentTimeMillis() < freshUntilMillis;
+        }
+    }
+
+    /**
+     * Reads a response, storing its content once it has been read to the end.
+     */
+    private final class StoringInputStream extends FilterInputStream {
+
+        private final Entry entry;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileOutput;
+        private long count;
+        private boolean done;
+
+        StoringInputStream(final InputStream input, final Entry entry) {
+            super(input);
+            this.entry = entry;
+        }
+
+        /**
+         * Stops storing, dropping what was copied so far.
+         */
+        private void abandon() {
+            done = true;
+            memory = null;
+            if (fileOutput != null) {
+                try {
+                    fileOutput.close();
+                } catch (final IOException e) {
+                    // ignore, the file is deleted
+                }
+                fileOutput = null;
+            }
+            deleteQuietly(file);
+            file = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!done) {
+                    abandon();
+                }
+            }
+        }
+
+        private void copy(final byte[] buffer, final int offset, final int length) {
+            if (done) {
+                return;
+            }
+            try {
+                count += length;
+                if (memory != null && count > maxMemorySize) {
+                    if (directory == null || count > maxDiskSize) {
+                        abandon();
+                        return;
+                    }
+                    // too large for memory, continue on disk
+                    file = Files.createTempFile(directory, "content", ".tmp");
+                    fileOutput = Files.newOutputStream(file);
+                    memory.writeTo(fileOutput);
+                    memory = null;
+                } else if (fileOutput != null && count > maxDiskSize) {
+                    abandon();
+                    return;
+                }
+                if (memory != null) {
+                    memory.write(buffer, offset, length);
+                } else {
+                    fileOutput.write(buffer, offset, length);
+                }
+                if (count == entry.length) {
+                    // readers knowing the length may not read to the end of the stream
+                    end();
+                }
+            } catch (final IOException e) {
+                // the response is still read, only not stored
+                abandon();
+            }
+        }
+
+        private void end() {
+            if (done) {
+                return;
+            }
+            if (entry.length >= 0 && entry.length != count) {
+                abandon();
+                return;
+            }
+            done = true;
+            try {
+                if (fileOutput != null) {
+                    fileOutput.close();
+                    fileOutput = null;
+                }
+            } catch (final IOException e) {
+                abandon();
+                return;
+            }
+            final Entry stored = new Entry(entry.uri, withLength(entry.headers, count), count,
+                    entry.freshUntilMillis);
+            stored.data = memory != null ? memory.toByteArray() : null;
+            stored.file = file;
+            memory = null;
+            file = null;
+            spill(put(stored));
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b < 0) {
+                end();
+            } else {
+                copy(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int n = super.read(buffer, offset, length);
+            if (n < 0) {
+                end();
+            } else {
+                copy(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            // skipped bytes cannot be stored
+            abandon();
+            return super.skip(n);
+        }
+    }
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String ETAG = "ETag";
+
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * The response headers stored with the content.
+     */
+    private static final String[] STORED_HEADERS = {"Accept-Ranges", "Content-Encoding", "Content-Language",
+        "Content-Type", ETAG, LAST_MODIFIED};
+
+    private static void deleteQuietly(final Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                // ignore, deleted with the directory
+            }
+        }
+    }
+
+    /**
+     * Gets how long a response may be used without revalidating it.
+     *
+     * @param cacheControl The {@code Cache-Control} header, or null.
+     * @return the time in milliseconds, 0 to always revalidate, or -1 if the response must not be stored.
+     */
+    static long getMaxAgeMillis(final String cacheControl) {
+        if (cacheControl == null) {
+            return 0;
+        }
+        long maxAgeMillis = 0;
+        boolean noCache = false;
+        for (final String token : cacheControl.split(",")) {
+            final String directive = token.trim().toLowerCase(Locale.ROOT);
+            if (directive.equals("no-store")) {
+                return -1;
+            }
+            if (directive.equals("no-cache") || directive.startsWith("no-cache=")) {
+                noCache = true;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    maxAgeMillis = Math.max(0, Long.parseLong(directive.substring(8).replace("\"", "").trim())) * 1000;
+                } catch (final NumberFormatException e) {
+                    maxAgeMillis = 0;
+                }
+            }
+        }
+        return noCache ? 0 : maxAgeMillis;
+    }
+
+    private static Map<String, String> withLength(final Map<String, String> headers, final long length) {
+        final Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(headers);
+        copy.put(CONTENT_LENGTH, Long.toString(length));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private final long maxMemorySize;
+    private final long maxDiskSize;
+    private final Path directory;
+
+    /** The entries, least recently used first. Guarded by this. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Guarded by this. */
+    private long memorySize;
+
+    /** Guarded by this. */
+    private long diskSize;
+
+    /** The size of the content being moved to disk, still counted in memory. Guarded by this. */
+    private long spillingSize;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxMemorySize The maximum size of the content kept in memory.
+     * @param directory The directory in which to create the disk tier, or null to keep the content in memory only.
+     * @param maxDiskSize The maximum size of the content kept on disk.
+     * @throws IOException if the disk tier cannot be created.
+     */
+    public HttpContentCache(final long maxMemorySize, final File directory, final long maxDiskSize)
+            throws IOException {
+        this.maxMemorySize = Math.max(0, maxMemorySize);
+        this.maxDiskSize = directory == null ? 0 : Math.max(0, maxDiskSize);
+        if (directory != null && this.maxDiskSize > 0) {
+            Files.createDirectories(directory.toPath());
+            this.directory = Files.createTempDirectory(directory.toPath(), "vfs-http-cache");
+        } else {
+            this.directory = null;
+        }
+    }
+
+    /**
+     * Empties the cache and deletes its disk tier.
+     */
+    @Override
+    public synchronized void close() {
+        for (final Entry entry : entries.values()) {
+            // also tells the entries being moved to disk that they are gone
+            drop(entry);
+        }
+        entries.clear();
+        memorySize = 0;
+        diskSize = 0;
+        deleteQuietly(directory);
+    }
+
+    /**
+     * Removes an entry. Guarded by this.
+     */
+    private void drop(final Entry entry) {
+        if (entry.data != null) {
+            memorySize -= entry.data.length;
+            entry.data = null;
+        }
+        if (entry.file != null) {
+            diskSize -= entry.length;
+            deleteQuietly(entry.file);
+            entry.file = null;
+        }
+    }
+
+    /**
+     * Selects the least recently used entries to move to disk, and removes those which do not fit there, until both
+     * tiers fit. Guarded by this.
+     *
+     * @return the entries to move to disk with {@link #spill(List)}.
+     */
+    private List<Entry> evict() {
+        final List<Entry> spilled = new ArrayList<>();
+        for (final Iterator<Entry> iterator = entries.values().iterator(); memorySize - spillingSize > maxMemorySize
+                && iterator.hasNext();) {
+            final Entry entry = iterator.next();
+            if (entry.data == null || entry.spilling) {
+                continue;
+            }
+            if (directory != null && entry.length <= maxDiskSize) {
+                entry.spilling = true;
+                spillingSize += entry.length;
+                spilled.add(entry);
+                continue;
+            }
+            drop(entry);
+            iterator.remove();
+        }
+        evictDisk();
+        return spilled;
+    }
+
+    /**
+     * Removes the least recently used entries on disk until the disk tier fits. Guarded by this.
+     */
+    private void evictDisk() {
+        for (final Iterator<Entry> iterator = entries.values().iterator(); diskSize > maxDiskSize
+                && iterator.hasNext();) {
+            final Entry entry = iterator.next();
+            if (entry.file != null) {
+                drop(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the entry of a resource.
+     *
+     * @param uri The URI of the resource.
+     * @return the entry, fresh or not, or null.
+     */
+    public synchronized Entry get(final String uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Gets the size of the content on disk.
+     *
+     * @return the size of the content on disk.
+     */
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    /**
+     * Gets the size of the content in memory.
+     *
+     * @return the size of the content in memory.
+     */
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Opens the content of an entry.
+     *
+     * @param entry The entry.
+     * @return a stream of the content, or null if the entry has been evicted.
+     * @throws IOException if the content on disk cannot be opened.
+     */
+    public synchronized InputStream openStream(final Entry entry) throws IOException {
+        if (entry.data != null) {
+            return new ByteArrayInputStream(entry.data);
+        }
+        if (entry.file != null) {
+            return Files.newInputStream(entry.file);
+        }
+        return null;
+    }
+
+    /**
+     * Adds an entry, replacing the previous one of its resource.
+     */
+    private synchronized List<Entry> put(final Entry entry) {
+        final Entry previous = entries.remove(entry.uri);
+        if (previous != null) {
+            drop(previous);
+        }
+        entries.put(entry.uri, entry);
+        if (entry.data != null) {
+            memorySize += entry.data.length;
+        } else {
+            diskSize += entry.length;
+        }
+        return evict();
+    }
+
+    /**
+     * Removes the entry of a resource.
+     *
+     * @param uri The URI of the resource.
+     */
+    public synchronized void remove(final String uri) {
+        final Entry entry = entries.remove(uri);
+        if (entry != null) {
+            drop(entry);
+        }
+    }
+
+    /**
+     * Records that the server answered {@code 304 Not Modified} for an entry.
+     *
+     * @param entry The revalidated entry.
+     * @param cacheControl The {@code Cache-Control} header of the answer, or null.
+     */
+    public void revalidated(final Entry entry, final String cacheControl) {
+        final long maxAgeMillis = getMaxAgeMillis(cacheControl);
+        if (maxAgeMillis < 0) {
+            remove(entry.uri);
+        } else {
+            entry.freshUntilMillis = System.currentTimeMillis() + maxAgeMillis;
+        }
+    }
+
+    /**
+     * Writes the content of entries selected by {@link #evict()} to disk. Runs without the lock of the cache, so that
+     * reads and other responses do not wait for the disk.
+     */
+    private void spill(final List<Entry> spilled) {
+        for (final Entry entry : spilled) {
+            final byte[] data;
+            synchronized (this) {
+                data = entry.data;
+            }
+            Path file = null;
+            if (data != null) {
+                try {
+                    file = Files.createTempFile(directory, "content", ".tmp");
+                    Files.write(file, data);
+                } catch (final IOException e) {
+                    // drop it instead
+                    deleteQuietly(file);
+                    file = null;
+                }
+            }
+            spilled(entry, file);
+        }
+    }
+
+    /**
+     * Moves the content of an entry to the file it has been written to.
+     *
+     * @param entry The entry.
+     * @param file The file holding the content, or null if it could not be written.
+     */
+    private synchronized void spilled(final Entry entry, final Path file) {
+        entry.spilling = false;
+        spillingSize -= entry.length;
+        if (entry.data == null) {
+            // removed or replaced meanwhile
+            deleteQuietly(file);
+            return;
+        }
+        if (file == null) {
+            drop(entry);
+            entries.remove(entry.uri);
+            return;
+        }
+        memorySize -= entry.data.length;
+        entry.data = null;
+        entry.file = file;
+        diskSize += entry.length;
+        evictDisk();
+    }
+
+    /**
+     * Stores a response as it is read.
+     * <p>
+     * The content is stored once the returned stream has been read to its end, or up to the content length when it is
+     * known. It is not stored if the stream is closed before. A response which must not be stored removes the previous
+     * entry of its resource.
+     * </p>
+     *
+     * @param uri The URI of the resource.
+     * @param headers The response headers by name.
+     * @param cacheControl The {@code Cache-Control} header, or null.
+     * @param contentLength The length of the content, or -1 if unknown.
+     * @param content The content of the response.
+     * @return the stream to read the content from.
+     */
+    public InputStream store(final String uri, final Map<String, String> headers, final String cacheControl,
+            final long contentLength, final InputStream content) {
+        final long maxAgeMillis = getMaxAgeMillis(cacheControl);
+        final Map<String, String> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final String name : STORED_HEADERS) {
+            for (final Map.Entry<String, String> header : headers.entrySet()) {
+                if (name.equalsIgnoreCase(header.getKey())) {
+                    stored.put(name, header.getValue());
+                }
+            }
+        }
+        final boolean validated = stored.containsKey(ETAG) || stored.containsKey(LAST_MODIFIED);
+        if (maxAgeMillis < 0 || !validated && maxAgeMillis == 0
+                || contentLength > Math.max(maxMemorySize, maxDiskSize)) {
+            remove(uri);
+            return content;
+        }
+        final Entry entry = new Entry(uri, stored, contentLength, System.currentTimeMillis() + maxAgeMillis);
+        return new StoringInputStream(content, entry);
+    }
+}
@@ -281,6 +281,12 @@ public class FTPClientWrapper implements FtpClient {
         getFtpClient().setBufferSize(bufferSize);
     }
 
+    @Override
+    public boolean sendNoOp() throws IOException {
+        // do not reconnect, the point is to find out whether the connection is alive
+        return ftpClient != null && ftpClient.sendNoOp();
+    }
+
     @Override
     public OutputStream storeFileStream(final String relPath) throws IOException {
         try {
@@ -64,6 +64,18 @@ public interface FtpClient {
 
     InputStream retrieveFileStream(String relPath, long restartOffset) throws IOException;
 
+    /**
+     * Sends a NOOP command to the server, to check the connection or keep it alive.
+     *
+     * @return true if the server answered positively.
+     * @throws IOException if an I/O error occurs.
+     * @since 2.8.0
+     */
+    default boolean sendNoOp() throws IOException {
+        // Backward compatibility: assume the connection is alive.
+        return isConnected();
+    }
+
     default void setBufferSize(final int bufferSize) throws FileSystemException {
         // Backward compatibility: do nothing.
     }
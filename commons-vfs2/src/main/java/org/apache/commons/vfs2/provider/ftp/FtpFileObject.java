@@ -238,7 +238,8 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
             if (tmpChildren == null || tmpChildren.length == 0) {
                 children = EMPTY_FTP_FILE_MAP;
             } else {
-                children = new TreeMap<>();
+                // filled before it is published
+                final Map<String, FTPFile> newChildren = new TreeMap<>();
 
                 // Remove '.' and '..' elements
                 for (int i = 0; i < tmpChildren.length; i++) {
@@ -251,9 +252,10 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
                         continue;
                     }
                     if (!".".equals(child.getName()) && !"..".equals(child.getName())) {
-                        children.put(child.getName(), child);
+                        newChildren.put(child.getName(), child);
                     }
                 }
+                children = newChildren;
             }
         } finally {
             getAbstractFileSystem().putClient(client);
@@ -391,18 +393,21 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected String[] doListChildren() throws Exception {
-        // List the children of this file
-        doGetChildren();
+        synchronized (getFileSystem()) {
+            // List the children of this file
+            doGetChildren();
 
-        // VFS-210
-        if (children == null) {
-            return null;
-        }
+            // VFS-210
+            final Map<String, FTPFile> children = this.children;
+            if (children == null) {
+                return null;
+            }
 
-        // TODO - get rid of this children stuff
-        final String[] childNames = children.values().stream().map(FTPFile::getName).toArray(String[]::new);
+            // TODO - get rid of this children stuff
+            final String[] childNames = children.values().stream().map(FTPFile::getName).toArray(String[]::new);
 
-        return UriParser.encode(childNames);
+            return UriParser.encode(childNames);
+        }
     }
 
     @Override
@@ -465,6 +470,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
 
         // Look for the requested child
         // VFS-210 adds the null check.
+        final Map<String, FTPFile> children = this.children;
         return children != null ? children.get(name) : null;
     }
 
@@ -527,6 +533,14 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         return linkDestination;
     }
 
+    /**
+     * FTP file objects share the cached listings of their parents, guarded by the file system monitor.
+     */
+    @Override
+    protected Object getLock() {
+        return getFileSystem();
+    }
+
     String getRelPath() {
         return relPath;
     }
@@ -566,6 +580,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected void onChildrenChanged(final FileName child, final FileType newType) {
+        final Map<String, FTPFile> children = this.children;
         if (children != null && newType.equals(FileType.IMAGINARY)) {
             try {
                 children.remove(UriParser.decode(child.getBaseName()));
@@ -575,7 +590,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         } else {
             // if child was added we have to rescan the children
             // TODO - get rid of this
-            children = null;
+            this.children = null;
         }
     }
 
@@ -18,7 +18,6 @@ package org.apache.commons.vfs2.provider.ftp;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -29,6 +28,7 @@ import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.VfsLog;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ConnectionPool;
 import org.apache.commons.vfs2.provider.GenericFileName;
 
 /**
@@ -43,8 +43,8 @@ public class FtpFileSystem extends AbstractFileSystem {
     // private final String username;
     // private final String password;
 
-    // An idle client
-    private final AtomicReference<FtpClient> idleClient = new AtomicReference<>();
+    // The idle clients
+    private final ConnectionPool<FtpClient> clientPool;
 
     /**
      * @param rootName The root of the file system.
@@ -58,16 +58,49 @@ public class FtpFileSystem extends AbstractFileSystem {
         // hostname = rootName.getHostName();
         // port = rootName.getPort();
 
-        idleClient.set(ftpClient);
+        final FtpFileSystemConfigBuilder builder = FtpFileSystemConfigBuilder.getInstance();
+        clientPool = new ConnectionPool.Builder<>(new ConnectionPool.Connector<FtpClient>() {
+            @Override
+            public FtpClient connect() throws FileSystemException {
+                return createWrapper();
+            }
+
+            @Override
+            public void disconnect(final FtpClient client) {
+                closeConnection(client);
+            }
+
+            @Override
+            public boolean isConnected(final FtpClient client) {
+                try {
+                    return client.isConnected();
+                } catch (final FileSystemException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean validate(final FtpClient client) {
+                try {
+                    return client.sendNoOp();
+                } catch (final IOException e) {
+                    return false;
+                }
+            }
+        }).setExhaustedCode("vfs.provider.ftp/client-pool-exhausted.error")
+                .setMaxTotal(builder.getClientPoolMaxTotal(fileSystemOptions).intValue())
+                .setMaxIdle(builder.getClientPoolMaxIdle(fileSystemOptions).intValue())
+                .setMaxWait(builder.getClientPoolMaxWait(fileSystemOptions))
+                .setIdleTimeout(builder.getClientPoolIdleTimeout(fileSystemOptions))
+                .setKeepAliveInterval(builder.getClientPoolKeepAliveInterval(fileSystemOptions))
+                .setValidateOnBorrow(builder.isClientPoolValidateOnBorrow(fileSystemOptions)).build();
+        clientPool.add(ftpClient);
     }
 
     @Override
     protected void doCloseCommunicationLink() {
-        final FtpClient idle = idleClient.getAndSet(null);
-        // Clean up the connection
-        if (idle != null) {
-            closeConnection(idle);
-        }
+        // Clean up the connections
+        clientPool.clear();
     }
 
     /**
@@ -102,13 +135,7 @@ public class FtpFileSystem extends AbstractFileSystem {
      * @throws FileSystemException if an error occurs.
      */
     public FtpClient getClient() throws FileSystemException {
-        FtpClient client = idleClient.getAndSet(null);
-
-        if (client == null || !client.isConnected()) {
-            client = createWrapper();
-        }
-
-        return client;
+        return clientPool.borrowConnection();
     }
 
     /**
@@ -128,11 +155,58 @@ public class FtpFileSystem extends AbstractFileSystem {
      * @param client The FTPClient.
      */
     public void putClient(final FtpClient client) {
-        // Save client for reuse if none is idle.
-        if (!idleClient.compareAndSet(null, client)) {
-            // An idle client is already present so close the connection.
-            closeConnection(client);
-        }
+        // Save client for reuse, or close the connection if enough are idle.
+        clientPool.returnConnection(client);
+    }
+
+    /**
+     * Gets the number of clients borrowed so far.
+     *
+     * @return the number of {@link #getClient()} calls.
+     * @since 2.8.0
+     */
+    public long getClientBorrowCount() {
+        return clientPool.getBorrowCount();
+    }
+
+    /**
+     * Gets the total time spent borrowing clients, including waiting for a free one and logging in new ones.
+     *
+     * @return the total borrow time in nanoseconds.
+     * @since 2.8.0
+     */
+    public long getClientBorrowWaitNanos() {
+        return clientPool.getBorrowWaitNanos();
+    }
+
+    /**
+     * Gets the number of clients connected and logged in so far, not counting the first one.
+     *
+     * @return the number of clients created.
+     * @since 2.8.0
+     */
+    public long getClientCreationCount() {
+        return clientPool.getCreationCount();
+    }
+
+    /**
+     * Gets the number of clients currently borrowed.
+     *
+     * @return the number of clients in use.
+     * @since 2.8.0
+     */
+    public int getActiveClientCount() {
+        return clientPool.getActiveCount();
+    }
+
+    /**
+     * Gets the number of idle clients in the pool.
+     *
+     * @return the number of idle clients.
+     * @since 2.8.0
+     */
+    public int getIdleClientCount() {
+        return clientPool.getIdleCount();
     }
 
     /**
@@ -38,6 +38,12 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
     private static final FtpFileSystemConfigBuilder BUILDER = new FtpFileSystemConfigBuilder();
 
     private static final String AUTODETECT_UTF8 = _PREFIX + ".AUTODETECT_UTF8";
+    private static final String CLIENT_POOL_IDLE_TIMEOUT = _PREFIX + ".CLIENT_POOL_IDLE_TIMEOUT";
+    private static final String CLIENT_POOL_KEEP_ALIVE_INTERVAL = _PREFIX + ".CLIENT_POOL_KEEP_ALIVE_INTERVAL";
+    private static final String CLIENT_POOL_MAX_IDLE = _PREFIX + ".CLIENT_POOL_MAX_IDLE";
+    private static final String CLIENT_POOL_MAX_TOTAL = _PREFIX + ".CLIENT_POOL_MAX_TOTAL";
+    private static final String CLIENT_POOL_MAX_WAIT = _PREFIX + ".CLIENT_POOL_MAX_WAIT";
+    private static final String CLIENT_POOL_VALIDATE_ON_BORROW = _PREFIX + ".CLIENT_POOL_VALIDATE_ON_BORROW";
     private static final String CONNECT_TIMEOUT_MILLIS = _PREFIX + ".CONNECT_TIMEOUT";
     private static final String DATA_TIMEOUT_MILLIS = _PREFIX + ".DATA_TIMEOUT";
     private static final String DEFAULT_DATE_FORMAT = _PREFIX + ".DEFAULT_DATE_FORMAT";
@@ -101,6 +107,56 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getBoolean(opts, AUTODETECT_UTF8);
     }
 
+    /**
+     * @param opts The FileSystem options.
+     * @return How long a pooled client may stay idle.
+     * @see #setClientPoolIdleTimeout
+     * @since 2.8.0
+     */
+    public Duration getClientPoolIdleTimeout(final FileSystemOptions opts) {
+        return getDuration(opts, CLIENT_POOL_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return How often a NOOP is sent on idle clients.
+     * @see #setClientPoolKeepAliveInterval
+     * @since 2.8.0
+     */
+    public Duration getClientPoolKeepAliveInterval(final FileSystemOptions opts) {
+        return getDuration(opts, CLIENT_POOL_KEEP_ALIVE_INTERVAL);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return The maximum number of idle clients kept for reuse, defaults to 1.
+     * @see #setClientPoolMaxIdle
+     * @since 2.8.0
+     */
+    public Integer getClientPoolMaxIdle(final FileSystemOptions opts) {
+        return getInteger(opts, CLIENT_POOL_MAX_IDLE, 1);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return The maximum number of connected clients, defaults to 0 for no limit.
+     * @see #setClientPoolMaxTotal
+     * @since 2.8.0
+     */
+    public Integer getClientPoolMaxTotal(final FileSystemOptions opts) {
+        return getInteger(opts, CLIENT_POOL_MAX_TOTAL, 0);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return How long to wait for a client when all are in use, null to wait indefinitely.
+     * @see #setClientPoolMaxWait
+     * @since 2.8.0
+     */
+    public Duration getClientPoolMaxWait(final FileSystemOptions opts) {
+        return getDuration(opts, CLIENT_POOL_MAX_WAIT);
+    }
+
     /**
      * Gets the timeout in milliseconds to use for the socket connection.
      *
@@ -269,6 +325,16 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getDuration(opts, CONTROL_KEEP_ALIVE_REPLY_TIMEOUT);
     }
     
+    /**
+     * @param opts The FileSystem options.
+     * @return true if a NOOP is sent on an idle client before it is reused.
+     * @see #setClientPoolValidateOnBorrow
+     * @since 2.8.0
+     */
+    public boolean isClientPoolValidateOnBorrow(final FileSystemOptions opts) {
+        return getBoolean(opts, CLIENT_POOL_VALIDATE_ON_BORROW, Boolean.FALSE).booleanValue();
+    }
+
     /**
      * Returns {@link Boolean#TRUE} if VFS should treat the user directory as the root directory. Defaults to
      * {@code Boolean.TRUE} if the method {@link #setUserDirIsRoot(FileSystemOptions, boolean)} has not been
@@ -303,6 +369,82 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         setParam(opts, AUTODETECT_UTF8, autodetectUTF8);
     }
 
+    /**
+     * Sets how long a pooled client may stay idle before its connection is closed. Idle clients are checked when
+     * clients are borrowed or returned, and by the keep alive if set. Defaults to no timeout.
+     *
+     * @param opts The FileSystem options.
+     * @param idleTimeout The idle timeout.
+     * @since 2.8.0
+     */
+    public void setClientPoolIdleTimeout(final FileSystemOptions opts, final Duration idleTimeout) {
+        setParam(opts, CLIENT_POOL_IDLE_TIMEOUT, idleTimeout);
+    }
+
+    /**
+     * Sets how often a NOOP is sent on the control connection of idle clients, so that the server does not drop them.
+     * Clients which do not answer are closed. Defaults to no keep alive.
+     *
+     * @param opts The FileSystem options.
+     * @param keepAliveInterval The keep alive interval.
+     * @since 2.8.0
+     */
+    public void setClientPoolKeepAliveInterval(final FileSystemOptions opts, final Duration keepAliveInterval) {
+        setParam(opts, CLIENT_POOL_KEEP_ALIVE_INTERVAL, keepAliveInterval);
+    }
+
+    /**
+     * Sets the maximum number of idle clients kept logged in for reuse, other returned clients are disconnected.
+     * Defaults to 1.
+     *
+     * @param opts The FileSystem options.
+     * @param maxIdle The maximum number of idle clients.
+     * @since 2.8.0
+     */
+    public void setClientPoolMaxIdle(final FileSystemOptions opts, final Integer maxIdle) {
+        setParam(opts, CLIENT_POOL_MAX_IDLE, maxIdle);
+    }
+
+    /**
+     * Sets the maximum number of clients connected at the same time, borrowed or idle. When reached, getting a client
+     * waits for another one to be returned. Defaults to 0, which does not limit the number of clients.
+     * <p>
+     * Note that an open input or output stream holds a client, so copying between files of the same file system needs
+     * at least two.
+     * </p>
+     *
+     * @param opts The FileSystem options.
+     * @param maxTotal The maximum number of clients.
+     * @since 2.8.0
+     */
+    public void setClientPoolMaxTotal(final FileSystemOptions opts, final Integer maxTotal) {
+        setParam(opts, CLIENT_POOL_MAX_TOTAL, maxTotal);
+    }
+
+    /**
+     * Sets how long to wait for a client when the maximum number of clients are in use, before failing. Defaults to
+     * waiting indefinitely.
+     *
+     * @param opts The FileSystem options.
+     * @param maxWait The maximum wait.
+     * @since 2.8.0
+     */
+    public void setClientPoolMaxWait(final FileSystemOptions opts, final Duration maxWait) {
+        setParam(opts, CLIENT_POOL_MAX_WAIT, maxWait);
+    }
+
+    /**
+     * Sets whether a NOOP is sent on an idle client before it is reused, instead of relying on the reconnect on
+     * failure. Defaults to false.
+     *
+     * @param opts The FileSystem options.
+     * @param validateOnBorrow true to check idle clients before reuse.
+     * @since 2.8.0
+     */
+    public void setClientPoolValidateOnBorrow(final FileSystemOptions opts, final boolean validateOnBorrow) {
+        setParam(opts, CLIENT_POOL_VALIDATE_ON_BORROW, toBooleanObject(validateOnBorrow));
+    }
+
     /**
      * Sets the timeout for the initial control connection.
      * <p>
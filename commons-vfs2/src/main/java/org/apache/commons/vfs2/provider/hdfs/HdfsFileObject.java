@@ -34,6 +34,7 @@ import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.fs.Path;
 
 /**
@@ -94,6 +95,20 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
         }
     }
 
+    /**
+     * Copies within the cluster, without going through the VFS streams.
+     *
+     * @see org.apache.commons.vfs2.provider.AbstractFileObject#doCopyFrom(FileObject)
+     * @since 2.8.0
+     */
+    @Override
+    protected void doCopyFrom(final FileObject srcFile) throws Exception {
+        final Path srcPath = new Path(srcFile.getName().getPath());
+        if (!FileUtil.copy(hdfs, srcPath, hdfs, this.path, false, true, hdfs.getConf())) {
+            throw new FileSystemException("vfs.provider/copy-file.error", srcFile, getName());
+        }
+    }
+
     /**
      * @see org.apache.commons.vfs2.provider.AbstractFileObject#doCreateFolder()
      * @since 2.7.0
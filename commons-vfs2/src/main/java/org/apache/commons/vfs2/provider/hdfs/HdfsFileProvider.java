@@ -45,7 +45,8 @@ public class HdfsFileProvider extends AbstractOriginatingFileProvider {
                     Capability.URI, Capability.GET_LAST_MODIFIED,
                     Capability.SET_LAST_MODIFIED_FILE,
                     Capability.ATTRIBUTES, Capability.RANDOM_ACCESS_READ, Capability.DIRECTORY_READ_CONTENT,
-                    Capability.LIST_CHILDREN));
+                    Capability.LIST_CHILDREN,
+                    Capability.COPY));
 
     /**
      * Constructs a new HdfsFileProvider.
@@ -19,6 +19,8 @@ package org.apache.commons.vfs2.provider.http4;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.vfs2.FileContentInfoFactory;
 import org.apache.commons.vfs2.FileNotFoundException;
@@ -29,17 +31,22 @@ import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.provider.GenericURLFileName;
+import org.apache.commons.vfs2.provider.HttpContentCache;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.URIUtils;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.protocol.HTTP;
 
 /**
@@ -63,10 +70,35 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
     private final URI internalURI;
 
     /**
-     * The last executed HEAD {@code HttpResponse} object.
+     * Whether the metadata is requested with HEAD rather than with a GET of the first byte.
+     */
+    private final boolean headRequestEnabled;
+
+    /**
+     * How long the metadata is kept after this file is detached.
+     */
+    private final long metadataTimeToLiveMillis;
+
+    /**
+     * The size of the blocks read by random access content.
+     */
+    private final int randomAccessBlockSize;
+
+    /**
+     * The number of blocks kept in memory by random access content.
+     */
+    private final int randomAccessMaxBlocks;
+
+    /**
+     * The headers of the last HEAD response, or of a later GET response.
      */
     private HttpResponse lastHeadResponse;
 
+    /**
+     * When {@link #lastHeadResponse} was received.
+     */
+    private long lastHeadResponseMillis;
+
     /**
      * Construct {@code Http4FileObject}.
      *
@@ -94,11 +126,25 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
         urlCharset = builder.getUrlCharset(fileSystemOptions);
         final String pathEncoded = ((GenericURLFileName) name).getPathQueryEncoded(getUrlCharset());
         internalURI = URIUtils.resolve(fileSystem.getInternalBaseURI(), pathEncoded);
+        headRequestEnabled = builder.isHeadRequestEnabled(fileSystemOptions);
+        metadataTimeToLiveMillis = builder.getMetadataTimeToLive(fileSystemOptions).toMillis();
+        randomAccessBlockSize = builder.getRandomAccessBlockSize(fileSystemOptions);
+        randomAccessMaxBlocks = builder.getRandomAccessMaxBlocks(fileSystemOptions);
     }
 
     @Override
     protected FileType doGetType() throws Exception {
-        lastHeadResponse = executeHttpUriRequest(new HttpHead(getInternalURI()));
+        if (lastHeadResponse == null
+                || System.currentTimeMillis() - lastHeadResponseMillis >= metadataTimeToLiveMillis) {
+            final HttpContentCache contentCache = getAbstractFileSystem().getContentCache();
+            final HttpContentCache.Entry entry = contentCache != null
+                    ? contentCache.get(getInternalURI().toString()) : null;
+            if (entry != null && entry.isFresh()) {
+                setLastHeadResponse(toHttpResponse(entry));
+            } else {
+                setLastHeadResponse(executeMetadataRequest());
+            }
+        }
         final int status = lastHeadResponse.getStatusLine().getStatusCode();
 
         if (status == HttpStatus.SC_OK
@@ -107,7 +153,8 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
         } else if (status == HttpStatus.SC_NOT_FOUND || status == HttpStatus.SC_GONE) {
             return FileType.IMAGINARY;
         } else {
-            throw new FileSystemException("vfs.provider.http/head.error", getName(), Integer.valueOf(status));
+            throw new FileSystemException(headRequestEnabled ? "vfs.provider.http/head.error"
+                    : "vfs.provider.http/get.error", getName(), Integer.valueOf(status));
         }
     }
 
@@ -141,6 +188,11 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
 
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
+        final HttpContentCache contentCache = getAbstractFileSystem().getContentCache();
+        if (contentCache != null) {
+            return getCachedInputStream(contentCache, bufferSize);
+        }
+
         final HttpGet getRequest = new HttpGet(getInternalURI());
         final HttpResponse httpResponse = executeHttpUriRequest(getRequest);
         final int status = httpResponse.getStatusLine().getStatusCode();
@@ -153,12 +205,13 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
             throw new FileSystemException("vfs.provider.http/get.error", getName(), Integer.valueOf(status));
         }
 
+        updateLastHeadResponse(httpResponse);
         return new MonitoredHttpResponseContentInputStream(httpResponse, bufferSize);
     }
 
     @Override
     protected RandomAccessContent doGetRandomAccessContent(final RandomAccessMode mode) throws Exception {
-        return new Http4RandomAccessContent<>(this, mode);
+        return new Http4RandomAccessContent<>(this, mode, randomAccessBlockSize, randomAccessMaxBlocks);
     }
 
     @Override
@@ -178,7 +231,141 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
 
     @Override
     protected void doDetach() throws Exception {
-        lastHeadResponse = null;
+        if (metadataTimeToLiveMillis <= 0) {
+            lastHeadResponse = null;
+        }
+    }
+
+    /**
+     * Requests the metadata of this file with HEAD, or with a GET of its first byte if HEAD is disabled.
+     *
+     * @return the response, with the headers of a full GET response.
+     */
+    private HttpResponse executeMetadataRequest() throws IOException {
+        if (headRequestEnabled) {
+            return executeHttpUriRequest(new HttpHead(getInternalURI()));
+        }
+        final HttpGet getRequest = new HttpGet(getInternalURI());
+        getRequest.setHeader(HttpHeaders.RANGE, "bytes=0-0");
+        final HttpResponse httpResponse = executeHttpUriRequest(getRequest);
+        try {
+            final int status = httpResponse.getStatusLine().getStatusCode();
+            if (status != HttpStatus.SC_PARTIAL_CONTENT && status != HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // not a range, the server sent the whole file
+                return toHttpResponse(status, httpResponse.getAllHeaders());
+            }
+            // the length of the file follows the slash of "bytes 0-0/length" or "bytes */length"
+            final Header contentRange = httpResponse.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+            final String length = contentRange != null
+                    ? contentRange.getValue().substring(contentRange.getValue().indexOf('/') + 1).trim() : "*";
+            final BasicHttpResponse headResponse = toHttpResponse(HttpStatus.SC_OK, httpResponse.getAllHeaders());
+            headResponse.removeHeaders(HttpHeaders.CONTENT_RANGE);
+            if (status == HttpStatus.SC_PARTIAL_CONTENT) {
+                headResponse.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            }
+            if (length.equals("*")) {
+                headResponse.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            } else {
+                headResponse.setHeader(HttpHeaders.CONTENT_LENGTH, length);
+            }
+            return headResponse;
+        } finally {
+            closeResponse(httpResponse);
+        }
+    }
+
+    private void setLastHeadResponse(final HttpResponse httpResponse) {
+        lastHeadResponse = httpResponse;
+        lastHeadResponseMillis = System.currentTimeMillis();
+    }
+
+    private static BasicHttpResponse toHttpResponse(final HttpContentCache.Entry entry) {
+        final BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, null);
+        entry.getHeaders().forEach(httpResponse::setHeader);
+        return httpResponse;
+    }
+
+    private static BasicHttpResponse toHttpResponse(final int status, final Header[] headers) {
+        final BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null);
+        httpResponse.setHeaders(headers);
+        return httpResponse;
+    }
+
+    /**
+     * Updates the metadata from the headers of a GET response, unless they lack the length of the file.
+     */
+    private void updateLastHeadResponse(final HttpResponse getResponse) {
+        if (getResponse.containsHeader(HttpHeaders.CONTENT_LENGTH)) {
+            setLastHeadResponse(toHttpResponse(HttpStatus.SC_OK, getResponse.getAllHeaders()));
+        }
+    }
+
+    /**
+     * Gets the content through the content cache, revalidating the cached content if it is not fresh.
+     */
+    private InputStream getCachedInputStream(final HttpContentCache contentCache, final int bufferSize)
+            throws IOException {
+        final String uri = getInternalURI().toString();
+        final HttpContentCache.Entry entry = contentCache.get(uri);
+        if (entry != null && entry.isFresh()) {
+            final InputStream cached = contentCache.openStream(entry);
+            if (cached != null) {
+                setLastHeadResponse(toHttpResponse(entry));
+                return cached;
+            }
+        }
+
+        final HttpGet getRequest = new HttpGet(getInternalURI());
+        if (entry != null) {
+            if (entry.getETag() != null) {
+                getRequest.setHeader(HttpHeaders.IF_NONE_MATCH, entry.getETag());
+            }
+            if (entry.getLastModified() != null) {
+                getRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+            }
+        }
+        final HttpResponse httpResponse = executeHttpUriRequest(getRequest);
+        final int status = httpResponse.getStatusLine().getStatusCode();
+        final Header cacheControl = httpResponse.getFirstHeader(HttpHeaders.CACHE_CONTROL);
+
+        if (status == HttpStatus.SC_NOT_MODIFIED && entry != null) {
+            closeResponse(httpResponse);
+            contentCache.revalidated(entry, cacheControl != null ? cacheControl.getValue() : null);
+            final InputStream cached = contentCache.openStream(entry);
+            if (cached != null) {
+                setLastHeadResponse(toHttpResponse(entry));
+                return cached;
+            }
+            // evicted since, download it again
+            contentCache.remove(uri);
+            return getCachedInputStream(contentCache, bufferSize);
+        }
+
+        if (status == HttpStatus.SC_NOT_FOUND) {
+            closeResponse(httpResponse);
+            contentCache.remove(uri);
+            throw new FileNotFoundException(getName());
+        }
+
+        if (status != HttpStatus.SC_OK) {
+            closeResponse(httpResponse);
+            throw new FileSystemException("vfs.provider.http/get.error", getName(), Integer.valueOf(status));
+        }
+
+        updateLastHeadResponse(httpResponse);
+        final Map<String, String> headers = new HashMap<>();
+        for (final Header header : httpResponse.getAllHeaders()) {
+            headers.putIfAbsent(header.getName(), header.getValue());
+        }
+        return contentCache.store(uri, headers, cacheControl != null ? cacheControl.getValue() : null,
+                httpResponse.getEntity().getContentLength(),
+                new MonitoredHttpResponseContentInputStream(httpResponse, bufferSize));
+    }
+
+    private static void closeResponse(final HttpResponse httpResponse) throws IOException {
+        if (httpResponse instanceof CloseableHttpResponse) {
+            ((CloseableHttpResponse) httpResponse).close();
+        }
     }
 
     /**
@@ -200,17 +387,16 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
     }
 
     /**
-     * Return the last executed HEAD {@code HttpResponse} object.
+     * Return the last executed HEAD {@code HttpResponse} object, or the headers of a later GET response.
      *
      * @return the last executed HEAD {@code HttpResponse} object
      * @throws IOException if IO error occurs
      */
     HttpResponse getLastHeadResponse() throws IOException {
-        if (lastHeadResponse != null) {
-            return lastHeadResponse;
+        if (lastHeadResponse == null) {
+            setLastHeadResponse(executeMetadataRequest());
         }
-
-        return executeHttpUriRequest(new HttpHead(getInternalURI()));
+        return lastHeadResponse;
     }
 
     /**
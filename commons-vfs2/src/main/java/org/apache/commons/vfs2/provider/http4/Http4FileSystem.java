@@ -16,6 +16,7 @@
  */
 package org.apache.commons.vfs2.provider.http4;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
@@ -23,9 +24,11 @@ import java.util.Collection;
 import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.HttpContentCache;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -37,6 +40,18 @@ import org.apache.http.impl.client.CloseableHttpClient;
  */
 public class Http4FileSystem extends AbstractFileSystem {
 
+    /**
+     * Holds the content cache, or null if it is not enabled.
+     */
+    private static final class ContentCacheHolder {
+
+        private final HttpContentCache contentCache;
+
+        private ContentCacheHolder(final HttpContentCache contentCache) {
+            this.contentCache = contentCache;
+        }
+    }
+
     /**
      * Internal base URI of this file system.
      */
@@ -52,6 +67,11 @@ public class Http4FileSystem extends AbstractFileSystem {
      */
     private final HttpClientContext httpClientContext;
 
+    /**
+     * Holds the content cache once created, read without locking. Created and cleared under the lock of this.
+     */
+    private volatile ContentCacheHolder contentCacheHolder;
+
     /**
      * Construct {@code Http4FileSystem}.
      *
@@ -91,6 +111,13 @@ public class Http4FileSystem extends AbstractFileSystem {
 
     @Override
     protected void doCloseCommunicationLink() {
+        synchronized (this) {
+            final ContentCacheHolder holder = contentCacheHolder;
+            contentCacheHolder = null;
+            if (holder != null && holder.contentCache != null) {
+                holder.contentCache.close();
+            }
+        }
         if (httpClient instanceof CloseableHttpClient) {
             try {
                 ((CloseableHttpClient) httpClient).close();
@@ -100,6 +127,41 @@ public class Http4FileSystem extends AbstractFileSystem {
         }
     }
 
+    /**
+     * Returns the content cache, if enabled with {@link Http4FileSystemConfigBuilder#setContentCacheMaxMemorySize} or
+     * {@link Http4FileSystemConfigBuilder#setContentCacheDirectory}.
+     *
+     * @return the content cache, or null.
+     * @throws FileSystemException if the disk tier of the cache cannot be created.
+     */
+    HttpContentCache getContentCache() throws FileSystemException {
+        final ContentCacheHolder holder = contentCacheHolder;
+        return holder != null ? holder.contentCache : createContentCache();
+    }
+
+    /**
+     * Creates the content cache unless another thread did.
+     */
+    private synchronized HttpContentCache createContentCache() throws FileSystemException {
+        if (contentCacheHolder == null) {
+            final Http4FileSystemConfigBuilder builder = Http4FileSystemConfigBuilder.getInstance();
+            final FileSystemOptions fileSystemOptions = getFileSystemOptions();
+            final long maxMemorySize = builder.getContentCacheMaxMemorySize(fileSystemOptions);
+            final File directory = builder.getContentCacheDirectory(fileSystemOptions);
+            final long maxDiskSize = builder.getContentCacheMaxDiskSize(fileSystemOptions);
+            HttpContentCache contentCache = null;
+            if (maxMemorySize > 0 || directory != null && maxDiskSize > 0) {
+                try {
+                    contentCache = new HttpContentCache(maxMemorySize, directory, maxDiskSize);
+                } catch (final IOException e) {
+                    throw new FileSystemException("vfs.provider.http/create-content-cache.error", e, directory);
+                }
+            }
+            contentCacheHolder = new ContentCacheHolder(contentCache);
+        }
+        return contentCacheHolder.contentCache;
+    }
+
     /**
      * Return the internal {@link HttpClient} instance.
      *
@@ -16,124 +16,70 @@
  */
 package org.apache.commons.vfs2.provider.http4;
 
-import java.io.DataInputStream;
-import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 
 import org.apache.commons.vfs2.FileSystemException;
-import org.apache.commons.vfs2.provider.AbstractRandomAccessStreamContent;
+import org.apache.commons.vfs2.provider.AbstractRandomAccessBlockContent;
 import org.apache.commons.vfs2.util.MonitorInputStream;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 
 /**
  * RandomAccess content using {@code Http4FileObject}.
  */
-class Http4RandomAccessContent<FS extends Http4FileSystem> extends AbstractRandomAccessStreamContent {
-
-    protected long filePointer;
+class Http4RandomAccessContent<FS extends Http4FileSystem> extends AbstractRandomAccessBlockContent {
 
     private final Http4FileObject<FS> fileObject;
 
-    private DataInputStream dis;
-    private MonitorInputStream mis;
-
-    Http4RandomAccessContent(final Http4FileObject<FS> fileObject, final RandomAccessMode mode) {
-        super(mode);
+    Http4RandomAccessContent(final Http4FileObject<FS> fileObject, final RandomAccessMode mode, final int blockSize,
+            final int maxBlocks) {
+        super(mode, blockSize, maxBlocks);
         this.fileObject = fileObject;
     }
 
     @Override
-    public long getFilePointer() throws IOException {
-        return filePointer;
-    }
-
-    @Override
-    public void seek(final long pos) throws IOException {
-        if (pos == filePointer) {
-            // no change
-            return;
-        }
-
-        if (pos < 0) {
-            throw new FileSystemException("vfs.provider/random-access-invalid-position.error", Long.valueOf(pos));
-        }
-
-        if (dis != null) {
-            close();
-        }
-
-        filePointer = pos;
-    }
-
-    @Override
-    protected DataInputStream getDataInputStream() throws IOException {
-        if (dis != null) {
-            return dis;
-        }
-
+    protected InputStream openRange(final long position, final int length) throws IOException {
+        final String range = position + "-" + (position + length - 1);
         final HttpGet httpGet = new HttpGet(fileObject.getInternalURI());
-        httpGet.setHeader("Range", "bytes=" + filePointer + "-");
+        httpGet.setHeader("Range", "bytes=" + range);
         final HttpResponse httpResponse = fileObject.executeHttpUriRequest(httpGet);
         final int status = httpResponse.getStatusLine().getStatusCode();
 
-        if (status != HttpURLConnection.HTTP_PARTIAL && status != HttpURLConnection.HTTP_OK) {
-            throw new FileSystemException("vfs.provider.http/get-range.error", fileObject.getName(),
-                    Long.valueOf(filePointer), Integer.valueOf(status));
+        if (status == HttpURLConnection.HTTP_PARTIAL) {
+            return new MonitoredHttpResponseContentInputStream(httpResponse);
         }
 
-        mis = new MonitoredHttpResponseContentInputStream(httpResponse);
-
-        // If the range request was ignored
-        if (status == HttpURLConnection.HTTP_OK) {
-            final long skipped = mis.skip(filePointer);
-            if (skipped != filePointer) {
-                throw new FileSystemException("vfs.provider.http/get-range.error", fileObject.getName(),
-                        Long.valueOf(filePointer), Integer.valueOf(status));
+        if (status != HttpURLConnection.HTTP_OK) {
+            if (httpResponse instanceof CloseableHttpResponse) {
+                ((CloseableHttpResponse) httpResponse).close();
             }
-        }
-
-        dis = new DataInputStream(new FilterInputStream(mis) {
-            @Override
-            public int read() throws IOException {
-                final int ret = super.read();
-                if (ret > -1) {
-                    filePointer++;
-                }
-                return ret;
-            }
-
-            @Override
-            public int read(final byte[] b) throws IOException {
-                final int ret = super.read(b);
-                if (ret > -1) {
-                    filePointer += ret;
-                }
-                return ret;
+            if (status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // past the end of the file
+                return null;
             }
+            throw new FileSystemException("vfs.provider.http/get-range.error", fileObject.getName(), range,
+                    Integer.valueOf(status));
+        }
 
-            @Override
-            public int read(final byte[] b, final int off, final int len) throws IOException {
-                final int ret = super.read(b, off, len);
-                if (ret > -1) {
-                    filePointer += ret;
-                }
-                return ret;
+        // If the range request was ignored
+        final MonitorInputStream mis = new MonitoredHttpResponseContentInputStream(httpResponse);
+        long skipped = 0;
+        for (long n = 0; skipped < position; skipped += n) {
+            n = mis.skip(position - skipped);
+            if (n <= 0) {
+                break;
             }
-        });
-
-        return dis;
-    }
-
-    @Override
-    public void close() throws IOException {
-        if (dis != null) {
-            dis.close();
-            dis = null;
-            mis = null;
         }
+        if (skipped != position) {
+            mis.close();
+            return null;
+        }
+        return mis;
     }
 
     @Override
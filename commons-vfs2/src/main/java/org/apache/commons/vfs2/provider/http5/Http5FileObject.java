@@ -19,16 +19,22 @@ package org.apache.commons.vfs2.provider.http5;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileContentInfoFactory;
 import org.apache.commons.vfs2.FileNotFoundException;
+import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.provider.GenericURLFileName;
+import org.apache.commons.vfs2.provider.HttpContentCache;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpHead;
@@ -42,6 +48,7 @@ import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
 
 /**
  * A file object backed by Apache HttpComponents HttpClient v5.
@@ -64,10 +71,45 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
     private final URI internalURI;
 
     /**
-     * The last executed HEAD {@code HttpResponse} object.
+     * The number of ranges downloaded concurrently.
+     */
+    private final int downloadSegments;
+
+    /**
+     * The size of the ranges downloaded concurrently.
+     */
+    private final long downloadSegmentSize;
+
+    /**
+     * Whether the metadata is requested with HEAD rather than with a GET of the first byte.
+     */
+    private final boolean headRequestEnabled;
+
+    /**
+     * How long the metadata is kept after this file is detached.
+     */
+    private final long metadataTimeToLiveMillis;
+
+    /**
+     * The size of the blocks read by random access content.
+     */
+    private final int randomAccessBlockSize;
+
+    /**
+     * The number of blocks kept in memory by random access content.
+     */
+    private final int randomAccessMaxBlocks;
+
+    /**
+     * The headers of the last HEAD response, or of a later GET response.
      */
     private HttpResponse lastHeadResponse;
 
+    /**
+     * When {@link #lastHeadResponse} was received.
+     */
+    private long lastHeadResponseMillis;
+
     /**
      * Construct {@code Http4FileObject}.
      *
@@ -95,11 +137,67 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
         urlCharset = builder.getUrlCharset(fileSystemOptions);
         final String pathEncoded = ((GenericURLFileName) name).getPathQueryEncoded(getUrlCharset());
         internalURI = URIUtils.resolve(fileSystem.getInternalBaseURI(), pathEncoded);
+        downloadSegments = builder.getDownloadSegments(fileSystemOptions);
+        downloadSegmentSize = Math.min(builder.getDownloadSegmentSize(fileSystemOptions), Integer.MAX_VALUE - 8);
+        headRequestEnabled = builder.isHeadRequestEnabled(fileSystemOptions);
+        metadataTimeToLiveMillis = builder.getMetadataTimeToLive(fileSystemOptions).toMillis();
+        randomAccessBlockSize = builder.getRandomAccessBlockSize(fileSystemOptions);
+        randomAccessMaxBlocks = builder.getRandomAccessMaxBlocks(fileSystemOptions);
+    }
+
+    /**
+     * Downloads the content of this file to another file, replacing it if it exists.
+     * <p>
+     * When segmented downloads are enabled with {@link Http5FileSystemConfigBuilder#setDownloadSegments}, the server
+     * accepts range requests, and the destination supports random access writes, the ranges are downloaded
+     * concurrently and written straight to their position in the destination. Otherwise this is the same as
+     * {@code destFile.copyFrom(this, Selectors.SELECT_SELF)}.
+     * </p>
+     *
+     * @param destFile The file to download to.
+     * @throws FileSystemException if an error occurs.
+     * @since 2.8.0
+     */
+    public void downloadTo(final FileObject destFile) throws FileSystemException {
+        final Http5SegmentedDownload download;
+        try {
+            download = destFile.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_WRITE)
+                    && destFile.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)
+                            ? getSegmentedDownload() : null;
+        } catch (final IOException e) {
+            throw new FileSystemException("vfs.provider/copy-file.error", e, this, destFile);
+        }
+        if (download == null) {
+            destFile.copyFrom(this, Selectors.SELECT_SELF);
+            return;
+        }
+        if (destFile.exists()) {
+            destFile.deleteAll();
+        }
+        destFile.createFile();
+        try (RandomAccessContent content = destFile.getContent().getRandomAccessContent(RandomAccessMode.READWRITE)) {
+            if (destFile.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_SET_LENGTH)) {
+                content.setLength(download.getLength());
+            }
+            download.writeTo(content);
+        } catch (final IOException e) {
+            throw new FileSystemException("vfs.provider/copy-file.error", e, this, destFile);
+        }
     }
 
     @Override
     protected FileType doGetType() throws Exception {
-        lastHeadResponse = executeHttpUriRequest(new HttpHead(getInternalURI()));
+        if (lastHeadResponse == null
+                || System.currentTimeMillis() - lastHeadResponseMillis >= metadataTimeToLiveMillis) {
+            final HttpContentCache contentCache = getAbstractFileSystem().getContentCache();
+            final HttpContentCache.Entry entry = contentCache != null
+                    ? contentCache.get(getInternalURI().toString()) : null;
+            if (entry != null && entry.isFresh()) {
+                setLastHeadResponse(toHttpResponse(entry));
+            } else {
+                setLastHeadResponse(executeMetadataRequest());
+            }
+        }
         final int status = lastHeadResponse.getCode();
 
         if (status == HttpStatus.SC_OK
@@ -108,7 +206,8 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
         } else if (status == HttpStatus.SC_NOT_FOUND || status == HttpStatus.SC_GONE) {
             return FileType.IMAGINARY;
         } else {
-            throw new FileSystemException("vfs.provider.http/head.error", getName(), Integer.valueOf(status));
+            throw new FileSystemException(headRequestEnabled ? "vfs.provider.http/head.error"
+                    : "vfs.provider.http/get.error", getName(), Integer.valueOf(status));
         }
     }
 
@@ -142,6 +241,16 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
 
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
+        final HttpContentCache contentCache = getAbstractFileSystem().getContentCache();
+        if (contentCache != null) {
+            return getCachedInputStream(contentCache, bufferSize);
+        }
+
+        final Http5SegmentedDownload download = getSegmentedDownload();
+        if (download != null) {
+            return download.openStream();
+        }
+
         final HttpGet getRequest = new HttpGet(getInternalURI());
         final ClassicHttpResponse httpResponse = executeHttpUriRequest(getRequest);
         final int status = httpResponse.getCode();
@@ -154,12 +263,13 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
             throw new FileSystemException("vfs.provider.http/get.error", getName(), Integer.valueOf(status));
         }
 
+        updateLastHeadResponse(httpResponse);
         return new MonitoredHttpResponseContentInputStream(httpResponse, bufferSize);
     }
 
     @Override
     protected RandomAccessContent doGetRandomAccessContent(final RandomAccessMode mode) throws Exception {
-        return new Http5RandomAccessContent<>(this, mode);
+        return new Http5RandomAccessContent<>(this, mode, randomAccessBlockSize, randomAccessMaxBlocks);
     }
 
     @Override
@@ -179,7 +289,166 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
 
     @Override
     protected void doDetach() throws Exception {
-        lastHeadResponse = null;
+        if (metadataTimeToLiveMillis <= 0) {
+            lastHeadResponse = null;
+        }
+    }
+
+    /**
+     * Requests the metadata of this file with HEAD, or with a GET of its first byte if HEAD is disabled.
+     *
+     * @return the response, with the headers of a full GET response.
+     */
+    private HttpResponse executeMetadataRequest() throws IOException {
+        if (headRequestEnabled) {
+            return executeHttpUriRequest(new HttpHead(getInternalURI()));
+        }
+        final HttpGet getRequest = new HttpGet(getInternalURI());
+        getRequest.setHeader(HttpHeaders.RANGE, "bytes=0-0");
+        try (ClassicHttpResponse httpResponse = executeHttpUriRequest(getRequest)) {
+            final int status = httpResponse.getCode();
+            if (status != HttpStatus.SC_PARTIAL_CONTENT && status != HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // not a range, the server sent the whole file
+                return toHttpResponse(status, httpResponse.getHeaders());
+            }
+            // the length of the file follows the slash of "bytes 0-0/length" or "bytes */length"
+            final Header contentRange = httpResponse.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+            final String length = contentRange != null
+                    ? contentRange.getValue().substring(contentRange.getValue().indexOf('/') + 1).trim() : "*";
+            final BasicHttpResponse headResponse = toHttpResponse(HttpStatus.SC_OK, httpResponse.getHeaders());
+            headResponse.removeHeaders(HttpHeaders.CONTENT_RANGE);
+            if (status == HttpStatus.SC_PARTIAL_CONTENT) {
+                headResponse.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            }
+            if (length.equals("*")) {
+                headResponse.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            } else {
+                headResponse.setHeader(HttpHeaders.CONTENT_LENGTH, length);
+            }
+            return headResponse;
+        }
+    }
+
+    private void setLastHeadResponse(final HttpResponse httpResponse) {
+        lastHeadResponse = httpResponse;
+        lastHeadResponseMillis = System.currentTimeMillis();
+    }
+
+    private static BasicHttpResponse toHttpResponse(final HttpContentCache.Entry entry) {
+        final BasicHttpResponse httpResponse = new BasicHttpResponse(HttpStatus.SC_OK);
+        entry.getHeaders().forEach(httpResponse::setHeader);
+        return httpResponse;
+    }
+
+    private static BasicHttpResponse toHttpResponse(final int status, final Header[] headers) {
+        final BasicHttpResponse httpResponse = new BasicHttpResponse(status);
+        httpResponse.setHeaders(headers);
+        return httpResponse;
+    }
+
+    /**
+     * Updates the metadata from the headers of a GET response, unless they lack the length of the file.
+     */
+    private void updateLastHeadResponse(final ClassicHttpResponse getResponse) {
+        if (getResponse.containsHeader(HttpHeaders.CONTENT_LENGTH)) {
+            setLastHeadResponse(toHttpResponse(HttpStatus.SC_OK, getResponse.getHeaders()));
+        }
+    }
+
+    /**
+     * Gets the content through the content cache, revalidating the cached content if it is not fresh.
+     */
+    private InputStream getCachedInputStream(final HttpContentCache contentCache, final int bufferSize)
+            throws IOException {
+        final String uri = getInternalURI().toString();
+        final HttpContentCache.Entry entry = contentCache.get(uri);
+        if (entry != null && entry.isFresh()) {
+            final InputStream cached = contentCache.openStream(entry);
+            if (cached != null) {
+                setLastHeadResponse(toHttpResponse(entry));
+                return cached;
+            }
+        }
+
+        final HttpGet getRequest = new HttpGet(getInternalURI());
+        if (entry != null) {
+            if (entry.getETag() != null) {
+                getRequest.setHeader(HttpHeaders.IF_NONE_MATCH, entry.getETag());
+            }
+            if (entry.getLastModified() != null) {
+                getRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+            }
+        }
+        final ClassicHttpResponse httpResponse = executeHttpUriRequest(getRequest);
+        final int status = httpResponse.getCode();
+        final Header cacheControl = httpResponse.getFirstHeader(HttpHeaders.CACHE_CONTROL);
+
+        if (status == HttpStatus.SC_NOT_MODIFIED && entry != null) {
+            httpResponse.close();
+            contentCache.revalidated(entry, cacheControl != null ? cacheControl.getValue() : null);
+            final InputStream cached = contentCache.openStream(entry);
+            if (cached != null) {
+                setLastHeadResponse(toHttpResponse(entry));
+                return cached;
+            }
+            // evicted since, download it again
+            contentCache.remove(uri);
+            return getCachedInputStream(contentCache, bufferSize);
+        }
+
+        if (status == HttpStatus.SC_NOT_FOUND) {
+            httpResponse.close();
+            contentCache.remove(uri);
+            throw new FileNotFoundException(getName());
+        }
+
+        if (status != HttpStatus.SC_OK) {
+            httpResponse.close();
+            throw new FileSystemException("vfs.provider.http/get.error", getName(), Integer.valueOf(status));
+        }
+
+        updateLastHeadResponse(httpResponse);
+        final Map<String, String> headers = new HashMap<>();
+        for (final Header header : httpResponse.getHeaders()) {
+            headers.putIfAbsent(header.getName(), header.getValue());
+        }
+        return contentCache.store(uri, headers, cacheControl != null ? cacheControl.getValue() : null,
+                httpResponse.getEntity().getContentLength(),
+                new MonitoredHttpResponseContentInputStream(httpResponse, bufferSize));
+    }
+
+    /**
+     * Creates a segmented download of the content if it is enabled, the server accepts byte ranges, and the content is
+     * larger than one segment.
+     *
+     * @return a segmented download, or null to download with a single request.
+     */
+    private Http5SegmentedDownload getSegmentedDownload() throws IOException {
+        if (downloadSegments < 2) {
+            return null;
+        }
+        final HttpResponse headResponse = getLastHeadResponse();
+        final Header acceptRanges = headResponse.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+        final Header contentLength = headResponse.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+        if (acceptRanges == null || !"bytes".equalsIgnoreCase(acceptRanges.getValue().trim())
+                || contentLength == null) {
+            return null;
+        }
+        final long length = Long.parseLong(contentLength.getValue().trim());
+        if (length <= downloadSegmentSize) {
+            return null;
+        }
+        // If-Range only accepts a strong ETag
+        final Header etag = headResponse.getFirstHeader(HttpHeaders.ETAG);
+        final Header lastModified = headResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        final String validator;
+        if (etag != null && !etag.getValue().startsWith("W/")) {
+            validator = etag.getValue();
+        } else {
+            validator = lastModified != null ? lastModified.getValue() : null;
+        }
+        return new Http5SegmentedDownload(this, length, validator, downloadSegments, downloadSegmentSize,
+                getAbstractFileSystem().getDownloadExecutor());
     }
 
     /**
@@ -201,17 +470,16 @@ public class Http5FileObject<FS extends Http5FileSystem> extends AbstractFileObj
     }
 
     /**
-     * Return the last executed HEAD {@code HttpResponse} object.
+     * Return the last executed HEAD {@code HttpResponse} object, or the headers of a later GET response.
      *
      * @return the last executed HEAD {@code HttpResponse} object
      * @throws IOException if IO error occurs
      */
     HttpResponse getLastHeadResponse() throws IOException {
-        if (lastHeadResponse != null) {
-            return lastHeadResponse;
+        if (lastHeadResponse == null) {
+            setLastHeadResponse(executeMetadataRequest());
         }
-
-        return executeHttpUriRequest(new HttpHead(getInternalURI()));
+        return lastHeadResponse;
     }
 
     /**
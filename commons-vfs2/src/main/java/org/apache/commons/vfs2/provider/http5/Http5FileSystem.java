@@ -16,16 +16,21 @@
  */
 package org.apache.commons.vfs2.provider.http5;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.HttpContentCache;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
@@ -37,6 +42,18 @@ import org.apache.hc.client5.http.protocol.HttpClientContext;
  */
 public class Http5FileSystem extends AbstractFileSystem {
 
+    /**
+     * Holds the content cache, or null if it is not enabled.
+     */
+    private static final class ContentCacheHolder {
+
+        private final HttpContentCache contentCache;
+
+        private ContentCacheHolder(final HttpContentCache contentCache) {
+            this.contentCache = contentCache;
+        }
+    }
+
     /**
      * Internal base URI of this file system.
      */
@@ -52,6 +69,16 @@ public class Http5FileSystem extends AbstractFileSystem {
      */
     private final HttpClientContext httpClientContext;
 
+    /**
+     * Downloads the ranges of segmented downloads, created when first needed. Guarded by this.
+     */
+    private ExecutorService downloadExecutor;
+
+    /**
+     * Holds the content cache once created, read without locking. Created and cleared under the lock of this.
+     */
+    private volatile ContentCacheHolder contentCacheHolder;
+
     /**
      * Construct {@code Http4FileSystem}.
      *
@@ -91,6 +118,17 @@ public class Http5FileSystem extends AbstractFileSystem {
 
     @Override
     protected void doCloseCommunicationLink() {
+        synchronized (this) {
+            if (downloadExecutor != null) {
+                downloadExecutor.shutdownNow();
+                downloadExecutor = null;
+            }
+            final ContentCacheHolder holder = contentCacheHolder;
+            contentCacheHolder = null;
+            if (holder != null && holder.contentCache != null) {
+                holder.contentCache.close();
+            }
+        }
         if (httpClient instanceof CloseableHttpClient) {
             try {
                 ((CloseableHttpClient) httpClient).close();
@@ -100,6 +138,57 @@ public class Http5FileSystem extends AbstractFileSystem {
         }
     }
 
+    /**
+     * Returns the executor downloading the ranges of segmented downloads.
+     *
+     * @return the executor, with daemon threads.
+     */
+    synchronized ExecutorService getDownloadExecutor() {
+        if (downloadExecutor == null) {
+            downloadExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "VFS HTTP5 download");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return downloadExecutor;
+    }
+
+    /**
+     * Returns the content cache, if enabled with {@link Http5FileSystemConfigBuilder#setContentCacheMaxMemorySize} or
+     * {@link Http5FileSystemConfigBuilder#setContentCacheDirectory}.
+     *
+     * @return the content cache, or null.
+     * @throws FileSystemException if the disk tier of the cache cannot be created.
+     */
+    HttpContentCache getContentCache() throws FileSystemException {
+        final ContentCacheHolder holder = contentCacheHolder;
+        return holder != null ? holder.contentCache : createContentCache();
+    }
+
+    /**
+     * Creates the content cache unless another thread did.
+     */
+    private synchronized HttpContentCache createContentCache() throws FileSystemException {
+        if (contentCacheHolder == null) {
+            final Http5FileSystemConfigBuilder builder = Http5FileSystemConfigBuilder.getInstance();
+            final FileSystemOptions fileSystemOptions = getFileSystemOptions();
+            final long maxMemorySize = builder.getContentCacheMaxMemorySize(fileSystemOptions);
+            final File directory = builder.getContentCacheDirectory(fileSystemOptions);
+            final long maxDiskSize = builder.getContentCacheMaxDiskSize(fileSystemOptions);
+            HttpContentCache contentCache = null;
+            if (maxMemorySize > 0 || directory != null && maxDiskSize > 0) {
+                try {
+                    contentCache = new HttpContentCache(maxMemorySize, directory, maxDiskSize);
+                } catch (final IOException e) {
+                    throw new FileSystemException("vfs.provider.http/create-content-cache.error", e, directory);
+                }
+            }
+            contentCacheHolder = new ContentCacheHolder(contentCache);
+        }
+        return contentCacheHolder.contentCache;
+    }
+
     /**
      * Return the internal {@link HttpClient} instance.
      *
@@ -16,7 +16,9 @@
  */
 package org.apache.commons.vfs2.provider.http5;
 
+import java.io.File;
 import java.security.KeyStore;
+import java.time.Duration;
 
 import org.apache.commons.vfs2.FileSystem;
 import org.apache.commons.vfs2.FileSystemConfigBuilder;
@@ -144,6 +146,78 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
      */
     private static final String KEY_TLS_VERSIONS = "tlsVersions";
 
+    /**
+     * Defines the number of ranges of a file downloaded concurrently.
+     * <p>
+     * This parameter expects a value of type {@link Integer}.
+     * </p>
+     */
+    private static final String DOWNLOAD_SEGMENTS = "http.download.segments";
+
+    /**
+     * Defines the size of the ranges of a file downloaded concurrently.
+     * <p>
+     * This parameter expects a value of type {@link Long}.
+     * </p>
+     */
+    private static final String DOWNLOAD_SEGMENT_SIZE = "http.download.segment-size";
+
+    /**
+     * Defines the maximum size of the content cached in memory.
+     * <p>
+     * This parameter expects a value of type {@link Long}.
+     * </p>
+     */
+    private static final String CONTENT_CACHE_MAX_MEMORY_SIZE = "http.content-cache.max-memory-size";
+
+    /**
+     * Defines the directory of the content cached on disk.
+     * <p>
+     * This parameter expects a value of type {@link File}.
+     * </p>
+     */
+    private static final String CONTENT_CACHE_DIRECTORY = "http.content-cache.directory";
+
+    /**
+     * Defines the maximum size of the content cached on disk.
+     * <p>
+     * This parameter expects a value of type {@link Long}.
+     * </p>
+     */
+    private static final String CONTENT_CACHE_MAX_DISK_SIZE = "http.content-cache.max-disk-size";
+
+    /**
+     * Defines whether the type, size and last modified time of files are requested with HEAD.
+     * <p>
+     * This parameter expects a value of type {@link Boolean}.
+     * </p>
+     */
+    private static final String HEAD_REQUEST_ENABLED = "http.head-request.enabled";
+
+    /**
+     * Defines how long the type, size and last modified time of a file are kept after it is refreshed.
+     * <p>
+     * This parameter expects a value of type {@link Duration}.
+     * </p>
+     */
+    private static final String METADATA_TIME_TO_LIVE = "http.metadata.time-to-live";
+
+    /**
+     * Defines the size of the blocks read by random access content.
+     * <p>
+     * This parameter expects a value of type {@link Integer}.
+     * </p>
+     */
+    private static final String RANDOM_ACCESS_BLOCK_SIZE = "http.random-access.block-size";
+
+    /**
+     * Defines the maximum number of blocks kept in memory by random access content.
+     * <p>
+     * This parameter expects a value of type {@link Integer}.
+     * </p>
+     */
+    private static final String RANDOM_ACCESS_MAX_BLOCKS = "http.random-access.max-blocks";
+
     /**
      * The default value for {@link #MAX_TOTAL_CONNECTIONS} configuration.
      */
@@ -154,6 +228,41 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
      */
     private static final int DEFAULT_MAX_HOST_CONNECTIONS = 5;
 
+    /**
+     * The default value for {@link #DOWNLOAD_SEGMENTS} configuration, a single request.
+     */
+    private static final int DEFAULT_DOWNLOAD_SEGMENTS = 1;
+
+    /**
+     * The default value for {@link #DOWNLOAD_SEGMENT_SIZE} configuration.
+     */
+    private static final long DEFAULT_DOWNLOAD_SEGMENT_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * The default value for {@link #CONTENT_CACHE_MAX_MEMORY_SIZE} configuration, no memory cache.
+     */
+    private static final long DEFAULT_CONTENT_CACHE_MAX_MEMORY_SIZE = 0;
+
+    /**
+     * The default value for {@link #CONTENT_CACHE_MAX_DISK_SIZE} configuration.
+     */
+    private static final long DEFAULT_CONTENT_CACHE_MAX_DISK_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The default value for {@link #HEAD_REQUEST_ENABLED} configuration.
+     */
+    private static final boolean DEFAULT_HEAD_REQUEST_ENABLED = true;
+
+    /**
+     * The default value for {@link #RANDOM_ACCESS_BLOCK_SIZE} configuration.
+     */
+    private static final int DEFAULT_RANDOM_ACCESS_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * The default value for {@link #RANDOM_ACCESS_MAX_BLOCKS} configuration.
+     */
+    private static final int DEFAULT_RANDOM_ACCESS_MAX_BLOCKS = 16;
+
     /**
      * The default value for {@link #CONNECTION_TIMEOUT} configuration.
      */
@@ -410,6 +519,240 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getInteger(opts, MAX_HOST_CONNECTIONS, DEFAULT_MAX_HOST_CONNECTIONS);
     }
 
+    /**
+     * Sets the number of ranges of a file downloaded concurrently, when the server accepts range requests.
+     * <p>
+     * The content is split into ranges of {@link #setDownloadSegmentSize(FileSystemOptions, long) the segment size},
+     * and up to this number of them are downloaded ahead of the reader. The ranges share the connections of the file
+     * system, so this should not exceed {@link #setMaxConnectionsPerHost(FileSystemOptions, int) the maximum number of
+     * connections per host}. The default is 1, which downloads a file with a single request.
+     * </p>
+     *
+     * @param opts The FileSystem options.
+     * @param segments The number of ranges downloaded concurrently.
+     * @since 2.8.0
+     */
+    public void setDownloadSegments(final FileSystemOptions opts, final int segments) {
+        setParam(opts, DOWNLOAD_SEGMENTS, Integer.valueOf(segments));
+    }
+
+    /**
+     * Gets the number of ranges of a file downloaded concurrently.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The number of ranges downloaded concurrently.
+     * @see #setDownloadSegments(FileSystemOptions, int)
+     * @since 2.8.0
+     */
+    public int getDownloadSegments(final FileSystemOptions opts) {
+        return getInteger(opts, DOWNLOAD_SEGMENTS, DEFAULT_DOWNLOAD_SEGMENTS);
+    }
+
+    /**
+     * Sets the size of the ranges of a file downloaded concurrently. Files no larger than one range are downloaded
+     * with a single request. The default is 4 MiB.
+     *
+     * @param opts The FileSystem options.
+     * @param segmentSize The size of the ranges in bytes.
+     * @see #setDownloadSegments(FileSystemOptions, int)
+     * @since 2.8.0
+     */
+    public void setDownloadSegmentSize(final FileSystemOptions opts, final long segmentSize) {
+        setParam(opts, DOWNLOAD_SEGMENT_SIZE, Long.valueOf(segmentSize));
+    }
+
+    /**
+     * Gets the size of the ranges of a file downloaded concurrently.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The size of the ranges in bytes.
+     * @see #setDownloadSegmentSize(FileSystemOptions, long)
+     * @since 2.8.0
+     */
+    public long getDownloadSegmentSize(final FileSystemOptions opts) {
+        return getLong(opts, DOWNLOAD_SEGMENT_SIZE, DEFAULT_DOWNLOAD_SEGMENT_SIZE);
+    }
+
+    /**
+     * Sets the maximum size of the content cached in memory.
+     * <p>
+     * The content cache keeps the content of downloaded files, and revalidates it with conditional requests honoring
+     * {@code Cache-Control}, {@code ETag} and {@code Last-Modified}. It is enabled by a memory size above 0 or a cache
+     * directory. The least recently used content moves from memory to the directory, then out of the cache. Cached
+     * downloads use a single request.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param maxMemorySize The maximum size in bytes, 0 to keep no content in memory.
+     * @since 2.8.0
+     */
+    public void setContentCacheMaxMemorySize(final FileSystemOptions opts, final long maxMemorySize) {
+        setParam(opts, CONTENT_CACHE_MAX_MEMORY_SIZE, Long.valueOf(maxMemorySize));
+    }
+
+    /**
+     * Gets the maximum size of the content cached in memory.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The maximum size in bytes, 0 by default.
+     * @see #setContentCacheMaxMemorySize
+     * @since 2.8.0
+     */
+    public long getContentCacheMaxMemorySize(final FileSystemOptions opts) {
+        return getLong(opts, CONTENT_CACHE_MAX_MEMORY_SIZE, DEFAULT_CONTENT_CACHE_MAX_MEMORY_SIZE);
+    }
+
+    /**
+     * Sets the directory in which the content cache keeps the content that does not fit in memory.
+     *
+     * @param opts The FileSystemOptions.
+     * @param directory The directory, or null to cache content in memory only.
+     * @see #setContentCacheMaxMemorySize
+     * @since 2.8.0
+     */
+    public void setContentCacheDirectory(final FileSystemOptions opts, final File directory) {
+        setParam(opts, CONTENT_CACHE_DIRECTORY, directory);
+    }
+
+    /**
+     * Gets the directory in which the content cache keeps the content that does not fit in memory.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The directory, null by default.
+     * @see #setContentCacheMaxMemorySize
+     * @since 2.8.0
+     */
+    public File getContentCacheDirectory(final FileSystemOptions opts) {
+        return getParam(opts, CONTENT_CACHE_DIRECTORY);
+    }
+
+    /**
+     * Sets the maximum size of the content cached on disk.
+     *
+     * @param opts The FileSystemOptions.
+     * @param maxDiskSize The maximum size in bytes.
+     * @see #setContentCacheDirectory
+     * @since 2.8.0
+     */
+    public void setContentCacheMaxDiskSize(final FileSystemOptions opts, final long maxDiskSize) {
+        setParam(opts, CONTENT_CACHE_MAX_DISK_SIZE, Long.valueOf(maxDiskSize));
+    }
+
+    /**
+     * Gets the maximum size of the content cached on disk.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The maximum size in bytes, 256 MiB by default.
+     * @see #setContentCacheDirectory
+     * @since 2.8.0
+     */
+    public long getContentCacheMaxDiskSize(final FileSystemOptions opts) {
+        return getLong(opts, CONTENT_CACHE_MAX_DISK_SIZE, DEFAULT_CONTENT_CACHE_MAX_DISK_SIZE);
+    }
+
+    /**
+     * Sets whether the type, size and last modified time of files are requested with HEAD.
+     * <p>
+     * When disabled, they are requested with a GET of the first byte of the file instead, for servers which do not
+     * answer HEAD requests properly. In both cases the headers of later GET responses update them.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param headRequestEnabled Whether to send HEAD requests.
+     * @since 2.8.0
+     */
+    public void setHeadRequestEnabled(final FileSystemOptions opts, final boolean headRequestEnabled) {
+        setParam(opts, HEAD_REQUEST_ENABLED, Boolean.valueOf(headRequestEnabled));
+    }
+
+    /**
+     * Gets whether the type, size and last modified time of files are requested with HEAD.
+     *
+     * @param opts The FileSystemOptions.
+     * @return Whether to send HEAD requests, true by default.
+     * @see #setHeadRequestEnabled
+     * @since 2.8.0
+     */
+    public boolean isHeadRequestEnabled(final FileSystemOptions opts) {
+        return getBoolean(opts, HEAD_REQUEST_ENABLED, DEFAULT_HEAD_REQUEST_ENABLED);
+    }
+
+    /**
+     * Sets how long the type, size and last modified time of a file are kept after it is refreshed, before they are
+     * requested again. Defaults to none, they are requested again on the first access after a refresh.
+     *
+     * @param opts The FileSystemOptions.
+     * @param timeToLive How long to keep them.
+     * @since 2.8.0
+     */
+    public void setMetadataTimeToLive(final FileSystemOptions opts, final Duration timeToLive) {
+        setParam(opts, METADATA_TIME_TO_LIVE, timeToLive);
+    }
+
+    /**
+     * Gets how long the type, size and last modified time of a file are kept after it is refreshed.
+     *
+     * @param opts The FileSystemOptions.
+     * @return How long to keep them, {@link Duration#ZERO} by default.
+     * @see #setMetadataTimeToLive
+     * @since 2.8.0
+     */
+    public Duration getMetadataTimeToLive(final FileSystemOptions opts) {
+        return getDuration(opts, METADATA_TIME_TO_LIVE, Duration.ZERO);
+    }
+
+    /**
+     * Sets the size of the blocks read by random access content.
+     * <p>
+     * Random access content reads the file with range requests of whole blocks, and keeps the most recently used
+     * blocks in memory, so that repeated and nearby reads need no request.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param blockSize The size of the blocks in bytes.
+     * @since 2.8.0
+     */
+    public void setRandomAccessBlockSize(final FileSystemOptions opts, final int blockSize) {
+        setParam(opts, RANDOM_ACCESS_BLOCK_SIZE, Integer.valueOf(blockSize));
+    }
+
+    /**
+     * Gets the size of the blocks read by random access content.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The size of the blocks in bytes, 64 KiB by default.
+     * @see #setRandomAccessBlockSize
+     * @since 2.8.0
+     */
+    public int getRandomAccessBlockSize(final FileSystemOptions opts) {
+        return getInteger(opts, RANDOM_ACCESS_BLOCK_SIZE, DEFAULT_RANDOM_ACCESS_BLOCK_SIZE);
+    }
+
+    /**
+     * Sets the maximum number of blocks kept in memory by each random access content, which is also the maximum number
+     * of blocks read with one request.
+     *
+     * @param opts The FileSystemOptions.
+     * @param maxBlocks The maximum number of blocks.
+     * @see #setRandomAccessBlockSize
+     * @since 2.8.0
+     */
+    public void setRandomAccessMaxBlocks(final FileSystemOptions opts, final int maxBlocks) {
+        setParam(opts, RANDOM_ACCESS_MAX_BLOCKS, Integer.valueOf(maxBlocks));
+    }
+
+    /**
+     * Gets the maximum number of blocks kept in memory by each random access content.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The maximum number of blocks, 16 by default.
+     * @see #setRandomAccessMaxBlocks
+     * @since 2.8.0
+     */
+    public int getRandomAccessMaxBlocks(final FileSystemOptions opts) {
+        return getInteger(opts, RANDOM_ACCESS_MAX_BLOCKS, DEFAULT_RANDOM_ACCESS_MAX_BLOCKS);
+    }
+
     /**
      * Determines if the FileSystemOptions indicate that preemptive authentication is requested.
      *
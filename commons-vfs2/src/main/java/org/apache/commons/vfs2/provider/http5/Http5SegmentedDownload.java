@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.http5;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+
+/**
+ * Downloads the content of a file with concurrent range requests.
+ * <p>
+ * The content is split into ranges of the segment size. Read as a stream, up to the given number of ranges are
+ * downloaded ahead of the reader, each buffered in memory until it is read. Written to a random access content, the
+ * ranges are written straight to their position.
+ * </p>
+ * <p>
+ * The requests carry an {@code If-Range} validator from the HEAD response, so that a file replaced during the download
+ * fails it instead of mixing two versions.
+ * </p>
+ */
+final class Http5SegmentedDownload {
+
+    /**
+     * Receives the bytes of a range.
+     */
+    private interface RangeSink {
+        void write(long position, byte[] buffer, int count) throws IOException;
+    }
+
+    /**
+     * Reads the ranges in order, downloading the following ones ahead.
+     */
+    private final class SegmentedInputStream extends InputStream {
+
+        private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        private int nextIndex;
+        private byte[] current;
+        private int position;
+        private boolean closed;
+
+        SegmentedInputStream() {
+            while (pending.size() < segments && nextIndex < rangeCount) {
+                schedule();
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return current == null ? 0 : current.length - position;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            current = null;
+            for (final Future<byte[]> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+
+        /**
+         * Moves to the next range, waiting for it to be downloaded.
+         *
+         * @return false at the end of the content.
+         */
+        private boolean nextRange() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            final Future<byte[]> future = pending.poll();
+            if (future == null) {
+                return false;
+            }
+            if (nextIndex < rangeCount) {
+                schedule();
+            }
+            try {
+                current = future.get();
+                position = 0;
+                return true;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (final ExecutionException e) {
+                throw toIOException(e.getCause());
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (current == null || position == current.length) {
+                if (!nextRange()) {
+                    return -1;
+                }
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (current == null || position == current.length) {
+                if (!nextRange()) {
+                    return -1;
+                }
+            }
+            final int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private void schedule() {
+            final int index = nextIndex++;
+            pending.add(executor.submit(() -> {
+                final long start = index * segmentSize;
+                final byte[] data = new byte[(int) (Math.min(length, start + segmentSize) - start)];
+                fetch(index, (position, buffer, count) -> System.arraycopy(buffer, 0, data, (int) (position - start),
+                        count));
+                return data;
+            }));
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static IOException toIOException(final Throwable cause) {
+        return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+
+    private final Http5FileObject<?> fileObject;
+    private final long length;
+    private final String validator;
+    private final int segments;
+    private final long segmentSize;
+    private final int rangeCount;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a download.
+     *
+     * @param fileObject The file to download.
+     * @param length The length of the content.
+     * @param validator The ETag or last modified date of the content, or null.
+     * @param segments The number of ranges downloaded concurrently.
+     * @param segmentSize The size of the ranges, at most {@link Integer#MAX_VALUE}.
+     * @param executor The executor downloading the ranges.
+     */
+    Http5SegmentedDownload(final Http5FileObject<?> fileObject, final long length, final String validator,
+            final int segments, final long segmentSize, final ExecutorService executor) {
+        this.fileObject = fileObject;
+        this.length = length;
+        this.validator = validator;
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.rangeCount = (int) ((length + segmentSize - 1) / segmentSize);
+        this.executor = executor;
+    }
+
+    /**
+     * Downloads a range.
+     */
+    private void fetch(final int index, final RangeSink sink) throws IOException {
+        final long start = index * segmentSize;
+        final long end = Math.min(length, start + segmentSize) - 1;
+        final String range = start + "-" + end;
+        final HttpGet request = new HttpGet(fileObject.getInternalURI());
+        request.setHeader(HttpHeaders.RANGE, "bytes=" + range);
+        if (validator != null) {
+            request.setHeader(HttpHeaders.IF_RANGE, validator);
+        }
+        try (ClassicHttpResponse response = fileObject.executeHttpUriRequest(request)) {
+            final int status = response.getCode();
+            if (status != HttpStatus.SC_PARTIAL_CONTENT || response.getEntity() == null) {
+                throw new FileSystemException("vfs.provider.http/get-range.error", fileObject.getName(), range,
+                        Integer.valueOf(status));
+            }
+            try (InputStream input = response.getEntity().getContent()) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                long position = start;
+                while (position <= end) {
+                    final int count = input.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1));
+                    if (count < 0) {
+                        throw new FileSystemException("vfs.provider.http/get-range-truncated.error",
+                                fileObject.getName(), range, Long.valueOf(position - start));
+                    }
+                    sink.write(position, buffer, count);
+                    position += count;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the length of the content.
+     *
+     * @return the length of the content.
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Opens the content as a stream.
+     *
+     * @return a stream reading the ranges in order, closing it cancels the downloads ahead.
+     */
+    InputStream openStream() {
+        return new SegmentedInputStream();
+    }
+
+    /**
+     * Downloads the content to a random access content.
+     *
+     * @param content The content to write to, at the same positions.
+     * @throws IOException if a range cannot be downloaded or written.
+     */
+    void writeTo(final RandomAccessContent content) throws IOException {
+        final AtomicInteger next = new AtomicInteger();
+        final RangeSink sink = (position, buffer, count) -> {
+            synchronized (content) {
+                content.seek(position);
+                content.write(buffer, 0, count);
+            }
+        };
+        final List<Future<Void>> futures = new ArrayList<>();
+        final int workers = Math.min(segments, rangeCount);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> {
+                int index;
+                while (!Thread.currentThread().isInterrupted() && (index = next.getAndIncrement()) < rangeCount) {
+                    try {
+                        fetch(index, sink);
+                    } catch (final IOException | RuntimeException e) {
+                        // stop the other workers
+                        next.set(rangeCount);
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (final ExecutionException e) {
+            throw toIOException(e.getCause());
+        } finally {
+            for (final Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
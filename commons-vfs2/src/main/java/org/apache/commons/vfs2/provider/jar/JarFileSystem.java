@@ -66,6 +66,14 @@ public class JarFileSystem extends ZipFileSystem {
         return new JarFileObject(name, entry, this, true);
     }
 
+    /**
+     * Returns false, the manifest and the entries are read from the {@link JarFile}.
+     */
+    @Override
+    protected boolean isReadInPlaceSupported() {
+        return false;
+    }
+
     /**
      * Returns the capabilities of this file system.
      */
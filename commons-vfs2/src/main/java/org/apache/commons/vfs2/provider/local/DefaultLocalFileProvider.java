@@ -25,6 +25,7 @@ import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractOriginatingFileProvider;
@@ -43,7 +44,7 @@ public class DefaultLocalFileProvider extends AbstractOriginatingFileProvider im
                     Capability.GET_LAST_MODIFIED, Capability.SET_LAST_MODIFIED_FILE,
                     Capability.SET_LAST_MODIFIED_FOLDER, Capability.LIST_CHILDREN, Capability.READ_CONTENT,
                     Capability.URI, Capability.WRITE_CONTENT, Capability.APPEND_CONTENT, Capability.RANDOM_ACCESS_READ,
-                    Capability.RANDOM_ACCESS_SET_LENGTH, Capability.RANDOM_ACCESS_WRITE));
+                    Capability.RANDOM_ACCESS_SET_LENGTH, Capability.RANDOM_ACCESS_WRITE, Capability.COPY));
 
     /**
      * Constructs a new provider.
@@ -112,4 +113,9 @@ public class DefaultLocalFileProvider extends AbstractOriginatingFileProvider im
     public Collection<Capability> getCapabilities() {
         return capabilities;
     }
+
+    @Override
+    public FileSystemConfigBuilder getConfigBuilder() {
+        return LocalFileSystemConfigBuilder.getInstance();
+    }
 }
@@ -22,16 +22,29 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.provider.UriParser;
 import org.apache.commons.vfs2.util.FileObjectUtils;
+import org.apache.commons.vfs2.util.Os;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 
 /**
@@ -39,10 +52,38 @@ import org.apache.commons.vfs2.util.RandomAccessMode;
  */
 public class LocalFile extends AbstractFileObject<LocalFileSystem> {
 
+    /**
+     * The attributes of a file read at once.
+     */
+    private static final class AttributeSnapshot {
+
+        /** The attributes of the file, following links, or null if it does not exist. */
+        private final BasicFileAttributes attributes;
+
+        private final boolean symbolicLink;
+
+        AttributeSnapshot(final BasicFileAttributes attributes, final boolean symbolicLink) {
+            this.attributes = attributes;
+            this.symbolicLink = symbolicLink;
+        }
+    }
+
+    /**
+     * The attributes to read, the DOS ones include the hidden flag. Linux also supports the DOS view, through an
+     * extended attribute which costs another call and does not follow the leading dot convention used there.
+     */
+    private static final Class<? extends BasicFileAttributes> ATTRIBUTES_CLASS = Os.isFamily(Os.OS_FAMILY_WINDOWS)
+            ? DosFileAttributes.class : BasicFileAttributes.class;
+
     private final String rootFile;
 
+    private final boolean attributeSnapshotEnabled;
+
     private File file;
 
+    /** Also set by the parent folder when it lists its children. */
+    private volatile AttributeSnapshot attributeSnapshot;
+
     /**
      * Creates a non-root file.
      *
@@ -55,6 +96,16 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
             throws FileSystemException {
         super(name, fileSystem);
         this.rootFile = rootFile;
+        this.attributeSnapshotEnabled = LocalFileSystemConfigBuilder.getInstance()
+                .isAttributeSnapshot(fileSystem.getFileSystemOptions());
+    }
+
+    /**
+     * Any local file can be copied into this one, whatever its file system.
+     */
+    @Override
+    protected boolean canCopyFrom(final FileObject srcFile) {
+        return srcFile.getFileSystem() instanceof LocalFileSystem;
     }
 
     /**
@@ -71,6 +122,23 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
         }
     }
 
+    /**
+     * Drops the attribute snapshot.
+     */
+    @Override
+    protected void doDetach() throws Exception {
+        attributeSnapshot = null;
+    }
+
+    /**
+     * Copies a local file into this file, letting the operating system move the bytes.
+     */
+    @Override
+    protected void doCopyFrom(final FileObject srcFile) throws Exception {
+        final LocalFile srcLocalFile = (LocalFile) FileObjectUtils.getAbstractFileObject(srcFile);
+        Files.copy(srcLocalFile.getLocalFile().toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
     /**
      * Creates this folder.
      */
@@ -96,6 +164,10 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected long doGetContentSize() throws Exception {
+        final BasicFileAttributes attributes = getSnapshotAttributes();
+        if (attributes != null) {
+            return attributes.size();
+        }
         return file.length();
     }
 
@@ -112,6 +184,10 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected long doGetLastModifiedTime() throws FileSystemException {
+        final BasicFileAttributes attributes = getSnapshotAttributes();
+        if (attributes != null) {
+            return attributes.lastModifiedTime().toMillis();
+        }
         // Workaround OpenJDK 8 and 9 bug JDK-8177809
         // https://bugs.openjdk.java.net/browse/JDK-8177809
         try {
@@ -131,7 +207,21 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
 
     @Override
     protected RandomAccessContent doGetRandomAccessContent(final RandomAccessMode mode) throws Exception {
-        return new LocalFileRandomAccessContent(file, mode);
+        if (!attributeSnapshotEnabled || !mode.requestWrite()) {
+            return new LocalFileRandomAccessContent(file, mode);
+        }
+        // writes through random access content do not notify this file
+        attributeSnapshot = null;
+        return new LocalFileRandomAccessContent(file, mode) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    attributeSnapshot = null;
+                }
+            }
+        };
     }
 
     /**
@@ -139,6 +229,14 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected FileType doGetType() throws Exception {
+        if (attributeSnapshotEnabled) {
+            final BasicFileAttributes attributes = getAttributeSnapshot().attributes;
+            if (attributes == null) {
+                return FileType.IMAGINARY;
+            }
+            return attributes.isDirectory() ? FileType.FOLDER : FileType.FILE;
+        }
+
         if (!file.exists()) {
             return FileType.IMAGINARY;
         }
@@ -169,6 +267,16 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected boolean doIsHidden() {
+        if (attributeSnapshotEnabled) {
+            final BasicFileAttributes attributes = getAttributeSnapshot().attributes;
+            if (attributes instanceof DosFileAttributes) {
+                return ((DosFileAttributes) attributes).isHidden();
+            }
+            if (ATTRIBUTES_CLASS == BasicFileAttributes.class) {
+                // as java.io.File does outside of Windows
+                return file.getName().startsWith(".");
+            }
+        }
         return file.isHidden();
     }
 
@@ -212,6 +320,9 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected boolean doIsSymbolicLink() throws FileSystemException {
+        if (attributeSnapshotEnabled) {
+            return getAttributeSnapshot().symbolicLink;
+        }
         return Files.isSymbolicLink(file.toPath());
     }
 
@@ -223,6 +334,34 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
         return UriParser.encode(file.list());
     }
 
+    /**
+     * Lists the children of this folder with their attributes when attribute snapshots are enabled, so that their
+     * type, size and last modified time need no further call. On Windows the listing itself returns the attributes.
+     */
+    @Override
+    protected FileObject[] doListChildrenResolved() throws Exception {
+        if (!attributeSnapshotEnabled) {
+            return null;
+        }
+        final List<FileObject> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(file.toPath())) {
+            for (final Path path : stream) {
+                final String name = "./" + UriParser.encode(path.getFileName().toString());
+                final FileObject child = getFileSystem().resolveFile(
+                        getFileSystem().getFileSystemManager().resolveName(getName(), name, NameScope.CHILD));
+                // set after resolving, which may refresh the child and drop its snapshot; this runs without the
+                // lock of this folder, so that resolving can take the lock of the child
+                final LocalFile localChild = (LocalFile) FileObjectUtils.getAbstractFileObject(child);
+                localChild.attributeSnapshot = readAttributeSnapshot(path);
+                children.add(child);
+            }
+        } catch (final NotDirectoryException | NoSuchFileException e) {
+            // let doListChildren() tell
+            return null;
+        }
+        return children.toArray(FileObjectUtils.EMPTY_ARRAY);
+    }
+
     /**
      * rename this file
      */
@@ -237,6 +376,7 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
 
     @Override
     protected boolean doSetExecutable(final boolean executable, final boolean ownerOnly) throws Exception {
+        attributeSnapshot = null;
         return file.setExecutable(executable, ownerOnly);
     }
 
@@ -247,19 +387,66 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
      */
     @Override
     protected boolean doSetLastModifiedTime(final long modtime) throws FileSystemException {
+        attributeSnapshot = null;
         return file.setLastModified(modtime);
     }
 
     @Override
     protected boolean doSetReadable(final boolean readable, final boolean ownerOnly) throws Exception {
+        attributeSnapshot = null;
         return file.setReadable(readable, ownerOnly);
     }
 
     @Override
     protected boolean doSetWritable(final boolean writable, final boolean ownerOnly) throws Exception {
+        attributeSnapshot = null;
         return file.setWritable(writable, ownerOnly);
     }
 
+    /**
+     * Reads the attributes of this file if they are not in the snapshot.
+     */
+    private AttributeSnapshot getAttributeSnapshot() {
+        AttributeSnapshot snapshot = attributeSnapshot;
+        if (snapshot == null) {
+            try {
+                snapshot = readAttributeSnapshot(file.toPath());
+            } catch (final InvalidPathException e) {
+                snapshot = new AttributeSnapshot(null, false);
+            }
+            attributeSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the attributes of a file, with a second read for symbolic links only.
+     */
+    private static AttributeSnapshot readAttributeSnapshot(final Path path) {
+        BasicFileAttributes attributes;
+        boolean symbolicLink = false;
+        try {
+            attributes = Files.readAttributes(path, ATTRIBUTES_CLASS, LinkOption.NOFOLLOW_LINKS);
+            if (attributes.isSymbolicLink()) {
+                symbolicLink = true;
+                attributes = Files.readAttributes(path, ATTRIBUTES_CLASS);
+            }
+        } catch (final IOException e) {
+            // missing, or a broken link, as java.io.File.exists() tells
+            attributes = null;
+        }
+        return new AttributeSnapshot(attributes, symbolicLink);
+    }
+
+    /**
+     * Gets the attributes of this file from the snapshot.
+     *
+     * @return the attributes, or null if snapshots are disabled or the file does not exist.
+     */
+    private BasicFileAttributes getSnapshotAttributes() {
+        return attributeSnapshotEnabled ? getAttributeSnapshot().attributes : null;
+    }
+
     /**
      * Returns the local file that this file object represents.
      *
@@ -269,6 +456,14 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
         return file;
     }
 
+    /**
+     * Drops the attribute snapshot when this file is changed through its file object.
+     */
+    @Override
+    protected void onChange() throws Exception {
+        attributeSnapshot = null;
+    }
+
     /**
      * Returns the URI of the file.
      *
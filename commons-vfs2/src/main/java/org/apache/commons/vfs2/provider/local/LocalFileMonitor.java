@@ -0,0 +1,596 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.vfs2.FileListener;
+import org.apache.commons.vfs2.FileMonitor;
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.NameScope;
+import org.apache.commons.vfs2.impl.DefaultFileMonitor;
+import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.UriParser;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+
+/**
+ * A {@link FileMonitor} for local files which is notified of changes by a {@link WatchService} instead of polling.
+ * <p>
+ * The monitor delivers the same events as the {@link DefaultFileMonitor}: a folder being monitored reports the
+ * creation of its children, which are then monitored too, and the files being monitored report their deletion and
+ * the changes of their last modified time. Folders do not report changes.
+ * </p>
+ * <p>
+ * Each monitored folder is watched for its children, each monitored file is watched through its parent folder. The
+ * monitored files are only polled, every {@link #getDelay() delay}, when the watch service lost events, and while they
+ * cannot be watched because their parent folder does not exist.
+ * </p>
+ * <p>
+ * Only files which resolve to a {@link LocalFile} can be monitored. The events are delivered on the monitor thread.
+ * </p>
+ *
+ * <h2>Example usage:</h2>
+ *
+ * <pre>
+ * FileSystemManager fsManager = VFS.getManager();
+ * FileObject listendir = fsManager.resolveFile("/home/username/monitored/");
+ *
+ * LocalFileMonitor fm = new LocalFileMonitor(new CustomFileListener());
+ * fm.setRecursive(true);
+ * fm.addFile(listendir);
+ * fm.start();
+ * </pre>
+ *
+ * @since 2.8.0
+ */
+public class LocalFileMonitor implements Runnable, FileMonitor {
+
+    private static final Log LOG = LogFactory.getLog(LocalFileMonitor.class);
+
+    private static final long DEFAULT_DELAY = 1000;
+
+    /**
+     * A monitored file.
+     */
+    private static final class Entry {
+        private final FileObject fileObject;
+        private final Path path;
+
+        private boolean exists;
+        private long timestamp;
+
+        /** The base names of the children of a folder, null for a file. */
+        private Set<String> children;
+
+        /** The folder watched for the changes of this entry, null if none. */
+        private Path watched;
+
+        private Entry(final FileObject fileObject, final Path path) {
+            this.fileObject = fileObject;
+            this.path = path;
+        }
+    }
+
+    /**
+     * The monitored files by name. Guarded by itself, as are all the other fields of the monitor state.
+     */
+    private final Map<FileName, Entry> entries = new HashMap<>();
+
+    /**
+     * The monitored files by path.
+     */
+    private final Map<Path, Entry> entriesByPath = new HashMap<>();
+
+    /**
+     * The monitored files which are not watched and must be polled.
+     */
+    private final Set<Entry> polled = new LinkedHashSet<>();
+
+    /**
+     * The watched folders and how many entries use them.
+     */
+    private final Map<Path, Integer> watchCounts = new HashMap<>();
+
+    /**
+     * The watch keys of the watched folders.
+     */
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+
+    /**
+     * The watch service, only open while the monitor runs.
+     */
+    private WatchService watchService;
+
+    /**
+     * The thread waiting for the events.
+     */
+    private Thread monitorThread;
+
+    /**
+     * A flag used to determine if the monitor thread should be running.
+     */
+    private volatile boolean shouldRun = true;
+
+    /**
+     * A flag used to determine if adding files to be monitored should be recursive.
+     */
+    private volatile boolean recursive;
+
+    /**
+     * The delay between polls of the files which cannot be watched.
+     */
+    private volatile long delay = DEFAULT_DELAY;
+
+    /**
+     * A listener object that if set, is notified on file creation and deletion.
+     */
+    private final FileListener listener;
+
+    /**
+     * Creates a monitor.
+     *
+     * @param listener The listener notified of the changes.
+     */
+    public LocalFileMonitor(final FileListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Access method to get the recursive setting when adding files for monitoring.
+     *
+     * @return true if monitoring is enabled for children.
+     */
+    public boolean isRecursive() {
+        return this.recursive;
+    }
+
+    /**
+     * Access method to set the recursive setting when adding files for monitoring.
+     *
+     * @param newRecursive true if monitoring should be enabled for children.
+     */
+    public void setRecursive(final boolean newRecursive) {
+        this.recursive = newRecursive;
+    }
+
+    /**
+     * Get the delay between polls of the files which cannot be watched.
+     *
+     * @return The delay period.
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * Set the delay between polls of the files which cannot be watched.
+     *
+     * @param delay The delay period.
+     */
+    public void setDelay(final long delay) {
+        if (delay > 0) {
+            this.delay = delay;
+        } else {
+            this.delay = DEFAULT_DELAY;
+        }
+    }
+
+    /**
+     * Adds a file to be monitored.
+     *
+     * @param file The FileObject to monitor.
+     * @throws IllegalArgumentException if the file is not a local file.
+     */
+    @Override
+    public void addFile(final FileObject file) {
+        final Path path = toPath(file);
+        synchronized (this.entries) {
+            if (this.entries.get(file.getName()) != null) {
+                return;
+            }
+            final Entry entry = new Entry(file, path);
+            this.entries.put(file.getName(), entry);
+            this.entriesByPath.put(path, entry);
+            if (this.listener != null) {
+                file.getFileSystem().addListener(file, this.listener);
+            }
+            try {
+                file.refresh();
+                // watch before reading the state, so that no later change is missed
+                watch(entry);
+                entry.exists = file.exists();
+                entry.timestamp = entry.exists ? file.getContent().getLastModifiedTime() : -1;
+                if (entry.exists && file.getType().hasChildren()) {
+                    entry.children = new HashSet<>();
+                    final FileObject[] children = file.getChildren();
+                    for (final FileObject child : children) {
+                        entry.children.add(child.getName().getBaseName());
+                    }
+                    if (this.recursive) {
+                        for (final FileObject child : children) {
+                            this.addFile(child);
+                        }
+                    }
+                }
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+    }
+
+    /**
+     * Removes a file from being monitored.
+     *
+     * @param file The FileObject to remove from monitoring.
+     */
+    @Override
+    public void removeFile(final FileObject file) {
+        synchronized (this.entries) {
+            final Entry entry = this.entries.remove(file.getName());
+            if (entry != null) {
+                this.entriesByPath.remove(entry.path);
+                this.polled.remove(entry);
+                unwatch(entry);
+            }
+        }
+    }
+
+    /**
+     * Starts monitoring the files that have been added.
+     */
+    public void start() {
+        synchronized (this.entries) {
+            try {
+                this.watchService = FileSystems.getDefault().newWatchService();
+            } catch (final IOException e) {
+                // poll everything
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            // watch the files added before and catch up with the changes made since
+            for (final Entry entry : this.entries.values()) {
+                entry.watched = null;
+            }
+            this.watchCounts.clear();
+            check(new ArrayList<>(this.entries.values()));
+        }
+        if (this.monitorThread == null) {
+            this.monitorThread = new Thread(this, "LocalFileMonitor");
+            this.monitorThread.setDaemon(true);
+        }
+        this.monitorThread.start();
+    }
+
+    /**
+     * Stops monitoring the files that have been added.
+     */
+    public void stop() {
+        this.shouldRun = false;
+        if (this.monitorThread != null) {
+            this.monitorThread.interrupt();
+            try {
+                this.monitorThread.join();
+            } catch (final InterruptedException e) {
+                // ignore
+            }
+            this.monitorThread = null;
+        }
+        synchronized (this.entries) {
+            if (this.watchService != null) {
+                try {
+                    this.watchService.close();
+                } catch (final IOException e) {
+                    LOG.warn(e.getLocalizedMessage(), e);
+                }
+                this.watchService = null;
+            }
+            this.watchKeys.clear();
+        }
+    }
+
+    /**
+     * Waits for the events of the watched folders and polls the files which cannot be watched.
+     */
+    @Override
+    public void run() {
+        final WatchService service;
+        synchronized (this.entries) {
+            service = this.watchService;
+        }
+        long nextPollNanos = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted() && this.shouldRun) {
+            try {
+                final long timeoutNanos = Math.max(0, nextPollNanos - System.nanoTime());
+                WatchKey key;
+                if (service != null) {
+                    key = service.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    TimeUnit.NANOSECONDS.sleep(timeoutNanos);
+                    key = null;
+                }
+                synchronized (this.entries) {
+                    while (key != null) {
+                        process(key);
+                        key = service.poll();
+                    }
+                    if (System.nanoTime() - nextPollNanos >= 0) {
+                        check(new ArrayList<>(this.polled));
+                        nextPollNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.delay);
+                    }
+                }
+            } catch (final InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+        }
+        this.shouldRun = true;
+    }
+
+    /**
+     * Handles the events of a watched folder.
+     */
+    private void process(final WatchKey key) {
+        final Path folder = (Path) key.watchable();
+        boolean overflow = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            final WatchEvent.Kind<?> kind = event.kind();
+            if (kind == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            final Path childPath = folder.resolve((Path) event.context());
+            final Entry entry = this.entriesByPath.get(childPath);
+            final Entry parent = this.entriesByPath.get(folder);
+            try {
+                if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                    onCreate(parent, entry, childPath.getFileName().toString());
+                } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                    onDelete(parent, entry, childPath.getFileName().toString());
+                } else if (entry != null) {
+                    check(entry);
+                }
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+        if (!key.reset()) {
+            // the folder is gone or no longer accessible
+            this.watchKeys.remove(folder);
+            overflow = true;
+        }
+        if (overflow) {
+            // poll what the folder reports on
+            final List<Entry> affected = new ArrayList<>();
+            for (final Entry entry : this.entries.values()) {
+                if (folder.equals(entry.watched) || folder.equals(entry.path)) {
+                    affected.add(entry);
+                }
+            }
+            check(affected);
+        }
+    }
+
+    private void onCreate(final Entry parent, final Entry entry, final String baseName) throws FileSystemException {
+        if (entry != null) {
+            check(entry);
+        } else if (parent != null && parent.children != null && parent.children.add(baseName)) {
+            final FileObject child = parent.fileObject.resolveFile(UriParser.encode(baseName), NameScope.CHILD);
+            fireAllCreate(child);
+        }
+    }
+
+    private void onDelete(final Entry parent, final Entry entry, final String baseName) {
+        if (parent != null && parent.children != null) {
+            parent.children.remove(baseName);
+        }
+        if (entry != null) {
+            check(entry);
+        }
+    }
+
+    /**
+     * Checks monitored files, skipping those removed by the events of the previous ones.
+     */
+    private void check(final List<Entry> snapshot) {
+        for (final Entry entry : snapshot) {
+            if (this.entries.get(entry.fileObject.getName()) == entry) {
+                check(entry);
+            }
+        }
+    }
+
+    /**
+     * Compares a monitored file to its last known state and fires the events for the differences.
+     */
+    private void check(final Entry entry) {
+        final FileObject file = entry.fileObject;
+        try {
+            file.refresh();
+            // watch before reading the state, so that no later change is missed
+            watch(entry);
+            final boolean exists = file.exists();
+            if (entry.exists && !exists) {
+                entry.exists = false;
+                entry.timestamp = -1;
+                entry.children = null;
+                ((AbstractFileSystem) file.getFileSystem()).fireFileDeleted(file);
+                // Remove listener in case file is re-created. Don't want to fire twice.
+                if (this.listener != null) {
+                    file.getFileSystem().removeListener(file, this.listener);
+                }
+                removeFile(file);
+                return;
+            }
+            if (!exists) {
+                return;
+            }
+            final long timestamp = file.getContent().getLastModifiedTime();
+            final boolean folder = file.getType().hasChildren();
+            if (!entry.exists) {
+                entry.exists = true;
+                entry.timestamp = timestamp;
+                // Don't fire if it's a folder because new file children
+                // and deleted files in a folder have their own event triggered.
+                if (!folder) {
+                    ((AbstractFileSystem) file.getFileSystem()).fireFileCreated(file);
+                }
+            } else if (entry.timestamp != timestamp) {
+                entry.timestamp = timestamp;
+                if (!folder) {
+                    ((AbstractFileSystem) file.getFileSystem()).fireFileChanged(file);
+                }
+            }
+            if (folder) {
+                checkForNewChildren(entry);
+            }
+        } catch (final FileSystemException fse) {
+            LOG.error(fse.getLocalizedMessage(), fse);
+        }
+    }
+
+    private void checkForNewChildren(final Entry entry) throws FileSystemException {
+        final FileObject[] children = entry.fileObject.getChildren();
+        final Set<String> names = new HashSet<>();
+        final List<FileObject> created = new ArrayList<>();
+        for (final FileObject child : children) {
+            final String baseName = child.getName().getBaseName();
+            names.add(baseName);
+            if (entry.children == null || !entry.children.contains(baseName)) {
+                created.add(child);
+            }
+        }
+        entry.children = names;
+        for (final FileObject child : created) {
+            fireAllCreate(child);
+        }
+    }
+
+    /**
+     * Recursively fires create events for all children if recursive descent is enabled. Otherwise the create event is
+     * only fired for the initial FileObject.
+     *
+     * @param child The child to add.
+     */
+    private void fireAllCreate(final FileObject child) throws FileSystemException {
+        // Add listener so that it can be triggered, unless the file was listed while adding its parent
+        final boolean listening = this.listener != null && !this.entries.containsKey(child.getName());
+        if (listening) {
+            child.getFileSystem().addListener(child, this.listener);
+        }
+
+        ((AbstractFileSystem) child.getFileSystem()).fireFileCreated(child);
+
+        // Remove it because a listener is added in addFile
+        if (listening) {
+            child.getFileSystem().removeListener(child, this.listener);
+        }
+
+        this.addFile(child);
+
+        if (this.recursive && child.getType().hasChildren()) {
+            for (final FileObject element : child.getChildren()) {
+                fireAllCreate(element);
+            }
+        }
+    }
+
+    /**
+     * Watches the folder which reports the changes of an entry: the entry itself for an existing folder, otherwise
+     * its parent folder. An entry without an existing folder to watch is polled.
+     */
+    private void watch(final Entry entry) throws FileSystemException {
+        Path folder = null;
+        if (this.watchService != null) {
+            if (entry.fileObject.getType().hasChildren()) {
+                folder = entry.path;
+            } else if (entry.path.getParent() != null && entry.path.getParent().toFile().isDirectory()) {
+                folder = entry.path.getParent();
+            }
+        }
+        if (folder != null && folder.equals(entry.watched) && this.watchKeys.containsKey(folder)) {
+            return;
+        }
+        unwatch(entry);
+        if (folder != null && register(folder)) {
+            this.watchCounts.merge(folder, 1, Integer::sum);
+            entry.watched = folder;
+            this.polled.remove(entry);
+        } else {
+            this.polled.add(entry);
+        }
+    }
+
+    private boolean register(final Path folder) {
+        if (!this.watchKeys.containsKey(folder)) {
+            try {
+                this.watchKeys.put(folder, folder.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+            } catch (final IOException e) {
+                // keep polling
+                LOG.warn(e.getLocalizedMessage(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops watching the folder of an entry if no other entry needs it.
+     */
+    private void unwatch(final Entry entry) {
+        final Path folder = entry.watched;
+        if (folder == null) {
+            return;
+        }
+        entry.watched = null;
+        if (this.watchCounts.merge(folder, -1, Integer::sum) <= 0) {
+            this.watchCounts.remove(folder);
+            final WatchKey key = this.watchKeys.remove(folder);
+            if (key != null) {
+                key.cancel();
+            }
+        }
+    }
+
+    private static Path toPath(final FileObject file) {
+        try {
+            if (FileObjectUtils.getAbstractFileObject(file) instanceof LocalFile) {
+                return file.getPath().toAbsolutePath();
+            }
+        } catch (final FileSystemException e) {
+            throw new IllegalArgumentException(e);
+        }
+        throw new IllegalArgumentException("Not a local file: " + file);
+    }
+}
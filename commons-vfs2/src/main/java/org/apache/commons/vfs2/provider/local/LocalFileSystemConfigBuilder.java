@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
+import org.apache.commons.vfs2.FileSystemOptions;
+
+/**
+ * Config Builder for the local file system.
+ *
+ * @since 2.8.0
+ */
+public final class LocalFileSystemConfigBuilder extends FileSystemConfigBuilder {
+
+    /** attribute snapshot key. */
+    private static final String ATTRIBUTE_SNAPSHOT_KEY = "attributeSnapshot";
+
+    /** config builder SINGLETON. */
+    private static final LocalFileSystemConfigBuilder SINGLETON = new LocalFileSystemConfigBuilder();
+
+    /**
+     * Constructor
+     */
+    private LocalFileSystemConfigBuilder() {
+        super("local.");
+    }
+
+    /**
+     * Gets the singleton builder.
+     *
+     * @return the singleton builder.
+     */
+    public static LocalFileSystemConfigBuilder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Class<? extends FileSystem> getConfigClass() {
+        return LocalFileSystem.class;
+    }
+
+    /**
+     * Gets whether the attributes of a file are read at once. Defaults to false.
+     *
+     * @param opts The FileSystem options.
+     * @return true if the attributes of a file are read at once.
+     * @see #setAttributeSnapshot(FileSystemOptions, boolean)
+     */
+    public boolean isAttributeSnapshot(final FileSystemOptions opts) {
+        return getBoolean(opts, ATTRIBUTE_SNAPSHOT_KEY, false);
+    }
+
+    /**
+     * Sets whether the attributes of a file are read at once.
+     * <p>
+     * When enabled, the type, size, last modified time, hidden and symbolic link flags of a file are read with a single
+     * {@link java.nio.file.Files#readAttributes(java.nio.file.Path, Class, java.nio.file.LinkOption...)} call when it
+     * is first needed, instead of one call each. They are then answered from that snapshot until the file is
+     * refreshed or changed through its file object, which saves round trips on network file systems. Changes made by
+     * other processes are only seen after a refresh.
+     * </p>
+     * <p>
+     * Listing a folder then also fills in the snapshots of its children while walking the directory, so that a
+     * traversal does not go back to the file system for the type of each child.
+     * </p>
+     *
+     * @param opts The FileSystem options.
+     * @param attributeSnapshot true to read the attributes of a file at once.
+     */
+    public void setAttributeSnapshot(final FileSystemOptions opts, final boolean attributeSnapshot) {
+        setParam(opts, ATTRIBUTE_SNAPSHOT_KEY, Boolean.valueOf(attributeSnapshot));
+    }
+}
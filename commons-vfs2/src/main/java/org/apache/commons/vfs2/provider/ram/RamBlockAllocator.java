@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Allocates the content blocks of the files of a RAM file system, on the heap or in direct buffers, within a quota.
+ * <p>
+ * Blocks are accounted for until the file data releases them. The memory of a released direct buffer is freed when
+ * the buffer is garbage collected.
+ * </p>
+ */
+final class RamBlockAllocator implements Serializable {
+
+    /** Allocates heap blocks without quota, for file data outside of a file system. */
+    static final RamBlockAllocator HEAP = new RamBlockAllocator(false, Long.MAX_VALUE);
+
+    /**
+     * serialVersionUID format is YYYYMMDD for the date of the last binary change.
+     */
+    private static final long serialVersionUID = 20261018L;
+
+    private final boolean direct;
+    private final long quota;
+
+    /** Bytes allocated and not released, recounted when the file data is deserialized. */
+    private transient AtomicLong allocated = new AtomicLong();
+    private transient LongAccumulator peak = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param direct Whether to allocate direct buffers.
+     * @param quota The maximum number of bytes allocated at any time.
+     */
+    RamBlockAllocator(final boolean direct, final long quota) {
+        this.direct = direct;
+        this.quota = quota;
+    }
+
+    /**
+     * Allocates a zeroed block.
+     *
+     * @param capacity The block size.
+     * @return a new block.
+     * @throws IOException if the quota would be exceeded.
+     */
+    ByteBuffer allocate(final int capacity) throws IOException {
+        final long total = allocated.addAndGet(capacity);
+        if (total > quota) {
+            allocated.addAndGet(-capacity);
+            throw new IOException("FileSystem quota (" + quota + ") exceeded.");
+        }
+        peak.accumulate(total);
+        try {
+            return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        } catch (final OutOfMemoryError e) {
+            allocated.addAndGet(-capacity);
+            throw e;
+        }
+    }
+
+    long getAllocated() {
+        return allocated.get();
+    }
+
+    long getPeak() {
+        return peak.get();
+    }
+
+    long getQuota() {
+        return quota;
+    }
+
+    boolean isDirect() {
+        return direct;
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        allocated = new AtomicLong();
+        peak = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Releases a block.
+     *
+     * @param block The block, no longer used.
+     */
+    void release(final ByteBuffer block) {
+        allocated.addAndGet(-block.capacity());
+    }
+}
@@ -16,10 +16,15 @@
  */
 package org.apache.commons.vfs2.provider.ram;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileSystemException;
@@ -27,15 +32,40 @@ import org.apache.commons.vfs2.FileType;
 
 /**
  * RAM File Object Data.
+ * <p>
+ * The content is stored in blocks of {@link #BLOCK_SIZE} bytes, so that growing a file never copies more than one
+ * block and files may be larger than 2 GB. The first block grows geometrically up to the block size, so small files
+ * do not waste a whole block. Blocks are allocated by the {@link RamBlockAllocator} of the file system, on the heap or
+ * off-heap.
+ * </p>
+ * <p>
+ * The children are hashed by base name in a concurrent map, so looking up, listing, adding and removing children do
+ * not lock the folder.
+ * </p>
  */
 class RamFileData implements Serializable {
 
     static final byte[] EMPTY = new byte[0];
 
+    /** The size of the content blocks. */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private static final int BLOCK_SHIFT = 16;
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private static final int MIN_FIRST_BLOCK_SIZE = 32;
+
+    private static final int MAX_BLOCK_COUNT = Integer.MAX_VALUE - 8;
+
+    private static final ByteBuffer[] NO_BLOCKS = {};
+
+    private static final byte[] ZEROS = new byte[4096];
+
     /**
      * serialVersionUID format is YYYYMMDD for the date of the last binary change.
      */
-    private static final long serialVersionUID = 20101208L;
+    private static final long serialVersionUID = 20261018L;
 
     /**
      * File Name.
@@ -45,22 +75,38 @@ class RamFileData implements Serializable {
     /**
      * File Type.
      */
-    private FileType type;
+    private volatile FileType type;
+
+    /**
+     * Allocates the content blocks.
+     */
+    private final RamBlockAllocator allocator;
+
+    /**
+     * Content blocks, only the first one may be shorter than {@link #BLOCK_SIZE}. Serialized as the content bytes.
+     * Guarded by this.
+     */
+    private transient ByteBuffer[] blocks;
+
+    /**
+     * Number of blocks in use. Guarded by this.
+     */
+    private int blockCount;
 
     /**
-     * Bytes.
+     * Content size. Guarded by this.
      */
-    private byte[] content;
+    private long size;
 
     /**
      * Last modified time
      */
-    private long lastModifiedMillis;
+    private volatile long lastModifiedMillis;
 
     /**
-     * Children
+     * Children by base name.
      */
-    private final Collection<RamFileData> children;
+    private final ConcurrentMap<String, RamFileData> children;
 
     /**
      * Constructor.
@@ -68,7 +114,18 @@ class RamFileData implements Serializable {
      * @param name The file name.
      */
     public RamFileData(final FileName name) {
-        this.children = Collections.synchronizedCollection(new ArrayList<RamFileData>());
+        this(name, RamBlockAllocator.HEAP);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name The file name.
+     * @param allocator Allocates the content blocks.
+     */
+    RamFileData(final FileName name, final RamBlockAllocator allocator) {
+        this.allocator = allocator;
+        this.children = new ConcurrentHashMap<>();
         this.clear();
         if (name == null) {
             throw new IllegalArgumentException("name can not be null");
@@ -77,18 +134,181 @@ class RamFileData implements Serializable {
     }
 
     /**
-     * @return Returns the buffer.
+     * Sets the content to a copy of the given bytes.
+     *
+     * @param content The bytes.
+     */
+    synchronized void setContent(final byte[] content) throws IOException {
+        releaseBlocks();
+        resize(content.length);
+        write(0, content, 0, content.length);
+    }
+
+    /**
+     * Takes over the content of another file of the same file system, used when it is renamed.
+     *
+     * @param data The file data to take the content of, left empty.
      */
-    byte[] getContent() {
-        return content;
+    void moveContent(final RamFileData data) {
+        final ByteBuffer[] otherBlocks;
+        final int otherBlockCount;
+        final long otherSize;
+        synchronized (data) {
+            otherBlocks = data.blocks;
+            otherBlockCount = data.blockCount;
+            otherSize = data.size;
+            data.blocks = NO_BLOCKS;
+            data.blockCount = 0;
+            data.size = 0;
+        }
+        synchronized (this) {
+            releaseBlocks();
+            blocks = otherBlocks;
+            blockCount = otherBlockCount;
+            size = otherSize;
+            updateLastModified();
+        }
     }
 
     /**
-     * @param content The buffer.
+     * Replaces the content by a copy of the content of another file of the same file system. The blocks are copied
+     * buffer to buffer, and the locks of both files are never held together.
+     *
+     * @param data The file data to copy the content of.
+     * @throws IOException if the copy exceeds the quota of the file system.
      */
-    void setContent(final byte[] content) {
-        updateLastModified();
-        this.content = content;
+    void copyContent(final RamFileData data) throws IOException {
+        final ByteBuffer[] copyBlocks;
+        final long copySize;
+        synchronized (data) {
+            copyBlocks = new ByteBuffer[data.blockCount];
+            copySize = data.size;
+            int count = 0;
+            try {
+                for (; count < copyBlocks.length; count++) {
+                    final ByteBuffer source = data.blocks[count].duplicate();
+                    source.clear();
+                    final ByteBuffer block = allocator.allocate(source.capacity());
+                    block.put(source);
+                    block.clear();
+                    copyBlocks[count] = block;
+                }
+            } catch (final IOException e) {
+                while (count > 0) {
+                    allocator.release(copyBlocks[--count]);
+                }
+                throw e;
+            }
+        }
+        synchronized (this) {
+            releaseBlocks();
+            blocks = copyBlocks;
+            blockCount = copyBlocks.length;
+            size = copySize;
+            updateLastModified();
+        }
+    }
+
+    private void releaseBlocks() {
+        for (int i = 0; i < blockCount; i++) {
+            allocator.release(blocks[i]);
+        }
+        blocks = NO_BLOCKS;
+        blockCount = 0;
+        size = 0;
+    }
+
+    private static void get(final ByteBuffer block, final int index, final byte[] buffer, final int offset,
+            final int length) {
+        if (block.hasArray()) {
+            System.arraycopy(block.array(), block.arrayOffset() + index, buffer, offset, length);
+        } else {
+            final ByteBuffer source = block.duplicate();
+            source.position(index);
+            source.get(buffer, offset, length);
+        }
+    }
+
+    private static void put(final ByteBuffer block, final int index, final byte[] buffer, final int offset,
+            final int length) {
+        if (block.hasArray()) {
+            System.arraycopy(buffer, offset, block.array(), block.arrayOffset() + index, length);
+        } else {
+            final ByteBuffer target = block.duplicate();
+            target.position(index);
+            target.put(buffer, offset, length);
+        }
+    }
+
+    private static void clear(final ByteBuffer block, final int from, final int to) {
+        for (int index = from; index < to; index += ZEROS.length) {
+            put(block, index, ZEROS, 0, Math.min(ZEROS.length, to - index));
+        }
+    }
+
+    /**
+     * Reads content.
+     *
+     * @param position The position to read from.
+     * @param buffer The buffer to read into.
+     * @param offset The offset in the buffer.
+     * @param length The maximum number of bytes to read.
+     * @return the number of bytes read, or -1 at the end of the content.
+     */
+    synchronized int read(final long position, final byte[] buffer, final int offset, final int length) {
+        if (position >= size) {
+            return length == 0 ? 0 : -1;
+        }
+        final int count = (int) Math.min(length, size - position);
+        long current = position;
+        int done = 0;
+        while (done < count) {
+            final ByteBuffer block = blocks[(int) (current >>> BLOCK_SHIFT)];
+            final int blockOffset = (int) (current & BLOCK_MASK);
+            final int chunk = Math.min(count - done, block.capacity() - blockOffset);
+            get(block, blockOffset, buffer, offset + done, chunk);
+            done += chunk;
+            current += chunk;
+        }
+        return count;
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @param position The position to read from.
+     * @return the unsigned byte, or -1 at the end of the content.
+     */
+    synchronized int read(final long position) {
+        if (position >= size) {
+            return -1;
+        }
+        return blocks[(int) (position >>> BLOCK_SHIFT)].get((int) (position & BLOCK_MASK)) & 0xFF;
+    }
+
+    /**
+     * Writes content, which must have been resized to hold it.
+     *
+     * @param position The position to write to.
+     * @param buffer The buffer to write from.
+     * @param offset The offset in the buffer.
+     * @param length The number of bytes to write.
+     */
+    synchronized void write(final long position, final byte[] buffer, final int offset, final int length) {
+        if (position + length > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("position(%d) + length(%d) > size(%d)", position, length, size));
+        }
+        long current = position;
+        int done = 0;
+        while (done < length) {
+            final ByteBuffer block = blocks[(int) (current >>> BLOCK_SHIFT)];
+            final int blockOffset = (int) (current & BLOCK_MASK);
+            final int chunk = Math.min(length - done, block.capacity() - blockOffset);
+            put(block, blockOffset, buffer, offset + done, chunk);
+            done += chunk;
+            current += chunk;
+        }
     }
 
     /**
@@ -122,7 +342,12 @@ class RamFileData implements Serializable {
     /**
      */
     void clear() {
-        this.content = EMPTY;
+        synchronized (this) {
+            if (this.blocks == null) {
+                this.blocks = NO_BLOCKS;
+            }
+            releaseBlocks();
+        }
         updateLastModified();
         this.type = FileType.IMAGINARY;
         this.children.clear();
@@ -163,12 +388,23 @@ class RamFileData implements Serializable {
 
         FileSystemException.requireNonNull(data, "No child can be null");
 
-        if (this.children.contains(data)) {
+        if (!this.addChildIfAbsent(data)) {
             throw new FileSystemException("Child already exists. " + data);
         }
+    }
 
-        this.children.add(data);
+    /**
+     * Adds a child unless a child with the same name exists.
+     *
+     * @param data The file data.
+     * @return whether the child was added.
+     */
+    boolean addChildIfAbsent(final RamFileData data) {
+        if (this.children.putIfAbsent(data.getName().getBaseName(), data) != null) {
+            return false;
+        }
         updateLastModified();
+        return true;
     }
 
     /**
@@ -181,10 +417,9 @@ class RamFileData implements Serializable {
         if (!this.getType().hasChildren()) {
             throw new FileSystemException("A child can only be removed from a folder");
         }
-        if (!this.children.contains(data)) {
+        if (!this.children.remove(data.getName().getBaseName(), data)) {
             throw new FileSystemException("Child not found. " + data);
         }
-        this.children.remove(data);
         updateLastModified();
     }
 
@@ -195,7 +430,7 @@ class RamFileData implements Serializable {
         if (name == null) {
             throw new IllegalStateException("Data is clear");
         }
-        return children;
+        return children.values();
     }
 
     /*
@@ -226,33 +461,125 @@ class RamFileData implements Serializable {
     }
 
     boolean hasChildren(final RamFileData data) {
-        return this.children.contains(data);
+        return data.equals(this.children.get(data.getName().getBaseName()));
     }
 
     /**
-     * @return Returns the size of the buffer
+     * @return Returns the size of the content.
      */
-    int size() {
-        return content.length;
+    synchronized long size() {
+        return size;
     }
 
     /**
-     * Resize the buffer
+     * Resizes the content. Growing the content allocates the missing blocks only, shrinking it releases the blocks
+     * past the new size and clears the rest of the last block.
      *
-     * @param newSize The new buffer size.
-     */
-    void resize(final long newSize) {
-        // A future implementation may allow longs/multiple buffer/and so on
-        if (newSize > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(
-                    String.format("newSize(%d) > Integer.MAX_VALUE(%d)", newSize, Integer.MAX_VALUE));
-        }
-        final int resize = (int) newSize;
-        final int size = this.size();
-        final byte[] newBuf = new byte[resize];
-        System.arraycopy(this.content, 0, newBuf, 0, Math.min(resize, size));
-        this.content = newBuf;
+     * @param newSize The new content size.
+     */
+    synchronized void resize(final long newSize) throws IOException {
+        if (newSize < 0) {
+            throw new IllegalArgumentException(String.format("newSize(%d) < 0", newSize));
+        }
+        if (newSize < size) {
+            final int newBlockCount = (int) ((newSize + BLOCK_MASK) >>> BLOCK_SHIFT);
+            for (int i = newBlockCount; i < blockCount; i++) {
+                allocator.release(blocks[i]);
+                blocks[i] = null;
+            }
+            blockCount = newBlockCount;
+            if (newBlockCount > 0) {
+                // the bytes past the size are always zero
+                final ByteBuffer last = blocks[newBlockCount - 1];
+                final long base = (long) (newBlockCount - 1) << BLOCK_SHIFT;
+                clear(last, (int) (newSize - base), (int) Math.min(last.capacity(), size - base));
+            }
+        } else if (newSize > size) {
+            ensureCapacity(newSize);
+        }
+        size = newSize;
         updateLastModified();
     }
 
+    private void ensureCapacity(final long capacity) throws IOException {
+        if (capacity <= BLOCK_SIZE) {
+            // small contents only use a first block which grows geometrically
+            final int firstLength = blockCount == 0 ? 0 : blocks[0].capacity();
+            if (firstLength < capacity) {
+                final int length = (int) Math.min(BLOCK_SIZE,
+                        Math.max(capacity, Math.max(MIN_FIRST_BLOCK_SIZE, 2L * firstLength)));
+                growFirstBlock(length);
+            }
+            return;
+        }
+        final long newBlockCount = (capacity + BLOCK_MASK) >>> BLOCK_SHIFT;
+        if (newBlockCount > MAX_BLOCK_COUNT) {
+            throw new IllegalArgumentException(String.format("newSize(%d) is too large", capacity));
+        }
+        if (newBlockCount > blocks.length) {
+            // amortized growth of the block table
+            blocks = Arrays.copyOf(blocks, (int) Math.min(MAX_BLOCK_COUNT, Math.max(newBlockCount, 2L * blocks.length)));
+        }
+        if (blockCount > 0 && blocks[0].capacity() < BLOCK_SIZE) {
+            growFirstBlock(BLOCK_SIZE);
+        }
+        final int oldBlockCount = blockCount;
+        try {
+            while (blockCount < newBlockCount) {
+                blocks[blockCount] = allocator.allocate(BLOCK_SIZE);
+                blockCount++;
+            }
+        } catch (final IOException e) {
+            // over quota, do not keep a partial allocation
+            while (blockCount > oldBlockCount) {
+                blockCount--;
+                allocator.release(blocks[blockCount]);
+                blocks[blockCount] = null;
+            }
+            throw e;
+        }
+    }
+
+    private void growFirstBlock(final int length) throws IOException {
+        final ByteBuffer block = allocator.allocate(length);
+        if (blocks.length == 0) {
+            blocks = new ByteBuffer[1];
+        }
+        if (blockCount > 0) {
+            final ByteBuffer source = blocks[0].duplicate();
+            source.clear();
+            block.put(source);
+            block.clear();
+            allocator.release(blocks[0]);
+        }
+        blocks[0] = block;
+        blockCount = 1;
+    }
+
+    private synchronized void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        final byte[] buffer = new byte[BLOCK_SIZE];
+        for (long position = 0; position < size; position += BLOCK_SIZE) {
+            final int count = read(position, buffer, 0, BLOCK_SIZE);
+            out.write(buffer, 0, count);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final long contentSize = size;
+        final long lastModified = lastModifiedMillis;
+        blocks = NO_BLOCKS;
+        blockCount = 0;
+        size = 0;
+        resize(contentSize);
+        final byte[] buffer = new byte[BLOCK_SIZE];
+        for (long position = 0; position < contentSize; position += BLOCK_SIZE) {
+            final int count = (int) Math.min(BLOCK_SIZE, contentSize - position);
+            in.readFully(buffer, 0, count);
+            write(position, buffer, 0, count);
+        }
+        lastModifiedMillis = lastModified;
+    }
+
 }
@@ -16,7 +16,6 @@
  */
 package org.apache.commons.vfs2.provider.ram;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -97,7 +96,7 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
             throw new FileSystemException("vfs.provider/read-not-file.error", getName());
         }
 
-        return new ByteArrayInputStream(this.data.getContent());
+        return new RamFileInputStream(this.data);
     }
 
     /*
@@ -171,6 +170,18 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
         getAbstractFileSystem().rename(this, newRamFileObject);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.apache.commons.vfs2.provider.AbstractFileObject#doCopyFrom(org.apache.commons.vfs2.FileObject)
+     */
+    @Override
+    protected void doCopyFrom(final FileObject srcFile) throws Exception {
+        final RamFileData srcData = ((RamFileObject) FileObjectUtils.getAbstractFileObject(srcFile)).getData();
+        checkMaxSize(srcData.size());
+        this.data.copyContent(srcData);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -231,7 +242,7 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
     /**
      * @return Returns the size of the {@link RamFileData}.
      */
-    int size() {
+    long size() {
         return data == null ? 0 : data.size();
     }
 
@@ -240,15 +251,22 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
      * @throws IOException if the new size exceeds the limit
      */
     synchronized void resize(final long newSize) throws IOException {
+        checkMaxSize(newSize);
+        this.data.resize(newSize);
+    }
+
+    /**
+     * Checks that this file can grow or shrink to a new size within the maximum size of the file system.
+     */
+    private void checkMaxSize(final long newSize) throws IOException {
         final RamFileSystem afs = getAbstractFileSystem();
         final FileSystemOptions afsOptions = afs.getFileSystemOptions();
         if (afsOptions != null) {
             final long maxSize = RamFileSystemConfigBuilder.getInstance().getLongMaxSize(afsOptions);
-            if (afs.size() + newSize - this.size() > maxSize) {
+            if (maxSize < Long.MAX_VALUE && afs.size() + newSize - this.size() > maxSize) {
                 throw new IOException("FileSystem capacity (" + maxSize + ") exceeded.");
             }
         }
-        this.data.resize(newSize);
     }
 
 }
@@ -33,14 +33,17 @@ import org.apache.commons.vfs2.util.RandomAccessMode;
 public class RamFileRandomAccessContent implements RandomAccessContent {
 
     /**
-     * File Pointer
+     * File Pointer, capped to {@link Integer#MAX_VALUE}.
+     *
+     * @deprecated Files may be larger than 2 GB, use {@link #getFilePointer()}.
      */
+    @Deprecated
     protected int filePointer;
 
     /**
-     * Buffer
+     * File Pointer
      */
-    private byte[] buf;
+    private long position;
 
     /**
      * buffer
@@ -76,7 +79,6 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      * @param mode The access mode.
      */
     public RamFileRandomAccessContent(final RamFileObject file, final RandomAccessMode mode) {
-        this.buf = file.getData().getContent();
         this.file = file;
 
         rafis = new InputStream() {
@@ -91,8 +93,9 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
 
             @Override
             public long skip(final long n) throws IOException {
-                seek(getFilePointer() + n);
-                return n;
+                final long skipped = Math.max(0, Math.min(n, getLeftBytes()));
+                seek(getFilePointer() + skipped);
+                return skipped;
             }
 
             @Override
@@ -106,18 +109,16 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
 
             @Override
             public int read(final byte[] b, final int off, final int len) throws IOException {
-                int retLen = -1;
-                final int left = getLeftBytes();
-                if (left > 0) {
-                    retLen = Math.min(len, left);
-                    RamFileRandomAccessContent.this.readFully(b, off, retLen);
+                final int count = file.getData().read(position, b, off, len);
+                if (count > 0) {
+                    setPosition(position + count);
                 }
-                return retLen;
+                return count;
             }
 
             @Override
             public int available() throws IOException {
-                return getLeftBytes();
+                return (int) Math.max(0, Math.min(Integer.MAX_VALUE, getLeftBytes()));
             }
         };
     }
@@ -129,7 +130,7 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public long getFilePointer() throws IOException {
-        return this.filePointer;
+        return this.position;
     }
 
     /*
@@ -142,7 +143,12 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
         if (pos < 0) {
             throw new IOException("Attempt to position before the start of the file");
         }
-        this.filePointer = (int) pos;
+        setPosition(pos);
+    }
+
+    private void setPosition(final long pos) {
+        this.position = pos;
+        this.filePointer = (int) Math.min(pos, Integer.MAX_VALUE);
     }
 
     /*
@@ -152,7 +158,7 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public long length() throws IOException {
-        return buf.length;
+        return file.getData().size();
     }
 
     /*
@@ -224,10 +230,12 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public int readUnsignedByte() throws IOException {
-        if (filePointer < buf.length) {
-            return buf[filePointer++] & BYTE_VALUE_MASK;
+        final int b = file.getData().read(position);
+        if (b < 0) {
+            throw new EOFException();
         }
-        throw new EOFException();
+        setPosition(position + 1);
+        return b;
     }
 
     /*
@@ -284,9 +292,9 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
             throw new IndexOutOfBoundsException("The skip number can't be negative");
         }
 
-        final long newPos = filePointer + n;
+        final long newPos = position + n;
 
-        if (newPos > buf.length) {
+        if (newPos > length()) {
             throw new IndexOutOfBoundsException("Tyring to skip too much bytes");
         }
 
@@ -321,13 +329,12 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
                     "Read length (" + len + ") is higher than buffer left bytes (" + this.getLeftBytes() + ") ");
         }
 
-        System.arraycopy(buf, filePointer, b, off, len);
-
-        filePointer += len;
+        file.getData().read(position, b, off, len);
+        setPosition(position + len);
     }
 
-    private int getLeftBytes() {
-        return buf.length - filePointer;
+    private long getLeftBytes() {
+        return file.getData().size() - position;
     }
 
     /*
@@ -348,12 +355,10 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
     @Override
     public void write(final byte[] b, final int off, final int len) throws IOException {
         if (this.getLeftBytes() < len) {
-            final int newSize = this.buf.length + len - this.getLeftBytes();
-            this.file.resize(newSize);
-            this.buf = this.file.getData().getContent();
+            this.file.resize(position + len);
         }
-        System.arraycopy(b, off, this.buf, filePointer, len);
-        this.filePointer += len;
+        this.file.getData().write(position, b, off, len);
+        setPosition(position + len);
     }
 
     /*
@@ -580,6 +585,5 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
     @Override
     public void setLength(final long newLength) throws IOException {
         this.file.resize(newLength);
-        this.buf = this.file.getData().getContent();
     }
 }
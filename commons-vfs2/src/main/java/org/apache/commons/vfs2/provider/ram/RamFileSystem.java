@@ -20,9 +20,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileContent;
@@ -36,6 +35,10 @@ import org.apache.commons.vfs2.provider.AbstractFileSystem;
 
 /**
  * A RAM File System.
+ * <p>
+ * The file data are kept in a concurrent map by name and each folder hashes its children by base name, so reads do not
+ * lock and concurrent updates of different files do not contend.
+ * </p>
  */
 public class RamFileSystem extends AbstractFileSystem implements Serializable {
 
@@ -44,22 +47,30 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
     /**
      * serialVersionUID format is YYYYMMDD for the date of the last binary change.
      */
-    private static final long serialVersionUID = 20101208L;
+    private static final long serialVersionUID = 20261018L;
 
     /**
      * Cache of RAM File Data
      */
     private final Map<FileName, RamFileData> cache;
 
+    /**
+     * Allocates the content of the files.
+     */
+    private final RamBlockAllocator allocator;
+
     /**
      * @param rootName The root file name.
      * @param fileSystemOptions The FileSystem options.
      */
     protected RamFileSystem(final FileName rootName, final FileSystemOptions fileSystemOptions) {
         super(rootName, null, fileSystemOptions);
-        this.cache = Collections.synchronizedMap(new HashMap<FileName, RamFileData>());
+        this.cache = new ConcurrentHashMap<>();
+        final RamFileSystemConfigBuilder builder = RamFileSystemConfigBuilder.getInstance();
+        this.allocator = new RamBlockAllocator(builder.isDirectBuffers(fileSystemOptions),
+                builder.getQuota(fileSystemOptions));
         // create root
-        final RamFileData rootData = new RamFileData(rootName);
+        final RamFileData rootData = new RamFileData(rootName, allocator);
         rootData.setType(FileType.FOLDER);
         rootData.setLastModified(System.currentTimeMillis());
         this.cache.put(rootName, rootData);
@@ -94,14 +105,7 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
         if (data == null || !data.getType().hasChildren()) {
             return null;
         }
-        final Collection<RamFileData> children = data.getChildren();
-        final String[] names;
-
-        synchronized (children) {
-            names = children.stream().map(childData -> childData.getName().getBaseName()).toArray(String[]::new);
-        }
-
-        return names;
+        return data.getChildren().stream().map(childData -> childData.getName().getBaseName()).toArray(String[]::new);
     }
 
     /**
@@ -140,11 +144,12 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
 
         // Add to the parent
         if (file.getName().getDepth() > 0) {
-            final RamFileData parentData = this.cache.get(file.getParent().getName());
+            final RamFileObject parent = (RamFileObject) file.getParent();
+            if (!parent.getData().getType().hasChildren()) {
+                throw new FileSystemException("A child can only be added in a folder");
+            }
             // Only if not already added
-            if (!parentData.hasChildren(file.getData())) {
-                final RamFileObject parent = (RamFileObject) file.getParent();
-                parent.getData().addChild(file.getData());
+            if (parent.getData().addChildIfAbsent(file.getData())) {
                 parent.close();
             }
         }
@@ -165,7 +170,7 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
         }
         // Copy data
 
-        to.getData().setContent(from.getData().getContent());
+        to.getData().moveContent(from.getData());
         to.getData().setLastModified(from.getData().getLastModified());
         to.getData().setType(from.getData().getType());
 
@@ -179,7 +184,7 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
         }
         RamFileData data = this.cache.get(fo.getName());
         if (data == null) {
-            data = new RamFileData(fo.getName());
+            data = new RamFileData(fo.getName(), allocator);
         }
         fo.setData(data);
     }
@@ -230,19 +235,42 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
      */
     long size() {
         long size = 0;
-        synchronized (cache) {
-            for (final RamFileData data : cache.values()) {
-                size += data.size();
-            }
+        for (final RamFileData data : cache.values()) {
+            size += data.size();
         }
         return size;
     }
 
+    /**
+     * Gets the number of bytes currently allocated for the content of the files, including the unused part of the
+     * last block of each file.
+     *
+     * @return the allocated bytes.
+     * @since 2.8.0
+     */
+    public long getAllocatedSize() {
+        return allocator.getAllocated();
+    }
+
+    /**
+     * Gets the highest number of bytes allocated at once for the content of the files.
+     *
+     * @return the peak allocated bytes.
+     * @since 2.8.0
+     */
+    public long getPeakAllocatedSize() {
+        return allocator.getPeak();
+    }
+
     /**
      * Close the RAMFileSystem.
      */
     @Override
     public void close() {
+        // release the content blocks
+        for (final RamFileData data : cache.values()) {
+            data.clear();
+        }
         this.cache.clear();
         super.close();
     }
@@ -28,6 +28,12 @@ public final class RamFileSystemConfigBuilder extends FileSystemConfigBuilder {
     /** max size key. */
     private static final String MAX_SIZE_KEY = "maxsize";
 
+    /** direct buffers key. */
+    private static final String DIRECT_BUFFERS_KEY = "directBuffers";
+
+    /** quota key. */
+    private static final String QUOTA_KEY = "quota";
+
     /** config builder SINGLETON. */
     private static final RamFileSystemConfigBuilder SINGLETON = new RamFileSystemConfigBuilder();
 
@@ -55,6 +61,30 @@ public final class RamFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return RamFileSystem.class;
     }
 
+    /**
+     * Gets the maximum number of bytes allocated for file contents, defaults to {@link Long#MAX_VALUE}.
+     *
+     * @param opts The FileSystem options.
+     * @return The quota in bytes.
+     * @see #setQuota(FileSystemOptions, long)
+     * @since 2.8.0
+     */
+    public long getQuota(final FileSystemOptions opts) {
+        return getLong(opts, QUOTA_KEY, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets whether file contents are stored in direct buffers, outside of the Java heap. Defaults to false.
+     *
+     * @param opts The FileSystem options.
+     * @return true if file contents are stored off-heap.
+     * @see #setDirectBuffers(FileSystemOptions, boolean)
+     * @since 2.8.0
+     */
+    public boolean isDirectBuffers(final FileSystemOptions opts) {
+        return getBoolean(opts, DIRECT_BUFFERS_KEY, false);
+    }
+
     /**
      * Defaults to {@link Integer#MAX_VALUE}.
      *
@@ -100,4 +130,30 @@ public final class RamFileSystemConfigBuilder extends FileSystemConfigBuilder {
         setParam(opts, MAX_SIZE_KEY, Long.valueOf(sizeInBytes));
     }
 
+    /**
+     * Sets whether file contents are stored in direct buffers, outside of the Java heap, so that large files do not
+     * grow the heap. The memory of deleted content is freed when its buffers are garbage collected, limit it with
+     * {@code -XX:MaxDirectMemorySize} and {@link #setQuota(FileSystemOptions, long)}.
+     *
+     * @param opts The FileSystem options.
+     * @param directBuffers true to store file contents off-heap.
+     * @since 2.8.0
+     */
+    public void setDirectBuffers(final FileSystemOptions opts, final boolean directBuffers) {
+        setParam(opts, DIRECT_BUFFERS_KEY, toBooleanObject(directBuffers));
+    }
+
+    /**
+     * Sets the maximum number of bytes allocated for file contents. Unlike the maximum size, the quota counts the
+     * allocated blocks, and writes which would exceed it fail with an IOException.
+     *
+     * @param opts The FileSystem options.
+     * @param sizeInBytes The quota in bytes.
+     * @see RamFileSystem#getAllocatedSize()
+     * @since 2.8.0
+     */
+    public void setQuota(final FileSystemOptions opts, final long sizeInBytes) {
+        setParam(opts, QUOTA_KEY, Long.valueOf(sizeInBytes));
+    }
+
 }
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Vector;
 
 import org.apache.commons.vfs2.FileNotFoundException;
@@ -51,7 +53,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
 
     private static final long MOD_TIME_FACTOR = 1000L;
 
-    private SftpATTRS attrs;
+    private volatile SftpATTRS attrs;
     private final String relPath;
 
     private boolean inRefresh;
@@ -94,15 +96,21 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
      */
     @Override
     protected void onChange() throws Exception {
+        getAbstractFileSystem().removeDirectoryAttributes(getName());
         statSelf();
     }
 
     /**
-     * Fetches file attributes from server.
+     * Fetches file attributes from the last listing of the parent folder, or from the server.
      *
      * @throws IOException
      */
     private void statSelf() throws IOException {
+        final SftpATTRS listedAttrs = getAbstractFileSystem().getDirectoryAttributes(getName());
+        if (listedAttrs != null) {
+            setStat(listedAttrs);
+            return;
+        }
         ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
             setStat(channel.stat(relPath));
@@ -111,6 +119,8 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
                 // maybe the channel has some problems, so recreate the channel and retry
                 if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
                     channel.disconnect();
+                    // a disconnected channel is dropped by the pool
+                    getAbstractFileSystem().putChannel(channel);
                     channel = getAbstractFileSystem().getChannel();
                     setStat(channel.stat(relPath));
                 } else {
@@ -148,6 +158,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
             channel.mkdir(relPath);
+            getAbstractFileSystem().removeDirectoryAttributes(getName());
         } finally {
             getAbstractFileSystem().putChannel(channel);
         }
@@ -180,6 +191,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
             channel.setStat(relPath, attrs);
+            getAbstractFileSystem().removeDirectoryAttributes(getName());
         } finally {
             getAbstractFileSystem().putChannel(channel);
         }
@@ -197,6 +209,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
             } else {
                 channel.rmdir(relPath);
             }
+            getAbstractFileSystem().removeDirectoryAttributes(getName());
         } finally {
             getAbstractFileSystem().putChannel(channel);
         }
@@ -211,6 +224,8 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         try {
             final SftpFileObject newSftpFileObject = (SftpFileObject) FileObjectUtils.getAbstractFileObject(newFile);
             channel.rename(relPath, newSftpFileObject.relPath);
+            getAbstractFileSystem().removeDirectoryAttributes(getName());
+            getAbstractFileSystem().removeDirectoryAttributes(newFile.getName());
         } finally {
             getAbstractFileSystem().putChannel(channel);
         }
@@ -357,9 +372,11 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
 
         // Extract the child names
         final ArrayList<FileObject> children = new ArrayList<>();
+        final Map<String, SftpATTRS> childAttrs = new HashMap<>();
         for (@SuppressWarnings("unchecked") // OK because ChannelSftp.ls() is documented to return Vector<LsEntry>
         final Iterator<LsEntry> iterator = (Iterator<LsEntry>) vector.iterator(); iterator.hasNext();) {
             final LsEntry stat = iterator.next();
+            childAttrs.put(stat.getFilename(), stat.getAttrs());
 
             String name = stat.getFilename();
             if (VFS.isUriStyle() && stat.getAttrs().isDir() && name.charAt(name.length() - 1) != '/') {
@@ -377,6 +394,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
 
             children.add(fo);
         }
+        getAbstractFileSystem().putDirectoryAttributes(getName(), childAttrs);
 
         return children.toArray(FileObjectUtils.EMPTY_ARRAY);
     }
@@ -429,42 +447,39 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
         // VFS-113: avoid npe
-        synchronized (getAbstractFileSystem()) {
-            final ChannelSftp channel = getAbstractFileSystem().getChannel();
-            try {
-                // return channel.get(getName().getPath());
-                // hmmm - using the in memory method is soooo much faster ...
-
-                // TODO - Don't read the entire file into memory. Use the
-                // stream-based methods on ChannelSftp once they work properly
+        synchronized (getLock()) {
+            // VFS-210: sftp allows to gather an input stream even from a directory and will
+            // fail on first read. So we need to check the type anyway, before taking a channel
+            // as the type may need one too
+            if (!getType().hasContent()) {
+                throw new FileSystemException("vfs.provider/read-not-file.error", getName());
+            }
 
-                /*
-                 * final ByteArrayOutputStream outstr = new ByteArrayOutputStream(); channel.get(relPath, outstr);
-                 * outstr.close(); return new ByteArrayInputStream(outstr.toByteArray());
-                 */
+            final ChannelSftp channel = getAbstractFileSystem().getChannel();
+            // return channel.get(getName().getPath());
+            // hmmm - using the in memory method is soooo much faster ...
 
-                final InputStream inputStream;
-                try {
-                    // VFS-210: sftp allows to gather an input stream even from a directory and will
-                    // fail on first read. So we need to check the type anyway
-                    if (!getType().hasContent()) {
-                        throw new FileSystemException("vfs.provider/read-not-file.error", getName());
-                    }
+            // TODO - Don't read the entire file into memory. Use the
+            // stream-based methods on ChannelSftp once they work properly
 
-                    inputStream = channel.get(relPath);
-                } catch (final SftpException e) {
-                    if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
-                        throw new FileNotFoundException(getName());
-                    }
+            /*
+             * final ByteArrayOutputStream outstr = new ByteArrayOutputStream(); channel.get(relPath, outstr);
+             * outstr.close(); return new ByteArrayInputStream(outstr.toByteArray());
+             */
 
-                    throw new FileSystemException(e);
+            final InputStream inputStream;
+            try {
+                inputStream = channel.get(relPath);
+            } catch (final SftpException e) {
+                getAbstractFileSystem().putChannel(channel);
+                if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                    throw new FileNotFoundException(getName());
                 }
 
-                return new SftpInputStream(channel, inputStream, bufferSize);
-
-            } finally {
-                // getAbstractFileSystem().putChannel(channel);
+                throw new FileSystemException(e);
             }
+
+            return new SftpInputStream(channel, inputStream, bufferSize);
         }
     }
 
@@ -480,7 +495,13 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
          */
 
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
-        return new SftpOutputStream(channel, channel.put(relPath, bAppend ? ChannelSftp.APPEND : ChannelSftp.OVERWRITE));
+        try {
+            return new SftpOutputStream(channel,
+                    channel.put(relPath, bAppend ? ChannelSftp.APPEND : ChannelSftp.OVERWRITE));
+        } catch (final SftpException e) {
+            getAbstractFileSystem().putChannel(channel);
+            throw e;
+        }
     }
 
     /**
@@ -19,23 +19,32 @@ package org.apache.commons.vfs2.provider.sftp;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.vfs2.Capability;
+import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ConnectionPool;
 import org.apache.commons.vfs2.provider.GenericFileName;
+import org.apache.commons.vfs2.provider.UriParser;
 
 import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
 
 /**
@@ -53,6 +62,23 @@ public class SftpFileSystem extends AbstractFileSystem {
 
     private static final long LAST_MOD_TIME_ACCURACY = 1000L;
 
+    /**
+     * The attributes of the children of a folder, from one listing.
+     */
+    private static final class DirectoryAttributes {
+        private final Map<String, SftpATTRS> attrs;
+        private final long expiresAtNanos;
+
+        DirectoryAttributes(final Map<String, SftpATTRS> attrs, final long expiresAtNanos) {
+            this.attrs = attrs;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(final long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
     /**
      * Session; never null.
      * <p>
@@ -61,10 +87,16 @@ public class SftpFileSystem extends AbstractFileSystem {
      */
     private volatile Session session;
 
-    private volatile ChannelSftp idleChannel;
+    private final ConnectionPool<ChannelSftp> channelPool;
 
     private final int connectTimeoutMillis;
 
+    /** How long listed attributes are reused, 0 to not keep them. */
+    private final long directoryAttributesTimeoutNanos;
+
+    /** The attributes of the last listing of folders, by folder name. */
+    private final ConcurrentMap<FileName, DirectoryAttributes> directoryAttributes = new ConcurrentHashMap<>();
+
     /**
      * Cache for the user ID (-1 when not set)
      * <p>
@@ -92,6 +124,43 @@ public class SftpFileSystem extends AbstractFileSystem {
         this.session = Objects.requireNonNull(session, "session");
         this.connectTimeoutMillis = SftpFileSystemConfigBuilder.getInstance()
                 .getConnectTimeoutMillis(fileSystemOptions);
+        this.directoryAttributesTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(SftpFileSystemConfigBuilder.getInstance()
+                .getDirectoryAttributesTimeoutMillis(fileSystemOptions).longValue());
+
+        final SftpFileSystemConfigBuilder builder = SftpFileSystemConfigBuilder.getInstance();
+        this.channelPool = new ConnectionPool.Builder<>(new ConnectionPool.Connector<ChannelSftp>() {
+            @Override
+            public ChannelSftp connect() throws FileSystemException {
+                return createChannel();
+            }
+
+            @Override
+            public void disconnect(final ChannelSftp channel) {
+                channel.disconnect();
+            }
+
+            @Override
+            public boolean isConnected(final ChannelSftp channel) {
+                return channel.isConnected() && !channel.isClosed();
+            }
+
+            @Override
+            public boolean validate(final ChannelSftp channel) {
+                try {
+                    channel.realpath(".");
+                    return true;
+                } catch (final SftpException e) {
+                    return false;
+                }
+            }
+        }).setExhaustedCode("vfs.provider.sftp/channel-pool-exhausted.error")
+                .setMaxTotal(builder.getChannelPoolMaxTotal(fileSystemOptions).intValue())
+                .setMaxIdle(builder.getChannelPoolMaxIdle(fileSystemOptions).intValue())
+                .setMinIdle(builder.getChannelPoolMinIdle(fileSystemOptions).intValue())
+                .setMaxWait(Duration.ofMillis(builder.getChannelPoolMaxWaitMillis(fileSystemOptions).longValue()))
+                .setIdleTimeout(
+                        Duration.ofMillis(builder.getChannelPoolIdleTimeoutMillis(fileSystemOptions).longValue()))
+                .setValidateOnBorrow(builder.isChannelPoolValidateOnBorrow(fileSystemOptions)).build();
 
         if (SftpFileSystemConfigBuilder.getInstance().isDisableDetectExecChannel(fileSystemOptions)) {
             this.execDisabled = true;
@@ -102,14 +171,7 @@ public class SftpFileSystem extends AbstractFileSystem {
 
     @Override
     protected void doCloseCommunicationLink() {
-        if (idleChannel != null) {
-            synchronized (this) {
-                if (idleChannel != null) {
-                    idleChannel.disconnect();
-                    idleChannel = null;
-                }
-            }
-        }
+        channelPool.clear();
 
         if (session != null) {
             session.disconnect();
@@ -124,42 +186,40 @@ public class SftpFileSystem extends AbstractFileSystem {
      * @throws IOException         if an I/O error is detected.
      */
     protected ChannelSftp getChannel() throws IOException {
-        try {
-            // Use the pooled channel, or create a new one
-            ChannelSftp channel = null;
-            if (idleChannel != null) {
-                synchronized (this) {
-                    if (idleChannel != null) {
-                        channel = idleChannel;
-                        idleChannel = null;
-                    }
-                }
+        // Use a pooled channel, or create a new one
+        final ChannelSftp channel = channelPool.borrowConnection();
+
+        final String fileNameEncoding = SftpFileSystemConfigBuilder.getInstance()
+                .getFileNameEncoding(getFileSystemOptions());
+
+        if (fileNameEncoding != null) {
+            try {
+                channel.setFilenameEncoding(fileNameEncoding);
+            } catch (final SftpException e) {
+                putChannel(channel);
+                throw new FileSystemException("vfs.provider.sftp/filename-encoding.error", fileNameEncoding);
             }
+        }
+        return channel;
+    }
 
-            if (channel == null) {
-                channel = (ChannelSftp) getSession().openChannel("sftp");
-                channel.connect(connectTimeoutMillis);
-                final Boolean userDirIsRoot = SftpFileSystemConfigBuilder.getInstance()
-                        .getUserDirIsRoot(getFileSystemOptions());
-                final String workingDirectory = getRootName().getPath();
-                if (workingDirectory != null && (userDirIsRoot == null || !userDirIsRoot.booleanValue())) {
-                    try {
-                        channel.cd(workingDirectory);
-                    } catch (final SftpException e) {
-                        throw new FileSystemException("vfs.provider.sftp/change-work-directory.error", workingDirectory,
-                                e);
-                    }
-                }
-            }
-
-            final String fileNameEncoding = SftpFileSystemConfigBuilder.getInstance()
-                    .getFileNameEncoding(getFileSystemOptions());
-
-            if (fileNameEncoding != null) {
+    /**
+     * Opens and connects a new SFTP channel for the pool.
+     */
+    private ChannelSftp createChannel() throws FileSystemException {
+        try {
+            final ChannelSftp channel = (ChannelSftp) getSession().openChannel("sftp");
+            channel.connect(connectTimeoutMillis);
+            final Boolean userDirIsRoot = SftpFileSystemConfigBuilder.getInstance()
+                    .getUserDirIsRoot(getFileSystemOptions());
+            final String workingDirectory = getRootName().getPath();
+            if (workingDirectory != null && (userDirIsRoot == null || !userDirIsRoot.booleanValue())) {
                 try {
-                    channel.setFilenameEncoding(fileNameEncoding);
+                    channel.cd(workingDirectory);
                 } catch (final SftpException e) {
-                    throw new FileSystemException("vfs.provider.sftp/filename-encoding.error", fileNameEncoding);
+                    channel.disconnect();
+                    throw new FileSystemException("vfs.provider.sftp/change-work-directory.error", workingDirectory,
+                            e);
                 }
             }
             return channel;
@@ -192,19 +252,110 @@ public class SftpFileSystem extends AbstractFileSystem {
      * @param channel the used channel.
      */
     protected void putChannel(final ChannelSftp channel) {
-        if (idleChannel == null) {
-            synchronized (this) {
-                if (idleChannel == null) {
-                    // put back the channel only if it is still connected
-                    if (channel.isConnected() && !channel.isClosed()) {
-                        idleChannel = channel;
-                    }
-                } else {
-                    channel.disconnect();
-                }
+        channelPool.returnConnection(channel);
+    }
+
+    /**
+     * Gets the number of channels borrowed from the pool so far.
+     *
+     * @return the number of {@link #getChannel()} calls.
+     * @since 2.8.0
+     */
+    public long getChannelBorrowCount() {
+        return channelPool.getBorrowCount();
+    }
+
+    /**
+     * Gets the total time spent borrowing channels, including waiting for a free one and opening new ones.
+     *
+     * @return the total borrow time in nanoseconds.
+     * @since 2.8.0
+     */
+    public long getChannelBorrowWaitNanos() {
+        return channelPool.getBorrowWaitNanos();
+    }
+
+    /**
+     * Gets the number of channels opened so far.
+     *
+     * @return the number of channels opened.
+     * @since 2.8.0
+     */
+    public long getChannelCreationCount() {
+        return channelPool.getCreationCount();
+    }
+
+    /**
+     * Gets the number of channels currently borrowed.
+     *
+     * @return the number of channels in use.
+     * @since 2.8.0
+     */
+    public int getActiveChannelCount() {
+        return channelPool.getActiveCount();
+    }
+
+    /**
+     * Gets the number of idle channels in the pool.
+     *
+     * @return the number of idle channels.
+     * @since 2.8.0
+     */
+    public int getIdleChannelCount() {
+        return channelPool.getIdleCount();
+    }
+
+    /**
+     * Keeps the attributes from a listing of a folder, to answer the stat requests of its children.
+     *
+     * @param folder the name of the listed folder.
+     * @param attrs  the attributes of the children by (decoded) base name.
+     */
+    void putDirectoryAttributes(final FileName folder, final Map<String, SftpATTRS> attrs) {
+        if (directoryAttributesTimeoutNanos <= 0) {
+            return;
+        }
+        final long nowNanos = System.nanoTime();
+        // drop the listings which will not be asked for anymore
+        directoryAttributes.values().removeIf(entry -> entry.isExpired(nowNanos));
+        directoryAttributes.put(folder, new DirectoryAttributes(attrs, nowNanos + directoryAttributesTimeoutNanos));
+    }
+
+    /**
+     * Gets the attributes of a file from the last listing of its folder.
+     *
+     * @param file the name of the file.
+     * @return the attributes, or null if its folder was not listed lately or did not contain the file.
+     * @throws FileSystemException if the name cannot be decoded.
+     */
+    SftpATTRS getDirectoryAttributes(final FileName file) throws FileSystemException {
+        if (directoryAttributes.isEmpty()) {
+            return null;
+        }
+        final FileName folder = file.getParent();
+        final DirectoryAttributes entry = folder == null ? null : directoryAttributes.get(folder);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            directoryAttributes.remove(folder, entry);
+            return null;
+        }
+        return entry.attrs.get(UriParser.decode(file.getBaseName()));
+    }
+
+    /**
+     * Drops the listed attributes of a changed file, and those of its children if it is a folder.
+     *
+     * @param file the name of the changed file.
+     */
+    void removeDirectoryAttributes(final FileName file) {
+        if (!directoryAttributes.isEmpty()) {
+            directoryAttributes.remove(file);
+            final FileName folder = file.getParent();
+            if (folder != null) {
+                directoryAttributes.remove(folder);
             }
-        } else {
-            channel.disconnect();
         }
     }
 
@@ -78,6 +78,18 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
 
     private static final int DEFAULT_SESSION_TIMEOUT_MILLIS = 0;
 
+    private static final int DEFAULT_DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS = 0;
+
+    private static final int DEFAULT_CHANNEL_POOL_IDLE_TIMEOUT_MILLIS = 0;
+
+    private static final int DEFAULT_CHANNEL_POOL_MAX_IDLE = 1;
+
+    private static final int DEFAULT_CHANNEL_POOL_MAX_TOTAL = 0;
+
+    private static final int DEFAULT_CHANNEL_POOL_MAX_WAIT_MILLIS = 0;
+
+    private static final int DEFAULT_CHANNEL_POOL_MIN_IDLE = 0;
+
     private static final String _PREFIX = SftpFileSystemConfigBuilder.class.getName();
     private static final SftpFileSystemConfigBuilder BUILDER = new SftpFileSystemConfigBuilder();
     private static final String COMPRESSION = _PREFIX + "COMPRESSION";
@@ -99,6 +111,13 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
     private static final String PROXY_PASSWORD = _PREFIX + ".PROXY_PASSWORD";
     private static final String PROXY_PORT = _PREFIX + ".PROXY_PORT";
     private static final String DISABLE_DETECT_EXEC_CHANNEL = _PREFIX + ".DISABLE_DETECT_EXEC_CHANNEL";
+    private static final String CHANNEL_POOL_IDLE_TIMEOUT_MILLIS = _PREFIX + ".CHANNEL_POOL_IDLE_TIMEOUT_MILLIS";
+    private static final String CHANNEL_POOL_MAX_IDLE = _PREFIX + ".CHANNEL_POOL_MAX_IDLE";
+    private static final String CHANNEL_POOL_MAX_TOTAL = _PREFIX + ".CHANNEL_POOL_MAX_TOTAL";
+    private static final String CHANNEL_POOL_MAX_WAIT_MILLIS = _PREFIX + ".CHANNEL_POOL_MAX_WAIT_MILLIS";
+    private static final String CHANNEL_POOL_MIN_IDLE = _PREFIX + ".CHANNEL_POOL_MIN_IDLE";
+    private static final String CHANNEL_POOL_VALIDATE_ON_BORROW = _PREFIX + ".CHANNEL_POOL_VALIDATE_ON_BORROW";
+    private static final String DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS = _PREFIX + ".DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS";
 
     /** HTTP Proxy. */
     public static final ProxyType PROXY_HTTP = new ProxyType("http");
@@ -164,6 +183,56 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getParam(opts, CONFIG_REPOSITORY);
     }
 
+    /**
+     * @param opts The FileSystem options.
+     * @return How long a pooled channel may stay idle, in milliseconds.
+     * @see #setChannelPoolIdleTimeoutMillis
+     * @since 2.8.0
+     */
+    public Integer getChannelPoolIdleTimeoutMillis(final FileSystemOptions opts) {
+        return this.getInteger(opts, CHANNEL_POOL_IDLE_TIMEOUT_MILLIS, DEFAULT_CHANNEL_POOL_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return The maximum number of idle channels kept for reuse.
+     * @see #setChannelPoolMaxIdle
+     * @since 2.8.0
+     */
+    public Integer getChannelPoolMaxIdle(final FileSystemOptions opts) {
+        return this.getInteger(opts, CHANNEL_POOL_MAX_IDLE, DEFAULT_CHANNEL_POOL_MAX_IDLE);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return The maximum number of open channels, 0 for no limit.
+     * @see #setChannelPoolMaxTotal
+     * @since 2.8.0
+     */
+    public Integer getChannelPoolMaxTotal(final FileSystemOptions opts) {
+        return this.getInteger(opts, CHANNEL_POOL_MAX_TOTAL, DEFAULT_CHANNEL_POOL_MAX_TOTAL);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return How long to wait for a channel when all are in use, in milliseconds, 0 to wait indefinitely.
+     * @see #setChannelPoolMaxWaitMillis
+     * @since 2.8.0
+     */
+    public Integer getChannelPoolMaxWaitMillis(final FileSystemOptions opts) {
+        return this.getInteger(opts, CHANNEL_POOL_MAX_WAIT_MILLIS, DEFAULT_CHANNEL_POOL_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * @param opts The FileSystem options.
+     * @return The number of idle channels kept regardless of the idle timeout.
+     * @see #setChannelPoolMinIdle
+     * @since 2.8.0
+     */
+    public Integer getChannelPoolMinIdle(final FileSystemOptions opts) {
+        return this.getInteger(opts, CHANNEL_POOL_MIN_IDLE, DEFAULT_CHANNEL_POOL_MIN_IDLE);
+    }
+
     /**
      * @param opts The FileSystem options.
      * @return The connect timeout value in milliseconds.
@@ -174,6 +243,16 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return this.getInteger(opts, CONNECT_TIMEOUT_MILLIS, DEFAULT_CONNECT_TIMEOUT_MILLIS);
     }
 
+    /**
+     * @param opts The FileSystem options.
+     * @return How long the attributes of listed files are reused, in milliseconds.
+     * @see #setDirectoryAttributesTimeoutMillis
+     * @since 2.8.0
+     */
+    public Integer getDirectoryAttributesTimeoutMillis(final FileSystemOptions opts) {
+        return this.getInteger(opts, DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS, DEFAULT_DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS);
+    }
+
     /**
      * Gets the file name encoding.
      *
@@ -411,6 +490,19 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getParam(opts, UserInfo.class.getName());
     }
 
+    /**
+     * Returns whether an idle channel is checked with a round trip to the server before it is reused. Defaults to
+     * {@code false}.
+     *
+     * @param opts The FileSystem options.
+     * @return {@code true} if idle channels are checked before reuse.
+     * @see #setChannelPoolValidateOnBorrow
+     * @since 2.8.0
+     */
+    public boolean isChannelPoolValidateOnBorrow(final FileSystemOptions opts) {
+        return this.getBoolean(opts, CHANNEL_POOL_VALIDATE_ON_BORROW, Boolean.FALSE);
+    }
+
     /**
      * Returns {@code true} if the detection of the exec channel should be disabled.
      * Returns {@code false} if the detection of the exec channel should be enabled.
@@ -455,6 +547,80 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         this.setParam(opts, COMPRESSION, compression);
     }
 
+    /**
+     * Sets how long a pooled channel may stay idle before it is disconnected. Idle channels are only checked when
+     * channels are borrowed or returned. Defaults to 0, which keeps idle channels until the pool has enough.
+     *
+     * @param opts    The FileSystem options.
+     * @param timeout The idle timeout in milliseconds.
+     * @since 2.8.0
+     */
+    public void setChannelPoolIdleTimeoutMillis(final FileSystemOptions opts, final Integer timeout) {
+        this.setParam(opts, CHANNEL_POOL_IDLE_TIMEOUT_MILLIS, timeout);
+    }
+
+    /**
+     * Sets the maximum number of idle channels kept for reuse, other returned channels are disconnected. Defaults to 1.
+     *
+     * @param opts    The FileSystem options.
+     * @param maxIdle The maximum number of idle channels.
+     * @since 2.8.0
+     */
+    public void setChannelPoolMaxIdle(final FileSystemOptions opts, final Integer maxIdle) {
+        this.setParam(opts, CHANNEL_POOL_MAX_IDLE, maxIdle);
+    }
+
+    /**
+     * Sets the maximum number of channels open at the same time, borrowed or idle. When reached, getting a channel
+     * waits for another one to be returned. Defaults to 0, which does not limit the number of channels.
+     * <p>
+     * Note that an open input or output stream holds a channel, so copying between files of the same file system needs
+     * at least two.
+     * </p>
+     *
+     * @param opts     The FileSystem options.
+     * @param maxTotal The maximum number of channels.
+     * @since 2.8.0
+     */
+    public void setChannelPoolMaxTotal(final FileSystemOptions opts, final Integer maxTotal) {
+        this.setParam(opts, CHANNEL_POOL_MAX_TOTAL, maxTotal);
+    }
+
+    /**
+     * Sets how long to wait for a channel when the maximum number of channels are in use, before failing. Defaults to
+     * 0, which waits indefinitely.
+     *
+     * @param opts    The FileSystem options.
+     * @param maxWait The maximum wait in milliseconds.
+     * @since 2.8.0
+     */
+    public void setChannelPoolMaxWaitMillis(final FileSystemOptions opts, final Integer maxWait) {
+        this.setParam(opts, CHANNEL_POOL_MAX_WAIT_MILLIS, maxWait);
+    }
+
+    /**
+     * Sets the number of idle channels the idle timeout does not disconnect. Defaults to 0.
+     *
+     * @param opts    The FileSystem options.
+     * @param minIdle The minimum number of idle channels.
+     * @since 2.8.0
+     */
+    public void setChannelPoolMinIdle(final FileSystemOptions opts, final Integer minIdle) {
+        this.setParam(opts, CHANNEL_POOL_MIN_IDLE, minIdle);
+    }
+
+    /**
+     * Sets whether an idle channel is checked with a round trip to the server before it is reused. Channels found
+     * disconnected are never reused, this also detects channels the server stopped answering on.
+     *
+     * @param opts             The FileSystem options.
+     * @param validateOnBorrow true to check idle channels before reuse.
+     * @since 2.8.0
+     */
+    public void setChannelPoolValidateOnBorrow(final FileSystemOptions opts, final boolean validateOnBorrow) {
+        this.setParam(opts, CHANNEL_POOL_VALIDATE_ON_BORROW, toBooleanObject(validateOnBorrow));
+    }
+
     /**
      * Sets the config repository. e.g. {@code /home/user/.ssh/config}.
      * <p>
@@ -482,6 +648,22 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         this.setParam(opts, CONNECT_TIMEOUT_MILLIS, timeout);
     }
 
+    /**
+     * Sets how long the attributes returned by listing a folder are reused to answer the stat requests of its children.
+     * <p>
+     * Within this time, getting the type, size or last modified time of a listed file, even after it was detached or
+     * refreshed, does not need a round trip to the server. Changes made through this file system drop the listing,
+     * changes made by others may go unnoticed until it times out. Defaults to 0, which disables the reuse.
+     * </p>
+     *
+     * @param opts    The FileSystem options.
+     * @param timeout The time to reuse listed attributes in milliseconds.
+     * @since 2.8.0
+     */
+    public void setDirectoryAttributesTimeoutMillis(final FileSystemOptions opts, final Integer timeout) {
+        this.setParam(opts, DIRECTORY_ATTRIBUTES_TIMEOUT_MILLIS, timeout);
+    }
+
     /**
      * Sets whether detection of exec channel is disabled.
      * If this value is true the FileSystem will not test if the server allows to exec commands and disable the use of the exec channel.
@@ -17,6 +17,7 @@
 package org.apache.commons.vfs2.provider.tar;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashSet;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -76,6 +77,15 @@ public class TarFileObject extends AbstractFileObject<TarFileSystem> {
         children.add(childName.getBaseName());
     }
 
+    /**
+     * Attaches children.
+     *
+     * @param baseNames The encoded base names of the children.
+     */
+    void attachChildren(final String[] baseNames) {
+        Collections.addAll(children, baseNames);
+    }
+
     /**
      * Determines if this file can be written to.
      *
@@ -24,6 +24,7 @@ import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.FileType;
@@ -63,4 +64,16 @@ public class TarFileProvider extends AbstractLayeredFileProvider {
     public Collection<Capability> getCapabilities() {
         return capabilities;
     }
+
+    /**
+     * Return config builder.
+     *
+     * @return A config builder for TarFileProvider.
+     * @see org.apache.commons.vfs2.provider.AbstractFileProvider#getConfigBuilder()
+     * @since 2.8.0
+     */
+    @Override
+    public FileSystemConfigBuilder getConfigBuilder() {
+        return TarFileSystemConfigBuilder.getInstance();
+    }
 }
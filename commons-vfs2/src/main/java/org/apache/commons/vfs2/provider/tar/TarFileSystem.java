@@ -20,9 +20,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -38,15 +42,155 @@ import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.VfsLog;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ArchiveIndex;
 import org.apache.commons.vfs2.provider.UriParser;
 import org.apache.commons.vfs2.provider.bzip2.Bzip2FileObject;
 
 /**
  * A read-only file system for Tar files.
+ * <p>
+ * The offset of the data of each entry is recorded while building the index, so that entries of uncompressed Tar
+ * files are read by seeking into the local copy of the file, optionally memory mapped, and independently of each
+ * other. Entries of compressed Tar files are read by scanning a new stream from the start of the file.
+ * </p>
+ * <p>
+ * By default a file object is created for every entry and folder when the file system is initialized. With
+ * {@link TarFileSystemConfigBuilder#setLazyIndex(FileSystemOptions, boolean)} only an {@link ArchiveIndex} of the
+ * entries is built, and file objects are created when they are resolved.
+ * </p>
  */
 public class TarFileSystem extends AbstractFileSystem {
     private static final Log LOG = LogFactory.getLog(TarFileSystem.class);
 
+    /**
+     * Reads a range of a file with positional reads.
+     */
+    private static final class FileRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+        private long mark;
+
+        FileRangeInputStream(final File file, final long offset, final long size) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.position = offset;
+            this.end = offset + size;
+            this.mark = offset;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public synchronized void mark(final int readlimit) {
+            mark = position;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, end - position));
+            final int read = channel.read(buffer, position);
+            if (read == -1) {
+                // the file was truncated
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public synchronized void reset() {
+            position = mark;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * Reads a buffer, typically a slice of a memory mapped file.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public synchronized void mark(final int readlimit) {
+            buffer.mark();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.reset();
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+    }
+
     private final char[] ENC = {'!'};
 
     private final File file;
@@ -54,9 +198,23 @@ public class TarFileSystem extends AbstractFileSystem {
     private TarArchiveInputStream tarFile;
 
     /**
-     * Cache doesn't need to be synchronized since it is read-only.
+     * Cache of the file objects, filled by {@link #init()} or on demand, and with the files which do not exist.
      */
-    private final Map<FileName, FileObject> cache = new HashMap<>();
+    private final Map<FileName, FileObject> cache = new ConcurrentHashMap<>();
+
+    /** The index of the entries when file objects are created on demand, or null. */
+    private ArchiveIndex<TarArchiveEntry> index;
+
+    /**
+     * The offsets of the data of the entries in the uncompressed Tar file, built by {@link #init()} and read-only
+     * afterwards.
+     */
+    private final Map<TarArchiveEntry, Long> dataOffsets = new IdentityHashMap<>();
+
+    private final boolean memoryMapped;
+
+    /** The memory mapped Tar file, mapped on first read. */
+    private volatile ByteBuffer mappedFile;
 
     protected TarFileSystem(final AbstractFileName rootName, final FileObject parentLayer,
         final FileSystemOptions fileSystemOptions) throws FileSystemException {
@@ -64,6 +222,7 @@ public class TarFileSystem extends AbstractFileSystem {
 
         // Make a local copy of the file
         file = parentLayer.getFileSystem().replicateFile(parentLayer, Selectors.SELECT_SELF);
+        memoryMapped = TarFileSystemConfigBuilder.getInstance().isMemoryMapped(getFileSystemOptions());
 
         // Open the Tar file
         if (!file.exists()) {
@@ -87,7 +246,15 @@ public class TarFileSystem extends AbstractFileSystem {
      */
     @Override
     protected FileObject createFile(final AbstractFileName name) throws FileSystemException {
-        // This is only called for files which do not exist in the Tar file
+        if (index != null && index.contains(name)) {
+            final TarArchiveEntry entry = index.getEntry(name);
+            final TarFileObject fileObj = createTarFileObject(name, entry);
+            if (entry == null || entry.isDirectory()) {
+                fileObj.attachChildren(index.getChildren(name));
+            }
+            return fileObj;
+        }
+        // This is only called for files which do not exist in the Tar file, unless the index is lazy
         return new TarFileObject(name, null, this, false);
     }
 
@@ -113,6 +280,7 @@ public class TarFileSystem extends AbstractFileSystem {
     @Override
     protected void doCloseCommunicationLink() {
         // Release the tar file
+        mappedFile = null;
         try {
             if (tarFile != null) {
                 tarFile.close();
@@ -132,17 +300,92 @@ public class TarFileSystem extends AbstractFileSystem {
         return cache.get(name);
     }
 
+    /**
+     * Creates a stream to read the data of an entry.
+     * <p>
+     * Streams of different entries may be read concurrently.
+     * </p>
+     *
+     * @param entry An entry of this Tar file.
+     * @return a new input stream.
+     * @throws FileSystemException if the Tar file cannot be read.
+     */
     public InputStream getInputStream(final TarArchiveEntry entry) throws FileSystemException {
-        resetTarFile();
+        final Long dataOffset = dataOffsets.get(entry);
+        if (dataOffset != null) {
+            final long offset = dataOffset.longValue();
+            final ByteBuffer mapped = getMappedFile();
+            if (mapped != null) {
+                final ByteBuffer data = mapped.duplicate();
+                data.position((int) offset).limit((int) (offset + entry.getSize()));
+                return new ByteBufferInputStream(data.slice());
+            }
+            try {
+                return new FileRangeInputStream(file, offset, entry.getSize());
+            } catch (final IOException e) {
+                throw new FileSystemException("vfs.provider.tar/open-tar-file.error", file, e);
+            }
+        }
+
+        // Reading entries of compressed files requires skipping through the tar file from the beginning
+        final TarArchiveInputStream tarFile = createTarFile(this.file);
         try {
-            while (!tarFile.getNextEntry().equals(entry)) {
+            TarArchiveEntry next;
+            while ((next = tarFile.getNextTarEntry()) != null && !next.equals(entry)) {
+                // skip
+            }
+            if (next == null) {
+                tarFile.close();
+                throw new FileSystemException("vfs.provider.tar/open-tar-file.error", file);
             }
             return tarFile;
         } catch (final IOException e) {
+            try {
+                tarFile.close();
+            } catch (final IOException closeException) {
+                e.addSuppressed(closeException);
+            }
             throw new FileSystemException(e);
         }
     }
 
+    /**
+     * Maps the Tar file if configured and possible.
+     *
+     * @return the mapped file, or null.
+     */
+    private ByteBuffer getMappedFile() throws FileSystemException {
+        if (!memoryMapped) {
+            return null;
+        }
+        ByteBuffer mapped = mappedFile;
+        if (mapped == null) {
+            synchronized (this) {
+                mapped = mappedFile;
+                if (mapped == null && file.length() <= Integer.MAX_VALUE) {
+                    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    } catch (final IOException e) {
+                        throw new FileSystemException("vfs.provider.tar/open-tar-file.error", file, e);
+                    }
+                    mappedFile = mapped;
+                }
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Returns whether the entries of the Tar file are stored uncompressed, so they can be read by seeking into the
+     * file.
+     *
+     * @return true for the "tar" scheme.
+     * @since 2.8.0
+     */
+    protected boolean isSeekable() {
+        return "tar".equalsIgnoreCase(getRootName().getScheme());
+    }
+
     protected TarArchiveInputStream getTarFile() throws FileSystemException {
         if (tarFile == null && this.file.exists()) {
             recreateTarFile();
@@ -156,9 +399,22 @@ public class TarFileSystem extends AbstractFileSystem {
         super.init();
 
         // Build the index
+        final boolean seekable = isSeekable();
+        final ArchiveIndex.Builder<TarArchiveEntry> builder = TarFileSystemConfigBuilder.getInstance()
+            .isLazyIndex(getFileSystemOptions())
+                ? new ArchiveIndex.Builder<>(getFileSystemManager(), getRootName(), ENC)
+                : null;
         try {
             TarArchiveEntry entry;
             while ((entry = getTarFile().getNextTarEntry()) != null) {
+                if (seekable && entry.isFile() && !entry.isSparse()) {
+                    // the stream is positioned at the start of the data
+                    dataOffsets.put(entry, Long.valueOf(getTarFile().getBytesRead()));
+                }
+                if (builder != null) {
+                    builder.add(entry.getName(), entry, entry.isDirectory());
+                    continue;
+                }
                 final AbstractFileName name = (AbstractFileName) getFileSystemManager().resolveName(getRootName(),
                     UriParser.encode(entry.getName(), ENC));
 
@@ -190,6 +446,9 @@ public class TarFileSystem extends AbstractFileSystem {
                     parent.attachChild(fileObj.getName());
                 }
             }
+            if (builder != null) {
+                index = builder.build();
+            }
         } catch (final IOException e) {
             throw new FileSystemException(e);
         } finally {
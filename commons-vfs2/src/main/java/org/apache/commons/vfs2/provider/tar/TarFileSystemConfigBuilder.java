@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.vfs2.provider.tar;
+
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
+import org.apache.commons.vfs2.FileSystemOptions;
+
+/**
+ * Specifies options for Tar file systems.
+ *
+ * @since 2.8.0
+ */
+public class TarFileSystemConfigBuilder extends FileSystemConfigBuilder {
+
+    private static final String _PREFIX = TarFileSystemConfigBuilder.class.getName();
+    private static final TarFileSystemConfigBuilder INSTANCE = new TarFileSystemConfigBuilder();
+    private static final String KEY_LAZY_INDEX = _PREFIX + ".lazyIndex";
+    private static final String KEY_MEMORY_MAPPED = _PREFIX + ".memoryMapped";
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the singleton instance.
+     */
+    public static final TarFileSystemConfigBuilder getInstance() {
+        return INSTANCE;
+    }
+
+    private TarFileSystemConfigBuilder() {
+        super("tar.");
+    }
+
+    @Override
+    protected Class<? extends FileSystem> getConfigClass() {
+        return TarFileSystem.class;
+    }
+
+    /**
+     * Gets whether the file objects of a Tar file are created when they are resolved rather than when it is opened.
+     *
+     * @param opts The FileSystemOptions.
+     * @return true if the file objects are created on demand, defaults to false.
+     * @see #setLazyIndex(FileSystemOptions, boolean)
+     */
+    public boolean isLazyIndex(final FileSystemOptions opts) {
+        return getBoolean(opts, KEY_LAZY_INDEX, false);
+    }
+
+    /**
+     * Gets whether entries of uncompressed Tar files are read from a memory mapping of the file.
+     *
+     * @param opts The FileSystemOptions.
+     * @return true if the Tar file is memory mapped, defaults to false.
+     * @see #setMemoryMapped(FileSystemOptions, boolean)
+     */
+    public boolean isMemoryMapped(final FileSystemOptions opts) {
+        return getBoolean(opts, KEY_MEMORY_MAPPED, false);
+    }
+
+    /**
+     * Sets whether the file objects of a Tar file are created when they are resolved or listed, from a compact index
+     * of the entry names, rather than for every entry and folder when the Tar file is opened.
+     *
+     * @param opts The FileSystemOptions.
+     * @param lazyIndex true to create the file objects on demand.
+     */
+    public void setLazyIndex(final FileSystemOptions opts, final boolean lazyIndex) {
+        setParam(opts, KEY_LAZY_INDEX, toBooleanObject(lazyIndex));
+    }
+
+    /**
+     * Sets whether entries of uncompressed Tar files are read from a memory mapping of the file, instead of reading
+     * from the file for each stream. Tar files larger than 2 GB are never mapped.
+     *
+     * @param opts The FileSystemOptions.
+     * @param memoryMapped true to memory map the Tar file.
+     */
+    public void setMemoryMapped(final FileSystemOptions opts, final boolean memoryMapped) {
+        setParam(opts, KEY_MEMORY_MAPPED, toBooleanObject(memoryMapped));
+    }
+}
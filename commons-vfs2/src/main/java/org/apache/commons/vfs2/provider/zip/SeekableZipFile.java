@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.provider.AbstractFileObject;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+
+/**
+ * A Zip file read in place through the {@link RandomAccessContent} of the file in the parent layer.
+ * <p>
+ * The central directory is read once from the end of the file, the local headers and data of entries are only read
+ * when the entries are. The random access content is released by {@link #release()} and reopened by the next read.
+ * </p>
+ */
+final class SeekableZipFile {
+
+    /**
+     * A read-only channel over the random access content of a file, reopened when it was released.
+     */
+    private static final class RandomAccessContentChannel implements SeekableByteChannel {
+
+        private final AbstractFileObject file;
+        private RandomAccessContent content;
+        private long position;
+        private long size = -1;
+        private boolean open = true;
+
+        RandomAccessContentChannel(final AbstractFileObject file) {
+            this.file = file;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            open = false;
+            release();
+        }
+
+        private RandomAccessContent getContent() throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            if (content == null) {
+                content = file.getRandomAccessContent(RandomAccessMode.READ);
+                if (size < 0) {
+                    size = content.length();
+                }
+            }
+            return content;
+        }
+
+        @Override
+        public synchronized boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public synchronized long position() {
+            return position;
+        }
+
+        @Override
+        public synchronized SeekableByteChannel position(final long newPosition) {
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public synchronized int read(final ByteBuffer dst) throws IOException {
+            final RandomAccessContent content = getContent();
+            if (position >= size) {
+                return -1;
+            }
+            final int length = (int) Math.min(dst.remaining(), size - position);
+            if (content.getFilePointer() != position) {
+                content.seek(position);
+            }
+            if (dst.hasArray()) {
+                content.readFully(dst.array(), dst.arrayOffset() + dst.position(), length);
+                dst.position(dst.position() + length);
+            } else {
+                final byte[] buffer = new byte[length];
+                content.readFully(buffer);
+                dst.put(buffer);
+            }
+            position += length;
+            return length;
+        }
+
+        synchronized void release() throws IOException {
+            if (content != null) {
+                final RandomAccessContent released = content;
+                content = null;
+                released.close();
+            }
+        }
+
+        @Override
+        public synchronized long size() throws IOException {
+            getContent();
+            return size;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(final long newSize) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+    }
+
+    private final RandomAccessContentChannel channel;
+    private final ZipFile zipFile;
+
+    /**
+     * Reads the central directory of a Zip file.
+     *
+     * @param file The Zip file, in a file system with {@code RANDOM_ACCESS_READ}.
+     * @param charset The charset of the entry names, or null for UTF-8.
+     * @throws FileSystemException if the Zip file cannot be read.
+     */
+    SeekableZipFile(final AbstractFileObject file, final Charset charset) throws FileSystemException {
+        channel = new RandomAccessContentChannel(file);
+        try {
+            zipFile = new ZipFile(channel, file.getName().getURI(),
+                    (charset == null ? StandardCharsets.UTF_8 : charset).name(), true, true);
+        } catch (final IOException e) {
+            try {
+                channel.close();
+            } catch (final IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new FileSystemException("vfs.provider.zip/open-zip-file.error", file, e);
+        }
+    }
+
+    /**
+     * Closes the Zip file.
+     *
+     * @throws IOException if the content cannot be closed.
+     */
+    void close() throws IOException {
+        zipFile.close();
+    }
+
+    Enumeration<? extends ZipEntry> getEntries() {
+        return zipFile.getEntries();
+    }
+
+    /**
+     * Creates a stream to read an entry, reading the local header of the entry first if needed.
+     *
+     * @param entry An entry of this Zip file.
+     * @return a new input stream.
+     * @throws IOException if the entry cannot be read.
+     */
+    InputStream getInputStream(final ZipEntry entry) throws IOException {
+        final ZipArchiveEntry archiveEntry = entry instanceof ZipArchiveEntry ? (ZipArchiveEntry) entry
+                : zipFile.getEntry(entry.getName());
+        final InputStream inputStream = archiveEntry == null ? null : zipFile.getInputStream(archiveEntry);
+        if (inputStream == null) {
+            throw new FileSystemException("vfs.provider.zip/read-entry.error", entry.getName());
+        }
+        return inputStream;
+    }
+
+    /**
+     * Releases the random access content until the next read.
+     *
+     * @throws IOException if the content cannot be closed.
+     */
+    void release() throws IOException {
+        channel.release();
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.commons.vfs2.provider.zip;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.zip.ZipEntry;
 
@@ -78,6 +79,15 @@ public class ZipFileObject extends AbstractFileObject<ZipFileSystem> {
         children.add(childName.getBaseName());
     }
 
+    /**
+     * Attaches children.
+     *
+     * @param baseNames The encoded base names of the children.
+     */
+    void attachChildren(final String[] baseNames) {
+        Collections.addAll(children, baseNames);
+    }
+
     /**
      * Determines if this file can be written to.
      *
@@ -145,7 +155,7 @@ public class ZipFileObject extends AbstractFileObject<ZipFileSystem> {
             throw new FileSystemException("vfs.provider/read-not-file.error", getName());
         }
 
-        return getAbstractFileSystem().getZipFile().getInputStream(entry);
+        return getAbstractFileSystem().getInputStream(entry);
     }
 
     @Override
@@ -18,11 +18,13 @@ package org.apache.commons.vfs2.provider.zip;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -36,33 +38,63 @@ import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.VfsLog;
 import org.apache.commons.vfs2.provider.AbstractFileName;
+import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ArchiveIndex;
 import org.apache.commons.vfs2.provider.UriParser;
+import org.apache.commons.vfs2.util.FileObjectUtils;
 
 /**
  * A read-only file system for ZIP and JAR files.
+ * <p>
+ * By default a file object is created for every entry and folder when the file system is initialized. With
+ * {@link ZipFileSystemConfigBuilder#setLazyIndex(FileSystemOptions, boolean)} only an {@link ArchiveIndex} of the
+ * entries is built, and file objects are created when they are resolved.
+ * </p>
+ * <p>
+ * The Zip file is copied to a local file before it is opened, unless
+ * {@link ZipFileSystemConfigBuilder#setReadInPlace(FileSystemOptions, boolean)} is set and the file system of the
+ * parent layer supports {@link Capability#RANDOM_ACCESS_READ}. The Zip file is then read through its
+ * {@link org.apache.commons.vfs2.RandomAccessContent}, transferring only the central directory and the entries read.
+ * </p>
  */
 public class ZipFileSystem extends AbstractFileSystem {
     private final char[] ENC = {'!'};
 
     private static final Log LOG = LogFactory.getLog(ZipFileSystem.class);
 
+    /** The local copy of the Zip file, or null when it is read in place. */
     private final File file;
     private final Charset charset;
     private ZipFile zipFile;
 
+    /** The Zip file in the parent layer when it is read in place, or null. */
+    private final AbstractFileObject seekableFile;
+    private SeekableZipFile seekableZipFile;
+
     /**
-     * Cache doesn't need to be synchronized since it is read-only.
+     * Cache of the file objects, filled by {@link #init()} or on demand, and with the files which do not exist.
      */
-    private final Map<FileName, FileObject> cache = new HashMap<>();
+    private final Map<FileName, FileObject> cache = new ConcurrentHashMap<>();
+
+    /** The index of the entries when file objects are created on demand, or null. */
+    private ArchiveIndex<ZipEntry> index;
 
     public ZipFileSystem(final AbstractFileName rootName, final FileObject parentLayer,
             final FileSystemOptions fileSystemOptions) throws FileSystemException {
         super(rootName, parentLayer, fileSystemOptions);
 
+        this.charset = ZipFileSystemConfigBuilder.getInstance().getCharset(fileSystemOptions);
+        if (ZipFileSystemConfigBuilder.getInstance().isReadInPlace(fileSystemOptions) && isReadInPlaceSupported()
+                && parentLayer.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)) {
+            seekableFile = FileObjectUtils.getAbstractFileObject(parentLayer);
+            file = null;
+            return;
+        }
+        seekableFile = null;
+
         // Make a local copy of the file
         file = parentLayer.getFileSystem().replicateFile(parentLayer, Selectors.SELECT_SELF);
-        this.charset = ZipFileSystemConfigBuilder.getInstance().getCharset(fileSystemOptions);
 
         // Open the Zip file
         if (!file.exists()) {
@@ -76,8 +108,20 @@ public class ZipFileSystem extends AbstractFileSystem {
         super.init();
 
         try {
+            if (ZipFileSystemConfigBuilder.getInstance().isLazyIndex(getFileSystemOptions())) {
+                final ArchiveIndex.Builder<ZipEntry> builder = new ArchiveIndex.Builder<>(getFileSystemManager(),
+                        getRootName(), ENC);
+                final Enumeration<? extends ZipEntry> entries = getEntries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    builder.add(entry.getName(), entry, entry.isDirectory());
+                }
+                index = builder.build();
+                return;
+            }
+
             // Build the index
-            final Enumeration<? extends ZipEntry> entries = getZipFile().entries();
+            final Enumeration<? extends ZipEntry> entries = getEntries();
             while (entries.hasMoreElements()) {
                 final ZipEntry entry = entries.nextElement();
                 final AbstractFileName name = (AbstractFileName) getFileSystemManager().resolveName(getRootName(),
@@ -116,14 +160,64 @@ public class ZipFileSystem extends AbstractFileSystem {
         }
     }
 
-    protected ZipFile getZipFile() throws FileSystemException {
-        if (zipFile == null && this.file.exists()) {
+    /**
+     * Gets the entries of the Zip file.
+     */
+    private Enumeration<? extends ZipEntry> getEntries() throws FileSystemException {
+        if (seekableFile != null) {
+            return getSeekableZipFile().getEntries();
+        }
+        final ZipFile zipFile = getZipFile();
+        return zipFile == null ? Collections.emptyEnumeration() : zipFile.entries();
+    }
+
+    /**
+     * Creates a stream to read the content of an entry.
+     *
+     * @param entry An entry of this Zip file.
+     * @return a new input stream.
+     * @throws IOException if the entry cannot be read.
+     * @since 2.8.0
+     */
+    protected InputStream getInputStream(final ZipEntry entry) throws IOException {
+        if (seekableFile != null) {
+            return getSeekableZipFile().getInputStream(entry);
+        }
+        return getZipFile().getInputStream(entry);
+    }
+
+    private synchronized SeekableZipFile getSeekableZipFile() throws FileSystemException {
+        if (seekableZipFile == null) {
+            seekableZipFile = new SeekableZipFile(seekableFile, charset);
+        }
+        return seekableZipFile;
+    }
+
+    /**
+     * Gets the local copy of the Zip file opened as a {@link ZipFile}.
+     *
+     * @return the Zip file, or null if it does not exist or is read in place.
+     * @throws FileSystemException if the Zip file cannot be opened.
+     */
+    protected synchronized ZipFile getZipFile() throws FileSystemException {
+        if (zipFile == null && this.file != null && this.file.exists()) {
             this.zipFile = createZipFile(this.file);
         }
 
         return zipFile;
     }
 
+    /**
+     * Tests whether this file system can read the Zip file in place rather than from a local copy, called by the
+     * constructor. Subclasses which depend on {@link #getZipFile()} return false.
+     *
+     * @return true.
+     * @since 2.8.0
+     */
+    protected boolean isReadInPlaceSupported() {
+        return true;
+    }
+
     protected ZipFileObject createZipFileObject(final AbstractFileName name, final ZipEntry entry)
             throws FileSystemException {
         return new ZipFileObject(name, entry, this, true);
@@ -137,17 +231,38 @@ public class ZipFileSystem extends AbstractFileSystem {
         }
     }
 
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            if (seekableZipFile != null) {
+                try {
+                    seekableZipFile.close();
+                } catch (final IOException e) {
+                    VfsLog.warn(getLogger(), LOG, "vfs.provider.zip/close-zip-file.error :" + seekableFile, e);
+                }
+                seekableZipFile = null;
+            }
+        }
+    }
+
     @Override
     protected void doCloseCommunicationLink() {
-        // Release the zip file
-        try {
-            if (zipFile != null) {
-                zipFile.close();
-                zipFile = null;
+        // Release the zip file, entries attach concurrently
+        synchronized (this) {
+            try {
+                if (zipFile != null) {
+                    zipFile.close();
+                    zipFile = null;
+                }
+                if (seekableZipFile != null) {
+                    // keeps the central directory
+                    seekableZipFile.release();
+                }
+            } catch (final IOException e) {
+                // getLogger().warn("vfs.provider.zip/close-zip-file.error :" + file, e);
+                VfsLog.warn(getLogger(), LOG, "vfs.provider.zip/close-zip-file.error :" + file, e);
             }
-        } catch (final IOException e) {
-            // getLogger().warn("vfs.provider.zip/close-zip-file.error :" + file, e);
-            VfsLog.warn(getLogger(), LOG, "vfs.provider.zip/close-zip-file.error :" + file, e);
         }
     }
 
@@ -164,7 +279,15 @@ public class ZipFileSystem extends AbstractFileSystem {
      */
     @Override
     protected FileObject createFile(final AbstractFileName name) throws FileSystemException {
-        // This is only called for files which do not exist in the Zip file
+        if (index != null && index.contains(name)) {
+            final ZipEntry entry = index.getEntry(name);
+            final ZipFileObject fileObj = createZipFileObject(name, entry);
+            if (entry == null || entry.isDirectory()) {
+                fileObj.attachChildren(index.getChildren(name));
+            }
+            return fileObj;
+        }
+        // This is only called for files which do not exist in the Zip file, unless the index is lazy
         return new ZipFileObject(name, null, this, false);
     }
 
@@ -198,7 +321,7 @@ public class ZipFileSystem extends AbstractFileSystem {
 
     @Override
     public String toString() {
-        return super.toString() + " for " + file;
+        return super.toString() + " for " + (file != null ? file : seekableFile);
     }
 
     /*
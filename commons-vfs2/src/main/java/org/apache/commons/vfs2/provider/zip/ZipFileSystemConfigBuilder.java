@@ -28,6 +28,8 @@ public class ZipFileSystemConfigBuilder extends FileSystemConfigBuilder {
     private static final String _PREFIX = ZipFileSystemConfigBuilder.class.getName();
     private static final ZipFileSystemConfigBuilder INSTANCE = new ZipFileSystemConfigBuilder();
     private static final String KEY_CHARSET = _PREFIX + ".charset";
+    private static final String KEY_LAZY_INDEX = _PREFIX + ".lazyIndex";
+    private static final String KEY_READ_IN_PLACE = _PREFIX + ".readInPlace";
 
     public static final ZipFileSystemConfigBuilder getInstance() {
         return INSTANCE;
@@ -46,8 +48,57 @@ public class ZipFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return ZipFileSystem.class;
     }
 
+    /**
+     * Gets whether the file objects of a Zip file are created when they are resolved rather than when it is opened.
+     *
+     * @param opts The FileSystemOptions.
+     * @return true if the file objects are created on demand, defaults to false.
+     * @see #setLazyIndex(FileSystemOptions, boolean)
+     * @since 2.8.0
+     */
+    public boolean isLazyIndex(final FileSystemOptions opts) {
+        return getBoolean(opts, KEY_LAZY_INDEX, false);
+    }
+
+    /**
+     * Gets whether a Zip file is read through the random access content of its parent layer instead of a local copy.
+     *
+     * @param opts The FileSystemOptions.
+     * @return true if the Zip file is read in place, defaults to false.
+     * @see #setReadInPlace(FileSystemOptions, boolean)
+     * @since 2.8.0
+     */
+    public boolean isReadInPlace(final FileSystemOptions opts) {
+        return getBoolean(opts, KEY_READ_IN_PLACE, false);
+    }
+
     public void setCharset(final FileSystemOptions opts, final Charset charset) {
         setParam(opts, KEY_CHARSET, charset);
     }
 
+    /**
+     * Sets whether the file objects of a Zip file are created when they are resolved or listed, from a compact index
+     * of the entry names, rather than for every entry and folder when the Zip file is opened.
+     *
+     * @param opts The FileSystemOptions.
+     * @param lazyIndex true to create the file objects on demand.
+     * @since 2.8.0
+     */
+    public void setLazyIndex(final FileSystemOptions opts, final boolean lazyIndex) {
+        setParam(opts, KEY_LAZY_INDEX, toBooleanObject(lazyIndex));
+    }
+
+    /**
+     * Sets whether a Zip file is read through the random access content of its parent layer, when its file system
+     * supports random access reads, instead of being copied to a local file first. Only the central directory and the
+     * entries read are transferred. Jar files are always copied.
+     *
+     * @param opts The FileSystemOptions.
+     * @param readInPlace true to read Zip files in place.
+     * @since 2.8.0
+     */
+    public void setReadInPlace(final FileSystemOptions opts, final boolean readInPlace) {
+        setParam(opts, KEY_READ_IN_PLACE, toBooleanObject(readInPlace));
+    }
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.AbstractVfsTestCase;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link FileObject#copyFrom(FileObject, FileSelector, java.util.concurrent.Executor, int, FileCopyListener)}.
+ */
+public class FileCopyTest {
+
+    private static FileObject SourceFolder;
+
+    private final static int FileCount = 20;
+
+    private final static int FolderCount = 4;
+
+    private static String content(final int i) {
+        return "Content of file " + i;
+    }
+
+    /**
+     * Creates a RAM FS.
+     *
+     * @throws Exception
+     */
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        SourceFolder = VFS.getManager().resolveFile("ram://" + FileCopyTest.class.getName());
+        SourceFolder.deleteAll();
+        for (int i = 0; i < FileCount; i++) {
+            final FileObject file = SourceFolder.resolveFile("dir" + i % FolderCount + "/file" + i + ".txt");
+            try (OutputStream os = file.getContent().getOutputStream()) {
+                os.write(content(i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Deletes RAM FS files.
+     *
+     * @throws Exception
+     */
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        if (SourceFolder != null) {
+            SourceFolder.deleteAll();
+        }
+    }
+
+    @Test
+    public void testCopyFromParallel() throws Exception {
+        final FileObject target = VFS.getManager()
+                .toFileObject(AbstractVfsTestCase.getTestDirectory("parallel-copy-tests"));
+        target.deleteAll();
+
+        final AtomicLong lastBytes = new AtomicLong();
+        final List<Long> copied = Collections.synchronizedList(new ArrayList<>());
+        final FileCopyListener listener = (srcFile, destFile, copiedFiles, totalFiles, copiedBytes) -> {
+            Assert.assertEquals(FileCount + FolderCount + 1, totalFiles);
+            copied.add(Long.valueOf(copiedFiles));
+            lastBytes.accumulateAndGet(copiedBytes, Math::max);
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            target.copyFrom(SourceFolder, Selectors.SELECT_ALL, executor, 4, listener);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long bytes = 0;
+        for (int i = 0; i < FileCount; i++) {
+            final FileObject file = target.resolveFile("dir" + i % FolderCount + "/file" + i + ".txt");
+            Assert.assertEquals(content(i), file.getContent().getString(StandardCharsets.UTF_8));
+            bytes += file.getContent().getSize();
+        }
+        Assert.assertEquals(FileCount + FolderCount + 1, copied.size());
+        Assert.assertEquals(bytes, lastBytes.get());
+        target.deleteAll();
+    }
+
+    @Test
+    public void testCopyFromParallelCollectsErrors() throws Exception {
+        // archives are read-only, only the root folder already exists
+        final FileObject target = VFS.getManager()
+                .resolveFile("zip:" + AbstractVfsTestCase.getTestResource("test.zip").toURI());
+        final List<FileObject> copied = Collections.synchronizedList(new ArrayList<>());
+        final List<FileObject> failed = Collections.synchronizedList(new ArrayList<>());
+        final FileCopyListener listener = new FileCopyListener() {
+            @Override
+            public void fileCopied(final FileObject srcFile, final FileObject destFile, final long copiedFiles,
+                    final long totalFiles, final long copiedBytes) {
+                copied.add(srcFile);
+            }
+
+            @Override
+            public void copyFailed(final FileObject srcFile, final FileObject destFile,
+                    final FileSystemException exception) {
+                failed.add(srcFile);
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            target.copyFrom(SourceFolder, Selectors.SELECT_ALL, executor, 2, listener);
+            Assert.fail("The copy should fail");
+        } catch (final FileSystemException e) {
+            Assert.assertEquals("vfs.provider/copy-files.error", e.getCode());
+            Assert.assertEquals(failed.size(), e.getSuppressed().length + 1);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(Collections.singletonList(SourceFolder), copied);
+        Assert.assertEquals(FileCount + FolderCount, failed.size());
+    }
+
+    @Test
+    public void testCopyFromParallelMissing() throws Exception {
+        final FileObject target = VFS.getManager().resolveFile("ram://" + FileCopyTest.class.getName() + "-target");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            target.copyFrom(SourceFolder.resolveFile("missing"), Selectors.SELECT_ALL, executor, 1, null);
+            Assert.fail("The copy should fail");
+        } catch (final FileSystemException e) {
+            Assert.assertEquals("vfs.provider/copy-missing-file.error", e.getCode());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link FileObject#streamFiles(FileSelector)} and its parallel variant.
+ */
+public class FileStreamTest {
+
+    private static FileObject BaseFolder;
+
+    private final static int FileCount = 14;
+
+    /**
+     * Creates a RAM FS.
+     *
+     * @throws Exception
+     */
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        BaseFolder = VFS.getManager().resolveFile("ram://" + FileStreamTest.class.getName());
+        BaseFolder.deleteAll();
+        BaseFolder.resolveFile("a.htm").createFile();
+        BaseFolder.resolveFile("a.html").createFile();
+        BaseFolder.resolveFile("a.xhtml").createFile();
+        BaseFolder.resolveFile("b.htm").createFile();
+        BaseFolder.resolveFile("b.html").createFile();
+        BaseFolder.resolveFile("b.xhtml").createFile();
+        BaseFolder.resolveFile("c.htm").createFile();
+        BaseFolder.resolveFile("c.html").createFile();
+        BaseFolder.resolveFile("c.xhtml").createFile();
+        BaseFolder.resolveFile("subdir1").createFolder();
+        BaseFolder.resolveFile("subdir1/subfile1.txt").createFile();
+        BaseFolder.resolveFile("subdir2").createFolder();
+        BaseFolder.resolveFile("subdir2/subfile1.txt").createFile();
+    }
+
+    /**
+     * Deletes RAM FS files.
+     *
+     * @throws Exception
+     */
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        if (BaseFolder != null) {
+            BaseFolder.deleteAll();
+        }
+    }
+
+    private static void assertParentsFirst(final List<FileObject> files) throws FileSystemException {
+        for (int i = 0; i < files.size(); i++) {
+            final FileObject parent = files.get(i).getParent();
+            final int parentIndex = files.indexOf(parent);
+            Assert.assertTrue(files.get(i) + " listed before its parent", parentIndex < i);
+        }
+    }
+
+    @Test
+    public void testStreamFiles() throws FileSystemException {
+        final Set<FileObject> expected = Arrays.stream(BaseFolder.findFiles(Selectors.SELECT_ALL))
+                .collect(Collectors.toSet());
+        final List<FileObject> actual;
+        try (final Stream<FileObject> stream = BaseFolder.streamFiles(Selectors.SELECT_ALL)) {
+            actual = stream.collect(Collectors.toList());
+        }
+        Assert.assertEquals(FileCount, actual.size());
+        Assert.assertEquals(expected, actual.stream().collect(Collectors.toSet()));
+        Assert.assertEquals(BaseFolder, actual.get(0));
+        assertParentsFirst(actual);
+    }
+
+    @Test
+    public void testStreamFilesMissing() throws FileSystemException {
+        Assert.assertEquals(0, BaseFolder.resolveFile("missing").streamFiles(Selectors.SELECT_ALL).count());
+    }
+
+    @Test
+    public void testStreamFilesParallel() throws FileSystemException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (final Stream<FileObject> stream = BaseFolder.streamFiles(Selectors.SELECT_ALL, executor, 2)) {
+            final List<FileObject> actual = stream.collect(Collectors.toList());
+            Assert.assertEquals(FileCount, actual.size());
+            assertParentsFirst(actual);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStreamFilesPrunes() throws FileSystemException {
+        final FileSelector selector = new FileDepthSelector(0, 1) {
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) throws Exception {
+                Assert.assertTrue(fileInfo.getFile().isFolder());
+                return super.traverseDescendents(fileInfo);
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (final Stream<FileObject> stream = BaseFolder.streamFiles(selector, executor, 1)) {
+            Assert.assertEquals(BaseFolder.getChildren().length + 1, stream.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
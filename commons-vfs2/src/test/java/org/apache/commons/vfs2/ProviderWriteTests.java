@@ -388,6 +388,36 @@ public class ProviderWriteTests extends AbstractProviderTestCase {
         assertSameContent(content, fileCopy);
     }
 
+    /**
+     * Tests copying a folder tree on the same file system, replacing a longer file.
+     */
+    @Test
+    public void testCopyFolderSameFileSystem() throws Exception {
+        final FileObject scratchFolder = createScratchFolder();
+
+        final FileObject source = scratchFolder.resolveFile("source");
+        final String content = "Here is some sample content for the file.";
+        final String childContent = "Here is some sample content for the child file.";
+        try (OutputStream os = source.resolveFile("file1.txt").getContent().getOutputStream()) {
+            os.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        try (OutputStream os = source.resolveFile("dir1/file2.txt").getContent().getOutputStream()) {
+            os.write(childContent.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // The destination already has a longer file
+        final FileObject target = scratchFolder.resolveFile("target");
+        try (OutputStream os = target.resolveFile("file1.txt").getContent().getOutputStream()) {
+            os.write((content + content).getBytes(StandardCharsets.UTF_8));
+        }
+
+        target.copyFrom(source, Selectors.SELECT_ALL);
+
+        assertSameContent(content, target.resolveFile("file1.txt"));
+        assertSameContent(childContent, target.resolveFile("dir1/file2.txt"));
+        assertSameContent(content, source.resolveFile("file1.txt"));
+    }
+
     /**
      * Tests create-delete-create-a-file sequence on the same file system.
      */
@@ -23,9 +23,17 @@ import static org.junit.Assume.assumeFalse;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.AbstractVfsTestCase;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.commons.vfs2.FileChangeEvent;
 import org.apache.commons.vfs2.FileListener;
@@ -249,6 +257,140 @@ public class DefaultFileMonitorTest {
         }
     }
 
+    @Test
+    public void testFileCreatedDeletedParallel() throws Exception {
+        try (final FileObject fileObject = fsManager.resolveFile(testFile.toURI().toString())) {
+            final DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener());
+            monitor.setDelay(DELAY_MILLIS);
+            monitor.setMaxDelay(DELAY_MILLIS * 2);
+            monitor.setParallelism(2);
+            monitor.addFile(fileObject);
+            monitor.start();
+            try {
+                writeToFile(testFile);
+                Thread.sleep(DELAY_MILLIS * 5);
+                assertEquals("Incorrect event " + changeStatus, Status.CREATED, changeStatus);
+                changeStatus = null;
+                testFile.delete();
+                Thread.sleep(DELAY_MILLIS * 5);
+                assertEquals("Incorrect event " + changeStatus, Status.DELETED, changeStatus);
+            } finally {
+                monitor.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testChildFileCreatedParallel() throws Exception {
+        try (final FileObject fileObject = fsManager.resolveFile(testDir.toURI().toString())) {
+            final DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener());
+            monitor.setDelay(DELAY_MILLIS);
+            // back off, but not past the detection window of the test
+            monitor.setMaxDelay(DELAY_MILLIS * 4);
+            monitor.setParallelism(4);
+            monitor.setRecursive(true);
+            monitor.addFile(fileObject);
+            monitor.start();
+            try {
+                Thread.sleep(DELAY_MILLIS * 10);
+                assertEquals("Event should not have occurred", null, changeStatus);
+                assertTrue(monitor.getCheckCount() > 0);
+                assertTrue("A cycle should have completed", monitor.getLastCycleMillis() > 0);
+                writeToFile(testFile);
+                Thread.sleep(DELAY_MILLIS * 10);
+                assertEquals("Incorrect event " + changeStatus, Status.CREATED, changeStatus);
+            } finally {
+                monitor.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testResizedWithoutSnapshot() throws Exception {
+        writeToFile(testFile);
+        try (final FileObject fileObject = fsManager.resolveFile(testFile.toURI().toString())) {
+            final DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener());
+            // TestFileListener manipulates changeStatus
+            monitor.setDelay(DELAY_MILLIS);
+            monitor.addFile(fileObject);
+            monitor.start();
+            try {
+                // without a snapshot file, only the timestamp is checked
+                final File resized = new File(testDir, "testReload.properties.tmp");
+                FileUtils.write(resized, "a longer content", StandardCharsets.UTF_8);
+                assertTrue(resized.setLastModified(testFile.lastModified()));
+                // replaced at once, so that no check sees the new content with another timestamp
+                Files.move(resized.toPath(), testFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                Thread.sleep(DELAY_MILLIS * 5);
+                assertEquals("Unexpected event", null, changeStatus);
+            } finally {
+                monitor.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotReportsChangesWhileStopped() throws Exception {
+        final File folder = new File(testDir, "monitorSnapshot");
+        final File snapshot = new File(testDir, "monitorSnapshot.bin");
+        FileUtils.deleteDirectory(folder);
+        assertTrue(folder.mkdirs());
+        final File deleted = new File(folder, "deleted.txt");
+        final File changed = new File(folder, "changed.txt");
+        final File created = new File(folder, "created.txt");
+        writeToFile(deleted);
+        writeToFile(changed);
+        try (final FileObject fileObject = fsManager.resolveFile(folder.toURI().toString())) {
+            final DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener());
+            monitor.setRecursive(true);
+            monitor.setSnapshotFile(snapshot);
+            monitor.addFile(fileObject);
+            monitor.stop();
+            assertTrue(snapshot.isFile());
+
+            // changes while the monitor is not running
+            assertTrue(deleted.delete());
+            writeToFile(created);
+            final long lastModified = changed.lastModified();
+            FileUtils.write(changed, "a longer content", StandardCharsets.UTF_8);
+            assertTrue(changed.setLastModified(lastModified));
+
+            final List<String> events = new CopyOnWriteArrayList<>();
+            final DefaultFileMonitor restarted = new DefaultFileMonitor(new FileListener() {
+                @Override
+                public void fileChanged(final FileChangeEvent event) {
+                    events.add(Status.CHANGED + " " + event.getFileObject().getName().getBaseName());
+                }
+
+                @Override
+                public void fileCreated(final FileChangeEvent event) {
+                    events.add(Status.CREATED + " " + event.getFileObject().getName().getBaseName());
+                }
+
+                @Override
+                public void fileDeleted(final FileChangeEvent event) {
+                    events.add(Status.DELETED + " " + event.getFileObject().getName().getBaseName());
+                }
+            });
+            restarted.setDelay(DELAY_MILLIS);
+            restarted.setRecursive(true);
+            restarted.setSnapshotFile(snapshot);
+            restarted.addFile(fileObject);
+            restarted.start();
+            try {
+                Thread.sleep(DELAY_MILLIS * 5);
+            } finally {
+                restarted.stop();
+            }
+            assertEquals(new HashSet<>(Arrays.asList("DELETED deleted.txt", "CREATED created.txt", "CHANGED changed.txt")),
+                    new HashSet<>(events));
+        } finally {
+            FileUtils.deleteDirectory(folder);
+            snapshot.delete();
+        }
+    }
+
     /**
      * VFS-299: Handlers are not removed. One instance is {@link DefaultFileMonitor#removeFile(FileObject)}.
      *
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+
+/**
+ * Measures creating, listing and deleting files in one folder of a RAM file system from several threads.
+ */
+public class RamFileSystemPerformance {
+    private final static int NUOF_FILES = 2000;
+
+    private interface Task {
+        void run(FileObject folder, int thread) throws Exception;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final FileSystemManager mgr = VFS.getManager();
+
+        // warmup jvm
+        run(mgr, 1, false);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            run(mgr, threads, true);
+        }
+    }
+
+    private static void run(final FileSystemManager mgr, final int threads, final boolean print) throws Exception {
+        final FileObject folder = mgr.resolveFile("ram:/perf/" + threads);
+        folder.createFolder();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            time(executor, folder, threads, print, "create", (parent, thread) -> {
+                for (int i = 0; i < NUOF_FILES; i++) {
+                    parent.resolveFile(thread + "-" + i).createFile();
+                }
+            });
+            time(executor, folder, threads, print, "list", (parent, thread) -> {
+                for (int i = 0; i < 20; i++) {
+                    parent.refresh();
+                    parent.getChildren();
+                }
+            });
+            time(executor, folder, threads, print, "delete", (parent, thread) -> {
+                for (int i = 0; i < NUOF_FILES; i++) {
+                    parent.resolveFile(thread + "-" + i).delete();
+                }
+            });
+        } finally {
+            executor.shutdown();
+            folder.deleteAll();
+        }
+    }
+
+    private static void time(final ExecutorService executor, final FileObject folder, final int threads,
+            final boolean print, final String operation, final Task task) throws Exception {
+        final long startMillis = System.currentTimeMillis();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            final int index = thread;
+            futures.add(executor.submit(() -> {
+                task.run(folder, index);
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        final long endMillis = System.currentTimeMillis();
+
+        if (print) {
+            System.err.println(threads + " threads, " + operation + " " + NUOF_FILES * threads + " files: "
+                    + (endMillis - startMillis) + " milliseconds");
+        }
+    }
+}
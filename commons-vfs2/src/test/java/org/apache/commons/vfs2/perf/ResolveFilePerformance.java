@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+
+/**
+ * Measures how {@link FileSystem#resolveFile(FileName)} scales with the number of threads resolving names of one
+ * file system.
+ */
+public class ResolveFilePerformance {
+    private final static int NUOF_NAMES = 1000;
+
+    private final static int NUOF_RESOLVES = 1000000;
+
+    public static void main(final String[] args) throws Exception {
+        final FileSystemManager mgr = VFS.getManager();
+
+        final FileObject root = mgr.resolveFile(System.getProperty("java.io.tmpdir"));
+        final FileSystem fileSystem = root.getFileSystem();
+
+        final FileName[] names = new FileName[NUOF_NAMES];
+        for (int i = 0; i < NUOF_NAMES; i++) {
+            names[i] = mgr.resolveName(root.getName(), "many/path/elements/file" + i + ".txt");
+        }
+
+        // warmup jvm and fill the files cache
+        testResolve(fileSystem, names, 1);
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores * 2; threads *= 2) {
+            testResolve(fileSystem, names, threads);
+        }
+    }
+
+    private static void testResolve(final FileSystem fileSystem, final FileName[] names, final int threads)
+            throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>(threads);
+        final int resolvesPerThread = NUOF_RESOLVES / threads;
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            final Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < resolvesPerThread; i++) {
+                        fileSystem.resolveFile(names[(i + offset) % names.length]);
+                    }
+                } catch (final Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        final long startMillis = System.currentTimeMillis();
+        start.countDown();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        final long endMillis = System.currentTimeMillis();
+
+        System.err.println("time to resolve " + resolvesPerThread * threads + " files with " + threads + " threads: "
+                + (endMillis - startMillis) + " milliseconds");
+    }
+}
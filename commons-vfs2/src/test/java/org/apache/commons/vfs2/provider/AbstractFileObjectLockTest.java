@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.VFS;
+import org.apache.commons.vfs2.provider.local.LocalFileSystemConfigBuilder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the locking of {@link AbstractFileObject} between a folder and its children.
+ */
+public class AbstractFileObjectLockTest {
+
+    private static final int ITERATIONS = 2000;
+
+    private File baseDir;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory(AbstractFileObjectLockTest.class.getSimpleName()).toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(baseDir);
+    }
+
+    private static Thread start(final AtomicReference<Throwable> failure, final FileTask task) {
+        final Thread thread = new Thread(() -> {
+            try {
+                for (int i = 0; i < ITERATIONS && failure.get() == null; i++) {
+                    task.run();
+                }
+            } catch (final Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        // a deadlocked thread must not keep the JVM alive
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Lists a folder, which resolves and refreshes its children, while another thread creates and deletes a child,
+     * which notifies the folder.
+     */
+    @Test
+    public void testListWhileCreating() throws Exception {
+        final FileSystemOptions opts = new FileSystemOptions();
+        // the folder resolves its children while listing
+        LocalFileSystemConfigBuilder.getInstance().setAttributeSnapshot(opts, true);
+        final FileObject folder = VFS.getManager().resolveFile(baseDir.toURI().toString(), opts);
+        final FileObject child = folder.resolveFile("child.txt");
+        folder.resolveFile("other.txt").createFile();
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread lister = start(failure, () -> {
+            folder.refresh();
+            folder.getChildren();
+        });
+        final Thread creator = start(failure, () -> {
+            child.createFile();
+            child.delete();
+        });
+        lister.join(60_000);
+        creator.join(60_000);
+
+        Assert.assertFalse("Listing and creating deadlocked", lister.isAlive() || creator.isAlive());
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private interface FileTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ArchiveIndex}.
+ */
+public class ArchiveIndexTest {
+
+    private static final char[] ENC = {'!'};
+
+    private FileSystemManager manager;
+    private FileName rootName;
+    private ArchiveIndex<String> index;
+
+    private void assertChildren(final String path, final String... expected) throws FileSystemException {
+        Assert.assertEquals(new HashSet<>(Arrays.asList(expected)),
+                new HashSet<>(Arrays.asList(index.getChildren(name(path)))));
+    }
+
+    private FileName name(final String path) throws FileSystemException {
+        return manager.resolveName(rootName, path);
+    }
+
+    @Before
+    public void setUp() throws FileSystemException {
+        manager = VFS.getManager();
+        rootName = manager.resolveName(manager.resolveURI("ram:///"), "/");
+        index = new ArchiveIndex.Builder<String>(manager, rootName, ENC)
+                .add("a/b/c.txt", "c", false)
+                .add("a/b.txt", "b.txt", false)
+                .add("a/b/", "b", true)
+                .add("a/b/", "b again", true)
+                .add("./d\\e.txt", "e", false)
+                .add("x!y.txt", "xy", false)
+                .add("f.txt", "f1", false)
+                .add("f.txt", "f2", false)
+                .build();
+    }
+
+    @Test
+    public void testChildren() throws FileSystemException {
+        assertChildren("/", "a", "d", "x%21y.txt", "f.txt");
+        assertChildren("/a", "b", "b.txt");
+        assertChildren("/a/b", "c.txt");
+        assertChildren("/a/b/c.txt");
+        assertChildren("/missing");
+    }
+
+    @Test
+    public void testContains() throws FileSystemException {
+        Assert.assertTrue(index.contains(rootName));
+        Assert.assertTrue(index.contains(name("/a")));
+        Assert.assertTrue(index.contains(name("/a/b")));
+        Assert.assertTrue(index.contains(name("/a/b/c.txt")));
+        Assert.assertTrue(index.contains(name("/d/e.txt")));
+        Assert.assertTrue(index.contains(name("/x%21y.txt")));
+        Assert.assertFalse(index.contains(name("/a/c")));
+        Assert.assertFalse(index.contains(name("/a/b/c")));
+        Assert.assertFalse(index.contains(name("/b")));
+    }
+
+    @Test
+    public void testEntries() throws FileSystemException {
+        Assert.assertNull(index.getEntry(name("/a")));
+        Assert.assertEquals("b", index.getEntry(name("/a/b")));
+        Assert.assertEquals("c", index.getEntry(name("/a/b/c.txt")));
+        Assert.assertEquals("e", index.getEntry(name("/d/e.txt")));
+        Assert.assertEquals("f2", index.getEntry(name("/f.txt")));
+        Assert.assertEquals("xy", index.getEntry(name("/x%21y.txt")));
+        Assert.assertEquals(6, index.size());
+    }
+}
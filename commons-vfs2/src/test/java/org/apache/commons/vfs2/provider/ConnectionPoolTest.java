@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileSystemException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConnectionPool}.
+ */
+public class ConnectionPoolTest {
+
+    /**
+     * A connection which is an id, open until disconnected.
+     */
+    private static class TestConnector implements ConnectionPool.Connector<Integer> {
+
+        private final AtomicInteger ids = new AtomicInteger();
+        final Set<Integer> open = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Integer connect() {
+            final Integer connection = Integer.valueOf(ids.incrementAndGet());
+            open.add(connection);
+            return connection;
+        }
+
+        @Override
+        public void disconnect(final Integer connection) {
+            open.remove(connection);
+        }
+
+        @Override
+        public boolean isConnected(final Integer connection) {
+            return open.contains(connection);
+        }
+
+        @Override
+        public boolean validate(final Integer connection) {
+            return isConnected(connection);
+        }
+    }
+
+    @Test
+    public void testExhausted() throws FileSystemException {
+        final ConnectionPool<Integer> pool = new ConnectionPool.Builder<>(new TestConnector()).setMaxTotal(1)
+                .setMaxWait(Duration.ofMillis(10)).build();
+        pool.borrowConnection();
+        try {
+            pool.borrowConnection();
+            Assert.fail("Expected the pool to be exhausted");
+        } catch (final FileSystemException e) {
+            Assert.assertEquals("vfs.provider/connection-pool-exhausted.error", e.getCode());
+        }
+    }
+
+    @Test
+    public void testDisconnectedWhileBorrowed() throws FileSystemException {
+        final TestConnector connector = new TestConnector();
+        final ConnectionPool<Integer> pool = new ConnectionPool.Builder<>(connector).setMaxTotal(1)
+                .setMaxWait(Duration.ofMillis(10)).build();
+        connector.disconnect(pool.borrowConnection());
+        // the broken connection frees its slot
+        Assert.assertTrue(connector.isConnected(pool.borrowConnection()));
+        Assert.assertEquals(2, pool.getCreationCount());
+    }
+
+    /**
+     * Clears the pool while the keep alive validates an idle connection, which must then be closed.
+     */
+    @Test
+    public void testKeepAliveAfterClear() throws Exception {
+        final CountDownLatch validating = new CountDownLatch(1);
+        final CountDownLatch cleared = new CountDownLatch(1);
+        final CountDownLatch disconnected = new CountDownLatch(1);
+        final TestConnector connector = new TestConnector() {
+            @Override
+            public void disconnect(final Integer connection) {
+                super.disconnect(connection);
+                disconnected.countDown();
+            }
+
+            @Override
+            public boolean validate(final Integer connection) {
+                validating.countDown();
+                try {
+                    cleared.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.validate(connection);
+            }
+        };
+        final ConnectionPool<Integer> pool = new ConnectionPool.Builder<>(connector)
+                .setKeepAliveInterval(Duration.ofMillis(10)).build();
+        pool.returnConnection(pool.borrowConnection());
+
+        Assert.assertTrue(validating.await(10, TimeUnit.SECONDS));
+        pool.clear();
+        cleared.countDown();
+
+        Assert.assertTrue(disconnected.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(connector.open.isEmpty());
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testReuse() throws FileSystemException {
+        final TestConnector connector = new TestConnector();
+        final ConnectionPool<Integer> pool = new ConnectionPool.Builder<>(connector).setMaxIdle(1).build();
+        final Integer first = pool.borrowConnection();
+        final Integer second = pool.borrowConnection();
+        Assert.assertEquals(2, pool.getActiveCount());
+
+        pool.returnConnection(first);
+        pool.returnConnection(second);
+        // the pool keeps one idle connection
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertEquals(1, connector.open.size());
+
+        Assert.assertEquals(first, pool.borrowConnection());
+        Assert.assertEquals(2, pool.getCreationCount());
+        Assert.assertEquals(3, pool.getBorrowCount());
+    }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -55,6 +56,36 @@ public class DefaultFileContentTest {
         }
     }
 
+    @Test
+    public void testWriteLocalToLocal() throws Exception {
+        final byte[] data = new byte[300000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final File source = File.createTempFile("temp-file-name", ".tmp");
+        final File target = File.createTempFile("temp-file-name", ".tmp");
+        Files.write(source.toPath(), data);
+        final FileSystemManager fileSystemManager = VFS.getManager();
+
+        try (FileObject sourceFile = fileSystemManager.resolveFile(source.getAbsolutePath());
+                FileObject targetFile = fileSystemManager.resolveFile(target.getAbsolutePath())) {
+            Assert.assertEquals(data.length, sourceFile.getContent().write(targetFile));
+            Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+
+            // appends after buffered bytes
+            try (OutputStream output = targetFile.getContent().getOutputStream()) {
+                output.write(1);
+                Assert.assertEquals(data.length, sourceFile.getContent().write(output));
+            }
+            Assert.assertEquals(data.length + 1, target.length());
+            Assert.assertEquals(data[data.length - 1], Files.readAllBytes(target.toPath())[data.length]);
+            Assert.assertFalse(sourceFile.getContent().isOpen());
+        } finally {
+            source.delete();
+            target.delete();
+        }
+    }
+
     private void testInputStreamBufferSize(final int bufferSize) throws Exception {
         final File temp = File.createTempFile("temp-file-name", ".tmp");
         final FileSystemManager fileSystemManager = VFS.getManager();
@@ -18,6 +18,8 @@
 package org.apache.commons.vfs2.provider.ftp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.time.Duration;
 
@@ -44,4 +46,26 @@ public class FtpFileSystemConfigBuilderTestCase {
         instance.setControlKeepAliveTimeout(options, Duration.ofSeconds(10));
         assertEquals(Duration.ofSeconds(10), instance.getControlKeepAliveTimeout(options));
     }
+
+    @Test
+    public void testClientPool() {
+        final FtpFileSystemConfigBuilder instance = FtpFileSystemConfigBuilder.getInstance();
+        final FileSystemOptions options = new FileSystemOptions();
+        assertEquals(Integer.valueOf(1), instance.getClientPoolMaxIdle(options));
+        assertEquals(Integer.valueOf(0), instance.getClientPoolMaxTotal(options));
+        assertEquals(null, instance.getClientPoolKeepAliveInterval(options));
+        assertFalse(instance.isClientPoolValidateOnBorrow(options));
+        instance.setClientPoolMaxIdle(options, 4);
+        instance.setClientPoolMaxTotal(options, 8);
+        instance.setClientPoolIdleTimeout(options, Duration.ofMinutes(1));
+        instance.setClientPoolKeepAliveInterval(options, Duration.ofSeconds(30));
+        instance.setClientPoolMaxWait(options, Duration.ofSeconds(5));
+        instance.setClientPoolValidateOnBorrow(options, true);
+        assertEquals(Integer.valueOf(4), instance.getClientPoolMaxIdle(options));
+        assertEquals(Integer.valueOf(8), instance.getClientPoolMaxTotal(options));
+        assertEquals(Duration.ofMinutes(1), instance.getClientPoolIdleTimeout(options));
+        assertEquals(Duration.ofSeconds(30), instance.getClientPoolKeepAliveInterval(options));
+        assertEquals(Duration.ofSeconds(5), instance.getClientPoolMaxWait(options));
+        assertTrue(instance.isClientPoolValidateOnBorrow(options));
+    }
 }
@@ -176,9 +176,17 @@ public class FtpProviderTestCase extends AbstractProviderTestConfig {
         builder.setControlEncoding(opts, "UTF-8");
         builder.setControlKeepAliveReplyTimeout(opts, Duration.ofSeconds(35));
         builder.setControlKeepAliveTimeout(opts, Duration.ofSeconds(30));
+        setUpFileSystemOptions(builder, opts);
         return manager.resolveFile(uri, opts);
     }
 
+    /**
+     * Sets additional options of the tested file system.
+     */
+    protected void setUpFileSystemOptions(final FtpFileSystemConfigBuilder builder, final FileSystemOptions opts) {
+        // none by default
+    }
+
     /**
      * Gets the setting for UserDirIsRoot.
      */
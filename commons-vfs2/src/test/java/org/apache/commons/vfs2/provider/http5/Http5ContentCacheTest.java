@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.http5;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the content cache of {@link Http5FileObject} against a server honoring conditional requests.
+ */
+public class Http5ContentCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile String content = "The content of the file";
+    private volatile String etag = "\"v1\"";
+    private volatile String cacheControl = "no-cache";
+    private HttpServer server;
+    private DefaultFileSystemManager manager;
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(body.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        downloads.incrementAndGet();
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private String read(final FileObject file) throws IOException {
+        // a new resolution, as another process would see it
+        file.refresh();
+        return FileObjectUtils.getContentAsString(file, StandardCharsets.UTF_8);
+    }
+
+    private FileObject resolve(final long maxMemorySize, final File directory) throws IOException {
+        final FileSystemOptions opts = new FileSystemOptions();
+        final Http5FileSystemConfigBuilder builder = Http5FileSystemConfigBuilder.getInstance();
+        builder.setContentCacheMaxMemorySize(opts, maxMemorySize);
+        builder.setContentCacheDirectory(opts, directory);
+        return manager.resolveFile("http5://localhost:" + server.getAddress().getPort() + "/file.txt", opts);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("http5", new Http5FileProvider());
+        manager.init();
+    }
+
+    @After
+    public void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testChangedContent() throws Exception {
+        final FileObject file = resolve(1024, null);
+        Assert.assertEquals(content, read(file));
+        content = "The changed content of the file";
+        etag = "\"v2\"";
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(2, downloads.get());
+        Assert.assertEquals(0, notModified.get());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final FileObject file = resolve(0, null);
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(2, downloads.get());
+    }
+
+    @Test
+    public void testDiskTier() throws Exception {
+        final File directory = temporaryFolder.newFolder();
+        final FileObject file = resolve(4, directory);
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(1, downloads.get());
+        Assert.assertEquals(1, notModified.get());
+        manager.close();
+        manager = null;
+        Assert.assertArrayEquals(new String[0], directory.list());
+    }
+
+    @Test
+    public void testEvictedToDisk() throws Exception {
+        final File directory = temporaryFolder.newFolder();
+        final FileObject file = resolve(content.length(), directory);
+        final FileObject other = file.getParent().resolveFile("other.txt");
+        Assert.assertEquals(content, read(file));
+        // moves file.txt to disk
+        Assert.assertEquals(content, read(other));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(2, downloads.get());
+        Assert.assertEquals(1, notModified.get());
+        final File[] tiers = directory.listFiles();
+        Assert.assertEquals(1, tiers.length);
+        Assert.assertEquals(1, tiers[0].list().length);
+    }
+
+    @Test
+    public void testFresh() throws Exception {
+        cacheControl = "max-age=3600";
+        final FileObject file = resolve(1024, null);
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content.length(), file.getContent().getSize());
+        Assert.assertEquals(1, downloads.get());
+        Assert.assertEquals(0, notModified.get());
+    }
+
+    @Test
+    public void testNoStore() throws Exception {
+        cacheControl = "no-store";
+        final FileObject file = resolve(1024, null);
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(2, downloads.get());
+        Assert.assertEquals(0, notModified.get());
+    }
+
+    @Test
+    public void testRevalidated() throws Exception {
+        final FileObject file = resolve(1024, null);
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(content, read(file));
+        Assert.assertEquals(1, downloads.get());
+        Assert.assertEquals(2, notModified.get());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.http5;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the requests {@link Http5FileObject} sends to get the type, size and last modified time of a file.
+ */
+public class Http5MetadataTest {
+
+    private static final String LAST_MODIFIED = "Tue, 15 Nov 1994 12:45:26 GMT";
+
+    private final byte[] content = "The content of the file".getBytes(StandardCharsets.UTF_8);
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private final AtomicInteger getRequests = new AtomicInteger();
+    private HttpServer server;
+    private DefaultFileSystemManager manager;
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/file.txt")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            headRequests.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        if ("bytes=0-0".equals(exchange.getRequestHeaders().getFirst("Range"))) {
+            rangeRequests.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Range", "bytes 0-0/" + content.length);
+            exchange.sendResponseHeaders(206, 1);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(content, 0, 1);
+            }
+            return;
+        }
+        getRequests.incrementAndGet();
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(content);
+        }
+    }
+
+    private FileObject resolve(final String path, final boolean headRequestEnabled, final Duration timeToLive)
+            throws IOException {
+        final FileSystemOptions opts = new FileSystemOptions();
+        final Http5FileSystemConfigBuilder builder = Http5FileSystemConfigBuilder.getInstance();
+        builder.setHeadRequestEnabled(opts, headRequestEnabled);
+        builder.setMetadataTimeToLive(opts, timeToLive);
+        return manager.resolveFile("http5://localhost:" + server.getAddress().getPort() + path, opts);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("http5", new Http5FileProvider());
+        manager.init();
+    }
+
+    @After
+    public void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testHeadRequestDisabled() throws Exception {
+        final FileObject file = resolve("/file.txt", false, Duration.ZERO);
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        Assert.assertEquals(784903526000L, file.getContent().getLastModifiedTime());
+        Assert.assertFalse(resolve("/missing.txt", false, Duration.ZERO).exists());
+        Assert.assertEquals(0, headRequests.get());
+        Assert.assertEquals(1, rangeRequests.get());
+    }
+
+    @Test
+    public void testMetadataFromGet() throws Exception {
+        final FileObject file = resolve("/file.txt", true, Duration.ofHours(1));
+        Assert.assertArrayEquals(content, file.getContent().getByteArray());
+        file.refresh();
+        Assert.assertArrayEquals(content, file.getContent().getByteArray());
+        file.refresh();
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        Assert.assertEquals(1, headRequests.get());
+        Assert.assertEquals(2, getRequests.get());
+    }
+
+    @Test
+    public void testMetadataTimeToLive() throws Exception {
+        final FileObject file = resolve("/file.txt", true, Duration.ofHours(1));
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        file.refresh();
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        Assert.assertEquals(1, headRequests.get());
+    }
+
+    @Test
+    public void testMetadataTimeToLiveDisabled() throws Exception {
+        final FileObject file = resolve("/file.txt", true, Duration.ZERO);
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        file.refresh();
+        Assert.assertEquals(content.length, file.getContent().getSize());
+        Assert.assertEquals(2, headRequests.get());
+    }
+}
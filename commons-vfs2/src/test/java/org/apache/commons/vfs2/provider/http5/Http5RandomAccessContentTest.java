@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.http5;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the block reads of {@link Http5RandomAccessContent} against a server accepting byte ranges.
+ */
+public class Http5RandomAccessContentTest {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final byte[] content = new byte[10 * BLOCK_SIZE + 100];
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private HttpServer server;
+    private DefaultFileSystemManager manager;
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        final Matcher matcher = RANGE.matcher(exchange.getRequestHeaders().getFirst("Range"));
+        Assert.assertTrue(matcher.matches());
+        rangeRequests.incrementAndGet();
+        final int start = Integer.parseInt(matcher.group(1));
+        if (start >= content.length) {
+            exchange.getResponseHeaders().set("Content-Range", "bytes */" + content.length);
+            exchange.sendResponseHeaders(416, -1);
+            exchange.close();
+            return;
+        }
+        final int end = Math.min(content.length - 1, Integer.parseInt(matcher.group(2)));
+        exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+        exchange.sendResponseHeaders(206, end - start + 1);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(content, start, end - start + 1);
+        }
+    }
+
+    private RandomAccessContent open(final int maxBlocks) throws IOException {
+        final FileSystemOptions opts = new FileSystemOptions();
+        final Http5FileSystemConfigBuilder builder = Http5FileSystemConfigBuilder.getInstance();
+        builder.setRandomAccessBlockSize(opts, BLOCK_SIZE);
+        builder.setRandomAccessMaxBlocks(opts, maxBlocks);
+        final FileObject file = manager.resolveFile("http5://localhost:" + server.getAddress().getPort() + "/file.bin",
+                opts);
+        return file.getContent().getRandomAccessContent(RandomAccessMode.READ);
+    }
+
+    private void assertRead(final RandomAccessContent rac, final int position, final int length) throws IOException {
+        rac.seek(position);
+        final byte[] actual = new byte[length];
+        rac.readFully(actual);
+        Assert.assertArrayEquals(Arrays.copyOfRange(content, position, position + length), actual);
+        Assert.assertEquals(position + length, rac.getFilePointer());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        new Random(0).nextBytes(content);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("http5", new Http5FileProvider());
+        manager.init();
+    }
+
+    @After
+    public void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testEndOfFile() throws Exception {
+        try (RandomAccessContent rac = open(4)) {
+            assertRead(rac, content.length - 10, 10);
+            Assert.assertEquals(-1, rac.getInputStream().read());
+            rac.seek(content.length + 5000);
+            Assert.assertEquals(-1, rac.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        try (RandomAccessContent rac = open(2)) {
+            assertRead(rac, 0, 10);
+            assertRead(rac, 5 * BLOCK_SIZE, 10);
+            assertRead(rac, 8 * BLOCK_SIZE, 10);
+            // the first block was evicted
+            assertRead(rac, 0, 10);
+            Assert.assertEquals(4, rangeRequests.get());
+        }
+    }
+
+    @Test
+    public void testNearbySeeks() throws Exception {
+        try (RandomAccessContent rac = open(4)) {
+            assertRead(rac, 100, 10);
+            assertRead(rac, 900, 50);
+            assertRead(rac, 0, 200);
+            assertRead(rac, 500, 10);
+            Assert.assertEquals(1, rangeRequests.get());
+            // spans two blocks, the first one in memory
+            assertRead(rac, BLOCK_SIZE - 10, 20);
+            Assert.assertEquals(2, rangeRequests.get());
+        }
+    }
+
+    @Test
+    public void testSequentialRead() throws Exception {
+        try (RandomAccessContent rac = open(4)) {
+            final InputStream input = rac.getInputStream();
+            final byte[] actual = new byte[content.length];
+            for (int i = 0; i < actual.length; i++) {
+                actual[i] = (byte) input.read();
+            }
+            Assert.assertEquals(-1, input.read());
+            Assert.assertArrayEquals(content, actual);
+            // 1 block, 1 block following it, then 2 and 4 blocks ahead, up to the 11th block
+            Assert.assertEquals(5, rangeRequests.get());
+        }
+    }
+
+    @Test
+    public void testSpanningRead() throws Exception {
+        try (RandomAccessContent rac = open(16)) {
+            assertRead(rac, 10, 5 * BLOCK_SIZE);
+            Assert.assertEquals(1, rangeRequests.get());
+        }
+    }
+}
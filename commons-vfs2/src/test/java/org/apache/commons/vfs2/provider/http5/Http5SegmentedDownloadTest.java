@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.http5;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the segmented downloads of {@link Http5FileObject} against a server accepting byte ranges.
+ */
+public class Http5SegmentedDownloadTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final byte[] content = new byte[1000000];
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private volatile String etag = "\"v1\"";
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private DefaultFileSystemManager manager;
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        exchange.getResponseHeaders().set("ETag", etag);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        int start = 0;
+        int end = content.length - 1;
+        int status = 200;
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            final Matcher matcher = RANGE.matcher(range);
+            Assert.assertTrue(range, matcher.matches());
+            start = Integer.parseInt(matcher.group(1));
+            end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            rangeRequests.incrementAndGet();
+        }
+        exchange.sendResponseHeaders(status, end - start + 1);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(content, start, end - start + 1);
+        }
+    }
+
+    private FileObject resolve(final int segments) throws IOException {
+        final FileSystemOptions opts = new FileSystemOptions();
+        final Http5FileSystemConfigBuilder builder = Http5FileSystemConfigBuilder.getInstance();
+        builder.setDownloadSegments(opts, segments);
+        builder.setDownloadSegmentSize(opts, 100000);
+        return manager.resolveFile("http5://localhost:" + server.getAddress().getPort() + "/content.bin", opts);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        new Random(0).nextBytes(content);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("http5", new Http5FileProvider());
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+    }
+
+    @After
+    public void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDownloadTo() throws Exception {
+        final FileObject target = manager.resolveFile("ram:/content.bin");
+        try (OutputStream os = target.getContent().getOutputStream()) {
+            // longer than the download
+            os.write(new byte[content.length + 10]);
+        }
+        ((Http5FileObject<?>) resolve(4)).downloadTo(target);
+        Assert.assertArrayEquals(content, target.getContent().getByteArray());
+        Assert.assertEquals(10, rangeRequests.get());
+    }
+
+    @Test
+    public void testGetInputStream() throws Exception {
+        Assert.assertArrayEquals(content, resolve(4).getContent().getByteArray());
+        Assert.assertEquals(10, rangeRequests.get());
+    }
+
+    @Test
+    public void testGetInputStreamChangedContent() throws Exception {
+        final FileObject file = resolve(4);
+        file.getContent().getSize();
+        etag = "\"v2\"";
+        try {
+            file.getContent().getByteArray();
+            Assert.fail("A changed file should not be downloaded in ranges");
+        } catch (final IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetInputStreamDisabled() throws Exception {
+        Assert.assertArrayEquals(content, resolve(1).getContent().getByteArray());
+        Assert.assertEquals(0, rangeRequests.get());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.apache.commons.vfs2.AbstractProviderTestCase;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.Selectors;
+import org.junit.Test;
+
+/**
+ * Additional tests for the local file system reading the attributes of files at once.
+ */
+public class AttributeSnapshotTests extends AbstractProviderTestCase {
+
+    private FileObject createScratchFolder() throws Exception {
+        final FileObject scratchFolder = getWriteFolder();
+        scratchFolder.delete(Selectors.EXCLUDE_SELF);
+        scratchFolder.createFolder();
+        return scratchFolder;
+    }
+
+    /**
+     * Tests that listing a folder fills in the attributes of its children.
+     */
+    @Test
+    public void testListingFillsChildAttributes() throws Exception {
+        final FileObject scratchFolder = createScratchFolder();
+        final FileObject file = scratchFolder.resolveFile("file.txt");
+        try (OutputStream outputStream = file.getContent().getOutputStream()) {
+            outputStream.write(new byte[] { 1, 2, 3 });
+        }
+        scratchFolder.resolveFile("folder").createFolder();
+        scratchFolder.refresh();
+
+        final FileObject[] children = scratchFolder.getChildren();
+        assertEquals(2, children.length);
+        // remove the files behind the back of VFS, the children must answer from the listing
+        for (final FileObject child : children) {
+            Files.delete(child.getPath());
+        }
+        for (final FileObject child : children) {
+            if (child.getName().getBaseName().equals("file.txt")) {
+                assertEquals(FileType.FILE, child.getType());
+                assertEquals(3, child.getContent().getSize());
+            } else {
+                assertEquals(FileType.FOLDER, child.getType());
+            }
+            child.refresh();
+        }
+        scratchFolder.refresh();
+    }
+
+    /**
+     * Tests that files are hidden as java.io.File reports them.
+     */
+    @Test
+    public void testHidden() throws Exception {
+        final FileObject scratchFolder = createScratchFolder();
+        final FileObject dotFile = scratchFolder.resolveFile(".hidden.txt");
+        dotFile.createFile();
+        final FileObject visibleFile = scratchFolder.resolveFile("visible.txt");
+        visibleFile.createFile();
+
+        try {
+            assertEquals(dotFile.getPath().toFile().isHidden(), dotFile.isHidden());
+            assertFalse(visibleFile.isHidden());
+        } finally {
+            // other providers share the folder and may not list dotfiles
+            dotFile.delete();
+            visibleFile.delete();
+        }
+    }
+}
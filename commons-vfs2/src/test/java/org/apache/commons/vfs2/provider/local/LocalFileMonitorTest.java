@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.AbstractVfsTestCase;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.vfs2.FileChangeEvent;
+import org.apache.commons.vfs2.FileListener;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link LocalFileMonitor}.
+ */
+public class LocalFileMonitorTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private enum Status {
+        CHANGED, CREATED, DELETED
+    }
+
+    private final class QueueListener implements FileListener {
+        @Override
+        public void fileChanged(final FileChangeEvent event) throws Exception {
+            events.add(Status.CHANGED + " " + event.getFileObject().getName().getBaseName());
+        }
+
+        @Override
+        public void fileCreated(final FileChangeEvent event) throws Exception {
+            events.add(Status.CREATED + " " + event.getFileObject().getName().getBaseName());
+        }
+
+        @Override
+        public void fileDeleted(final FileChangeEvent event) throws Exception {
+            events.add(Status.DELETED + " " + event.getFileObject().getName().getBaseName());
+        }
+    }
+
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private FileSystemManager fsManager;
+    private File testDir;
+    private LocalFileMonitor monitor;
+
+    @BeforeClass
+    public static void beforeClass() {
+        // Same as DefaultFileMonitorTest
+        assumeFalse(SystemUtils.IS_OS_WINDOWS);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        fsManager = VFS.getManager();
+        testDir = AbstractVfsTestCase.getTestDirectory("LocalFileMonitorTest");
+        FileUtils.cleanDirectory(testDir);
+        monitor = new LocalFileMonitor(new QueueListener());
+        monitor.setDelay(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        monitor.stop();
+        FileUtils.deleteDirectory(testDir);
+    }
+
+    private void assertEvent(final Status status, final String baseName) throws InterruptedException {
+        assertEquals(status + " " + baseName, events.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private void assertNoEvent() throws InterruptedException {
+        assertNull(events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private FileObject resolve(final File file) throws Exception {
+        return fsManager.resolveFile(file.toURI().toString());
+    }
+
+    private static void writeToFile(final File file) throws IOException {
+        try (final FileWriter out = new FileWriter(file)) {
+            out.write("string=value1");
+        }
+    }
+
+    @Test
+    public void testFileCreatedChangedDeleted() throws Exception {
+        final File testFile = new File(testDir, "test.properties");
+        monitor.addFile(resolve(testFile));
+        monitor.start();
+
+        writeToFile(testFile);
+        assertEvent(Status.CREATED, "test.properties");
+        assertTrue(testFile.setLastModified(testFile.lastModified() - 10000));
+        assertEvent(Status.CHANGED, "test.properties");
+        assertTrue(testFile.delete());
+        assertEvent(Status.DELETED, "test.properties");
+        assertNoEvent();
+    }
+
+    @Test
+    public void testChildrenRecursive() throws Exception {
+        monitor.setRecursive(true);
+        monitor.addFile(resolve(testDir));
+        monitor.start();
+
+        final File folder = new File(testDir, "folder");
+        assertTrue(folder.mkdir());
+        assertEvent(Status.CREATED, "folder");
+        final File child = new File(folder, "child.txt");
+        writeToFile(child);
+        assertEvent(Status.CREATED, "child.txt");
+        assertTrue(child.delete());
+        assertEvent(Status.DELETED, "child.txt");
+        // re-created children are reported again
+        writeToFile(child);
+        assertEvent(Status.CREATED, "child.txt");
+    }
+
+    @Test
+    public void testChildDeletedWithoutRecursiveChecking() throws Exception {
+        final File child = new File(testDir, "child.txt");
+        writeToFile(child);
+        monitor.addFile(resolve(testDir));
+        monitor.start();
+
+        assertTrue(child.delete());
+        assertNoEvent();
+    }
+
+    @Test
+    public void testChangesBeforeStart() throws Exception {
+        final File child = new File(testDir, "child.txt");
+        monitor.addFile(resolve(testDir));
+        writeToFile(child);
+        monitor.start();
+        assertEvent(Status.CREATED, "child.txt");
+    }
+
+    @Test
+    public void testMissingParentIsPolled() throws Exception {
+        final File folder = new File(testDir, "missing");
+        final File testFile = new File(folder, "test.properties");
+        monitor.addFile(resolve(testFile));
+        monitor.start();
+
+        assertTrue(folder.mkdir());
+        writeToFile(testFile);
+        assertEvent(Status.CREATED, "test.properties");
+        assertTrue(testFile.delete());
+        assertEvent(Status.DELETED, "test.properties");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotLocal() throws Exception {
+        monitor.addFile(fsManager.resolveFile("ram:/" + LocalFileMonitorTest.class.getName()));
+    }
+}
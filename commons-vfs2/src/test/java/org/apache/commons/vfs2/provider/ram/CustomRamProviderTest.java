@@ -18,6 +18,7 @@ package org.apache.commons.vfs2.provider.ram;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -31,16 +32,22 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.vfs2.AllFileSelector;
+import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
 import org.apache.commons.vfs2.provider.UriParser;
 import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.apache.commons.vfs2.provider.ram.RamFileSystem;
 import org.apache.commons.vfs2.provider.ram.RamFileSystemConfigBuilder;
 import org.junit.After;
 import org.junit.Assert;
@@ -270,6 +277,100 @@ public class CustomRamProviderTest {
         }
     }
 
+    @Test
+    public void testSmallFSCopy() throws Exception {
+        final FileObject source = manager.resolveFile("ram:/copy-source", smallSizedFso);
+        try (final OutputStream os = source.getContent().getOutputStream()) {
+            os.write(new byte[] {1, 2, 3, 4, 5, 6});
+        }
+        assertTrue(source.getFileSystem().hasCapability(Capability.COPY));
+
+        final FileObject target = manager.resolveFile("ram:/copy-target", smallSizedFso);
+        try {
+            target.copyFrom(source, Selectors.SELECT_SELF);
+            fail("It shouldn't copy over the maximum size");
+        } catch (final FileSystemException e) {
+            // Expected
+        }
+        assertFalse(target.exists());
+
+        try (final OutputStream os = source.getContent().getOutputStream()) {
+            os.write(new byte[] {1, 2, 3});
+        }
+        target.copyFrom(source, Selectors.SELECT_SELF);
+        assertArrayEquals(new byte[] {1, 2, 3}, target.getContent().getByteArray());
+    }
+
+    @Test
+    public void testQuota() throws Exception {
+        final FileSystemOptions quotaFso = new FileSystemOptions();
+        RamFileSystemConfigBuilder.getInstance().setDirectBuffers(quotaFso, true);
+        RamFileSystemConfigBuilder.getInstance().setQuota(quotaFso, 200000L);
+        final FileObject fo = manager.resolveFile("ram:/quota", quotaFso);
+        final RamFileSystem fs = (RamFileSystem) fo.getFileSystem();
+        try (final OutputStream os = fo.getContent().getOutputStream()) {
+            os.write(new byte[100000]);
+        }
+        assertTrue(fs.getAllocatedSize() >= 100000);
+        assertTrue(fs.getAllocatedSize() <= 200000);
+
+        final long allocated = fs.getAllocatedSize();
+        try {
+            final OutputStream os = manager.resolveFile("ram:/quota-big", quotaFso).getContent().getOutputStream();
+            os.write(new byte[100000]);
+            os.close();
+            fail("It shouldn't exceed the quota");
+        } catch (final IOException e) {
+            // Expected
+        }
+        assertEquals(allocated, fs.getAllocatedSize());
+        assertTrue(fs.getPeakAllocatedSize() <= 200000);
+
+        // deleting the file releases its blocks
+        fo.delete();
+        assertEquals(0, fs.getAllocatedSize());
+        final FileObject other = manager.resolveFile("ram:/quota2", quotaFso);
+        try (final OutputStream os = other.getContent().getOutputStream()) {
+            os.write(new byte[190000]);
+        }
+        assertEquals(190000, other.getContent().getSize());
+    }
+
+    @Test
+    public void testConcurrentCreateAndDelete() throws Exception {
+        final FileObject folder = manager.resolveFile("ram:/concurrent");
+        folder.createFolder();
+        final int threads = 4;
+        final int files = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int index = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < files; i++) {
+                        folder.resolveFile(index + "-" + i).createFile();
+                        // every thread also creates the same files
+                        folder.resolveFile("shared-" + i).createFile();
+                    }
+                    for (int i = 0; i < files; i += 2) {
+                        folder.resolveFile(index + "-" + i).delete();
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        folder.refresh();
+        assertEquals(threads * files / 2 + files, folder.getChildren().length);
+        assertTrue(folder.resolveFile("0-1").exists());
+        assertTrue(!folder.resolveFile("0-0").exists());
+    }
+
     /**
      * Tests VFS-625.
      * @throws FileSystemException
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.VFS;
 import org.apache.commons.vfs2.provider.ram.RamFileObject;
 import org.apache.commons.vfs2.provider.ram.RamFileRandomAccessContent;
@@ -58,4 +60,74 @@ public class RamFileRandomAccessContentTestCase {
             Assert.assertEquals(EOF, in.read());
         }
     }
+
+    private static byte[] createData(final int length) {
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + i / 251);
+        }
+        return data;
+    }
+
+    @Test
+    public void testReadWriteAcrossBlocks() throws IOException {
+        final FileObject file = VFS.getManager().resolveFile("ram://blocks");
+        file.createFile();
+        final byte[] data = createData(3 * RamFileData.BLOCK_SIZE + 123);
+
+        // odd sized writes cross block boundaries
+        try (OutputStream out = file.getContent().getOutputStream()) {
+            for (int off = 0; off < data.length; off += 8191) {
+                out.write(data, off, Math.min(8191, data.length - off));
+            }
+        }
+        Assert.assertEquals(data.length, file.getContent().getSize());
+        try (InputStream in = file.getContent().getInputStream()) {
+            Assert.assertArrayEquals(data, IOUtils.toByteArray(in));
+        }
+
+        try (RandomAccessContent content = new RamFileRandomAccessContent((RamFileObject) file,
+                RandomAccessMode.READWRITE)) {
+            final int pos = RamFileData.BLOCK_SIZE - 4;
+            content.seek(pos);
+            Assert.assertEquals(data[pos] & 0xFF, content.readUnsignedByte());
+            final byte[] read = new byte[10];
+            content.readFully(read);
+            for (int i = 0; i < read.length; i++) {
+                Assert.assertEquals(data[pos + 1 + i], read[i]);
+            }
+
+            content.seek(pos);
+            content.writeLong(0x0102030405060708L);
+            content.seek(pos);
+            Assert.assertEquals(0x0102030405060708L, content.readLong());
+
+            // truncating then growing reads zeros
+            content.setLength(RamFileData.BLOCK_SIZE + 10);
+            content.setLength(2 * RamFileData.BLOCK_SIZE);
+            content.seek(RamFileData.BLOCK_SIZE + 10);
+            final byte[] zeros = new byte[RamFileData.BLOCK_SIZE - 10];
+            content.readFully(zeros);
+            Assert.assertArrayEquals(new byte[zeros.length], zeros);
+            Assert.assertEquals(2 * RamFileData.BLOCK_SIZE, content.length());
+        }
+        file.delete();
+    }
+
+    @Test
+    public void testSmallFileGrowth() throws IOException {
+        final FileObject file = VFS.getManager().resolveFile("ram://small");
+        file.createFile();
+        final byte[] data = createData(RamFileData.BLOCK_SIZE + 1);
+        try (OutputStream out = file.getContent().getOutputStream()) {
+            for (final byte b : data) {
+                out.write(b);
+            }
+        }
+        try (InputStream in = file.getContent().getInputStream()) {
+            Assert.assertEquals(data.length, in.available());
+            Assert.assertArrayEquals(data, IOUtils.toByteArray(in));
+        }
+        file.delete();
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.ProviderTestSuite;
+
+import junit.framework.Test;
+
+/**
+ * Tests for the RAM file system storing file contents in direct buffers.
+ */
+public class RamProviderDirectBuffersTestCase extends RamProviderTestCase {
+    private boolean inited;
+
+    /**
+     * Creates the test suite for the ram file system.
+     */
+    public static Test suite() throws Exception {
+        return new ProviderTestSuite(new RamProviderDirectBuffersTestCase());
+    }
+
+    /**
+     * Returns the base folder for tests.
+     */
+    @Override
+    public FileObject getBaseTestFolder(final FileSystemManager manager) throws Exception {
+        final FileSystemOptions opts = new FileSystemOptions();
+        RamFileSystemConfigBuilder.getInstance().setDirectBuffers(opts, true);
+        final String uri = "ram:/";
+        final FileObject fo = manager.resolveFile(uri, opts);
+        if (!inited) {
+            // Import the test tree
+            ((RamFileSystem) fo.getFileSystem()).importTree(getTestDirectoryFile());
+            inited = true;
+        }
+        return fo;
+    }
+}
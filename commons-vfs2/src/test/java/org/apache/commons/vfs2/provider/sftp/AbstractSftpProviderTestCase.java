@@ -279,6 +279,17 @@ abstract class AbstractSftpProviderTestCase extends AbstractProviderTestConfig {
 
     protected abstract boolean isExecChannelClosed();
 
+    /**
+     * Sets additional options of the tested file system.
+     *
+     * @param builder The SFTP config builder.
+     * @param fileSystemOptions The options to set.
+     */
+    protected void setUpFileSystemOptions(final SftpFileSystemConfigBuilder builder,
+            final FileSystemOptions fileSystemOptions) {
+        // none by default
+    }
+
     /**
      * Stops the embedded Apache SSHd Server (MINA).
      *
@@ -306,6 +317,7 @@ abstract class AbstractSftpProviderTestCase extends AbstractProviderTestConfig {
         builder.setStrictHostKeyChecking(fileSystemOptions, "no");
         builder.setUserInfo(fileSystemOptions, new TrustEveryoneUserInfo());
         builder.setIdentityRepositoryFactory(fileSystemOptions, new TestIdentityRepositoryFactory());
+        setUpFileSystemOptions(builder, fileSystemOptions);
         final FileObject fileObject = manager.resolveFile(uri, fileSystemOptions);
         this.fileSystem = (SftpFileSystem) fileObject.getFileSystem();
         return fileObject;
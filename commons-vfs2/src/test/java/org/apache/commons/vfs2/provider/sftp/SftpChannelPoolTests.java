@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.sftp;
+
+import java.io.InputStream;
+
+import org.apache.commons.vfs2.AbstractProviderTestCase;
+import org.apache.commons.vfs2.Capability;
+import org.apache.commons.vfs2.FileObject;
+import org.junit.Test;
+
+/**
+ * Tests the SFTP channel pool used by {@link SftpProviderChannelPoolTestCase}.
+ */
+public class SftpChannelPoolTests extends AbstractProviderTestCase {
+
+    /**
+     * Returns the capabilities required by the tests of this test case.
+     */
+    @Override
+    protected Capability[] getRequiredCaps() {
+        return new Capability[] {Capability.GET_TYPE, Capability.READ_CONTENT};
+    }
+
+    @Test
+    public void testChannelsReused() throws Exception {
+        final FileObject file = getReadFolder().resolveFile("file1.txt");
+        final SftpFileSystem fileSystem = (SftpFileSystem) file.getFileSystem();
+
+        final long borrowed = fileSystem.getChannelBorrowCount();
+        final long created = fileSystem.getChannelCreationCount();
+        for (int i = 0; i < 10; i++) {
+            file.refresh();
+            try (InputStream in = file.getContent().getInputStream()) {
+                assertTrue(in.read() >= 0);
+            }
+        }
+
+        assertTrue(fileSystem.getChannelBorrowCount() >= borrowed + 10);
+        assertTrue(fileSystem.getChannelCreationCount() <= created + 1);
+        assertEquals(0, fileSystem.getActiveChannelCount());
+        assertTrue(fileSystem.getIdleChannelCount() <= SftpProviderChannelPoolTestCase.MAX_IDLE);
+    }
+
+    @Test
+    public void testConcurrentStreams() throws Exception {
+        final FileObject file = getReadFolder().resolveFile("file1.txt");
+        final SftpFileSystem fileSystem = (SftpFileSystem) file.getFileSystem();
+
+        final InputStream[] streams = new InputStream[SftpProviderChannelPoolTestCase.MAX_IDLE + 2];
+        try {
+            for (int i = 0; i < streams.length; i++) {
+                streams[i] = getReadFolder().resolveFile("file1.txt").getContent().getInputStream();
+            }
+            assertTrue(fileSystem.getActiveChannelCount() >= streams.length);
+        } finally {
+            for (final InputStream stream : streams) {
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+        }
+        assertEquals(0, fileSystem.getActiveChannelCount());
+        assertEquals(SftpProviderChannelPoolTestCase.MAX_IDLE, fileSystem.getIdleChannelCount());
+    }
+}
@@ -16,18 +16,96 @@
  */
 package org.apache.commons.vfs2.provider.tar;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.FilesCache;
+import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.cache.WeakRefFilesCache;
 import org.apache.commons.vfs2.impl.StandardFileSystemManager;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TarFileSystemTestCase {
 
+    private static Map<String, byte[]> readAll(final String scheme, final String filePath,
+        final FileSystemOptions options) throws Exception {
+        final Map<String, byte[]> contents = new TreeMap<>();
+        try (final StandardFileSystemManager manager = new StandardFileSystemManager()) {
+            manager.init();
+            final FileObject root = manager.resolveFile(scheme + ":file:" + new File(filePath).getAbsolutePath(),
+                options);
+            for (final FileObject file : root.findFiles(Selectors.SELECT_FILES)) {
+                contents.put(root.getName().getRelativeName(file.getName()), file.getContent().getByteArray());
+            }
+        }
+        return contents;
+    }
+
+    private static void assertSameContents(final Map<String, byte[]> expected, final Map<String, byte[]> actual) {
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+        for (final Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            Assert.assertArrayEquals(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testReadEntriesMatchCompressed() throws Exception {
+        final Map<String, byte[]> expected = readAll("tgz", "src/test/resources/test-data/test.tgz", null);
+        Assert.assertFalse(expected.isEmpty());
+        assertSameContents(expected, readAll("tar", "src/test/resources/test-data/test.tar", null));
+        assertSameContents(expected, readAll("tbz2", "src/test/resources/test-data/test.tbz2", null));
+    }
+
+    @Test
+    public void testReadEntriesMemoryMapped() throws Exception {
+        final FileSystemOptions options = new FileSystemOptions();
+        TarFileSystemConfigBuilder.getInstance().setMemoryMapped(options, true);
+        assertSameContents(readAll("tar", "src/test/resources/test-data/test.tar", null),
+            readAll("tar", "src/test/resources/test-data/test.tar", options));
+    }
+
+    @Test
+    public void testReadEntriesConcurrently() throws Exception {
+        final String filePath = "src/test/resources/test-data/test.tar";
+        final Map<String, byte[]> expected = readAll("tar", filePath, null);
+        final List<String> names = new ArrayList<>(expected.keySet());
+        final ExecutorService executor = Executors.newFixedThreadPool(names.size());
+        try (final StandardFileSystemManager manager = new StandardFileSystemManager()) {
+            manager.init();
+            final FileObject root = manager.resolveFile("tar:file:" + new File(filePath).getAbsolutePath());
+            // all entries are open before any of them is read
+            final CyclicBarrier opened = new CyclicBarrier(names.size());
+            final List<Future<byte[]>> futures = new ArrayList<>();
+            for (final String name : names) {
+                final FileObject file = root.resolveFile(name);
+                futures.add(executor.submit(() -> {
+                    try (final InputStream in = file.getContent().getInputStream()) {
+                        opened.await();
+                        return IOUtils.toByteArray(in);
+                    }
+                }));
+            }
+            for (int i = 0; i < names.size(); i++) {
+                Assert.assertArrayEquals(names.get(i), expected.get(names.get(i)), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testTarFileUseDefaultFilesCache() throws FileSystemException {
         testUseWeakRefFilesCache("tar", "src/test/resources/test-data/test.tar", null);
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.zip;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.vfs2.AbstractProviderTestCase;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+import org.junit.Test;
+
+/**
+ * Tests the entries of a Zip file attaching concurrently.
+ */
+public class ConcurrentAttachTests extends AbstractProviderTestCase {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Tests reading entries from several threads while the Zip file is released between rounds.
+     */
+    @Test
+    public void testConcurrentAttach() throws Exception {
+        final FileObject folder = getReadFolder().resolveFile("dir1");
+        final AbstractFileSystem fileSystem = (AbstractFileSystem) folder.getFileSystem();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 20; round++) {
+                fileSystem.closeCommunicationLink();
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<String>> contents = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    final FileObject file = folder.resolveFile("subdir" + (i % 3 + 1) + "/file" + (i / 3 + 1) + ".txt");
+                    contents.add(executor.submit(() -> {
+                        start.await();
+                        // detached, reading attaches it again
+                        file.refresh();
+                        return FileObjectUtils.getContentAsString(file, StandardCharsets.UTF_8);
+                    }));
+                }
+                start.countDown();
+                for (final Future<String> content : contents) {
+                    assertEquals(TEST_FILE_CONTENT, content.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}